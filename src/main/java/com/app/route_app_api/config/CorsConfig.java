@@ -42,7 +42,8 @@ public class CorsConfig {
         config.setExposedHeaders(Arrays.asList(
                 "Authorization",
                 "Content-Type",
-                "X-Total-Count"
+                "X-Total-Count",
+                "X-Next-Cursor"
         ));
 
         // Cache preflight response for 1 hour
@@ -0,0 +1,20 @@
+package com.app.route_app_api.config;
+
+import com.app.route_app_api.dto.ResponseView;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson Configuration
+ * List responses are written with the filter of their ResponseView; everywhere else (single items, other
+ * endpoints) the full view applies, so every field is written
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer responseViewFilterCustomizer() {
+        return builder -> builder.filters(ResponseView.FULL.filters());
+    }
+}
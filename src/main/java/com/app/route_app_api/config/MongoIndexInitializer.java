@@ -1,10 +1,13 @@
 package com.app.route_app_api.config;
 
+import com.app.route_app_api.entity.GeocodeCacheEntry;
+import com.app.route_app_api.entity.OperatingArea;
 import com.app.route_app_api.entity.PostOffice;
 import com.app.route_app_api.entity.Route;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
@@ -12,6 +15,8 @@ import org.springframework.data.mongodb.core.index.GeospatialIndex;
 import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 /**
  * Initialize MongoDB indexes at application startup
  */
@@ -22,6 +27,15 @@ public class MongoIndexInitializer {
 
     private final MongoTemplate mongoTemplate;
 
+    @Value("${app.geocode.cache.persistent:false}")
+    private boolean geocodeCachePersistent;
+
+    @Value("${app.geocode.cache.ttl-minutes:1440}")
+    private long geocodeCacheTtlMinutes;
+
+    @Value("${app.geocode.cache.stale-ttl-minutes:10080}")
+    private long geocodeCacheStaleTtlMinutes;
+
     @PostConstruct
     public void initIndexes() {
         try {
@@ -37,6 +51,14 @@ public class MongoIndexInitializer {
             // Route indexes
             createRouteIndexes();
 
+            // OperatingArea indexes
+            createOperatingAreaIndexes();
+
+            // Geocode cache TTL index
+            if (geocodeCachePersistent) {
+                createGeocodeCacheIndexes();
+            }
+
             log.info("MongoDB indexes initialized successfully");
         } catch (Exception e) {
             log.error("Failed to initialize MongoDB indexes: {}. Application will continue but indexes may not be created.",
@@ -95,14 +117,72 @@ public class MongoIndexInitializer {
             // Create unique index on code
             indexOps.ensureIndex(new Index().on("code", Sort.Direction.ASC).unique().named("code_unique"));
 
-            // Create 2dsphere index on area for geospatial queries (Point-in-Polygon)
+            // Create 2dsphere index on area for geospatial queries (overlap validation)
             indexOps.ensureIndex(new GeospatialIndex("area").typed(GeoSpatialIndexType.GEO_2DSPHERE).named("area_2dsphere"));
 
-            log.info("Route indexes created successfully (including 2dsphere index on area)");
+            // Multikey index on the cell covering for point lookups ($in over the point's ancestor cells)
+            indexOps.ensureIndex(new Index().on("coveringCells", Sort.Direction.ASC).named("coveringCells"));
+
+            // Filter indexes for GET /api/v1/routes (see RouteService.buildRouteCriteria)
+            // postOfficeId + type compound also serves postOfficeId-only queries (prefix)
+            indexOps.ensureIndex(new Index().on("postOfficeId", Sort.Direction.ASC).on("type", Sort.Direction.ASC)
+                    .named("postOfficeId_type"));
+            indexOps.ensureIndex(new Index().on("operatingAreaId", Sort.Direction.ASC).named("operatingAreaId"));
+            indexOps.ensureIndex(new Index().on("type", Sort.Direction.ASC).named("type"));
+
+            // Separate indexes so the staffMain/staffSub $or can use an index per branch
+            indexOps.ensureIndex(new Index().on("staffMain", Sort.Direction.ASC).named("staffMain"));
+            indexOps.ensureIndex(new Index().on("staffSub", Sort.Direction.ASC).named("staffSub"));
+
+            // Multikey index on the normalized product type array ($in / $all filters)
+            indexOps.ensureIndex(new Index().on("productTypes", Sort.Direction.ASC).named("productTypes"));
+
+            log.info("Route indexes created successfully (including 2dsphere index on area and coveringCells)");
         } catch (Exception e) {
             log.error("Failed to create Route indexes: {}", e.getMessage());
             throw e;
         }
     }
-}
 
+    private void createOperatingAreaIndexes() {
+        try {
+            var indexOps = mongoTemplate.indexOps(OperatingArea.class);
+
+            // Existing indexes are kept - only the filter indexes are ensured
+            indexOps.ensureIndex(new Index().on("postOfficeId", Sort.Direction.ASC).named("postOfficeId"));
+
+            // Multikey index on the normalized product type array ($in / $all filters)
+            indexOps.ensureIndex(new Index().on("productTypes", Sort.Direction.ASC).named("productTypes"));
+
+            // Multikey index on the cell covering for point lookups ($in over the point's ancestor cells)
+            indexOps.ensureIndex(new Index().on("coveringCells", Sort.Direction.ASC).named("coveringCells"));
+
+            log.info("OperatingArea indexes created successfully");
+        } catch (Exception e) {
+            log.error("Failed to create OperatingArea indexes: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    private void createGeocodeCacheIndexes() {
+        try {
+            var indexOps = mongoTemplate.indexOps(GeocodeCacheEntry.class);
+
+            // Drop the TTL index first - its expiry cannot be changed by ensureIndex when the TTL setting changes
+            indexOps.getIndexInfo().stream()
+                    .filter(indexInfo -> indexInfo.getName().equals("cachedAt_ttl"))
+                    .findFirst()
+                    .ifPresent(indexInfo -> indexOps.dropIndex(indexInfo.getName()));
+
+            // MongoDB removes entries once they can no longer serve as stale fallback (reads check the cache TTL)
+            indexOps.ensureIndex(new Index().on("cachedAt", Sort.Direction.ASC)
+                    .expire(Duration.ofMinutes(Math.max(geocodeCacheTtlMinutes, geocodeCacheStaleTtlMinutes)))
+                    .named("cachedAt_ttl"));
+
+            log.info("Geocode cache indexes created successfully");
+        } catch (Exception e) {
+            log.error("Failed to create geocode cache indexes: {}", e.getMessage());
+            throw e;
+        }
+    }
+}
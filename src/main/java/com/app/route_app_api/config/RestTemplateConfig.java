@@ -1,23 +1,107 @@
 package com.app.route_app_api.config;
 
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
 /**
  * RestTemplate Configuration
+ * Backed by a pooled HTTP client so that connections (and TLS sessions) to the geocoder are reused:
+ * - apache (default): Apache HttpClient 5 connection pool, HTTP/1.1 keep-alive, per-route limits
+ * - jdk: JDK HttpClient, negotiates HTTP/2 (one multiplexed connection) where the server supports it
  */
+@Slf4j
 @Configuration
 public class RestTemplateConfig {
 
+    @Value("${app.http-client.type:apache}")
+    private String clientType;
+
+    @Value("${app.http-client.max-connections:100}")
+    private int maxConnections;
+
+    @Value("${app.http-client.max-connections-per-route:50}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${app.http-client.connect-timeout-ms:10000}")
+    private long connectTimeoutMs;
+
+    @Value("${app.http-client.read-timeout-ms:10000}")
+    private long readTimeoutMs;
+
+    // Max wait for a free pooled connection when all connections of the route are in use
+    @Value("${app.http-client.pool-acquire-timeout-ms:5000}")
+    private long poolAcquireTimeoutMs;
+
+    // Keep-alive used when the server does not send a Keep-Alive header
+    @Value("${app.http-client.keep-alive-seconds:30}")
+    private long keepAliveSeconds;
+
+    @Value("${app.http-client.idle-evict-seconds:60}")
+    private long idleEvictSeconds;
+
     @Bean
-    public RestTemplate restTemplate() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(10000); // 10 seconds
-        factory.setReadTimeout(10000); // 10 seconds
+    public ClientHttpRequestFactory clientHttpRequestFactory() {
+        if ("jdk".equalsIgnoreCase(clientType)) {
+            log.info("Using JDK HttpClient (HTTP/2 where available): connectTimeout={}ms, readTimeout={}ms",
+                    connectTimeoutMs, readTimeoutMs);
 
-        return new RestTemplate(factory);
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                    .build();
+            JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+            factory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+            return factory;
+        }
+
+        log.info("Using pooled Apache HttpClient: maxConnections={}, maxPerRoute={}, connectTimeout={}ms, readTimeout={}ms, poolAcquireTimeout={}ms",
+                maxConnections, maxConnectionsPerRoute, connectTimeoutMs, readTimeoutMs, poolAcquireTimeoutMs);
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        // Check connections that were idle for a while before reusing them
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolAcquireTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setConnectionKeepAlive(TimeValue.ofSeconds(keepAliveSeconds))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(idleEvictSeconds))
+                .build();
+
+        // Closed (with its pool) on shutdown - the factory is a DisposableBean
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
     }
-}
 
+    @Bean
+    public RestTemplate restTemplate(ClientHttpRequestFactory clientHttpRequestFactory) {
+        return new RestTemplate(clientHttpRequestFactory);
+    }
+}
@@ -0,0 +1,60 @@
+package com.app.route_app_api.config;
+
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * WebClient Configuration (profile reactive-gis)
+ * Reactor Netty client for the geocoder with the same pool limits and timeouts as the RestTemplate
+ * (app.http-client.*); connections are kept alive and reused, without a thread per call in flight
+ */
+@Slf4j
+@Configuration
+@Profile("reactive-gis")
+public class WebClientConfig {
+
+    @Value("${app.http-client.max-connections:100}")
+    private int maxConnections;
+
+    @Value("${app.http-client.connect-timeout-ms:10000}")
+    private long connectTimeoutMs;
+
+    @Value("${app.http-client.read-timeout-ms:10000}")
+    private long readTimeoutMs;
+
+    // Max wait for a free pooled connection when all connections are in use
+    @Value("${app.http-client.pool-acquire-timeout-ms:5000}")
+    private long poolAcquireTimeoutMs;
+
+    @Value("${app.http-client.idle-evict-seconds:60}")
+    private long idleEvictSeconds;
+
+    @Bean
+    public WebClient geocoderWebClient(WebClient.Builder builder) {
+        log.info("Using Reactor Netty WebClient: maxConnections={}, connectTimeout={}ms, readTimeout={}ms, poolAcquireTimeout={}ms",
+                maxConnections, connectTimeoutMs, readTimeoutMs, poolAcquireTimeoutMs);
+
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("geocoder")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(poolAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofSeconds(idleEvictSeconds))
+                .evictInBackground(Duration.ofSeconds(idleEvictSeconds))
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(readTimeoutMs));
+
+        return builder.clientConnector(new ReactorClientHttpConnector(httpClient)).build();
+    }
+}
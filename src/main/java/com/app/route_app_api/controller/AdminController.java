@@ -1,7 +1,12 @@
 package com.app.route_app_api.controller;
 
 import com.app.route_app_api.dto.ApiResponse;
+import com.app.route_app_api.dto.GeocodeCacheStatsResponse;
+import com.app.route_app_api.dto.GeocoderStatusResponse;
+import com.app.route_app_api.service.DataMigrationService;
 import com.app.route_app_api.service.DataSeedService;
+import com.app.route_app_api.service.GeocodeCache;
+import com.app.route_app_api.service.GeocoderResilience;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +22,9 @@ import org.springframework.web.bind.annotation.*;
 public class AdminController {
 
     private final DataSeedService dataSeedService;
+    private final DataMigrationService dataMigrationService;
+    private final GeocodeCache geocodeCache;
+    private final GeocoderResilience geocoderResilience;
 
     @PostMapping("/seed-data")
     public ResponseEntity<ApiResponse<String>> seedData(
@@ -42,5 +50,58 @@ public class AdminController {
         dataSeedService.clearRoutes();
         return ResponseEntity.ok(ApiResponse.success("All routes cleared successfully", null));
     }
-}
 
+    @PostMapping("/migrate/product-types")
+    public ResponseEntity<ApiResponse<String>> migrateProductTypes() {
+        log.info("POST /api/v1/admin/migrate/product-types - Backfilling normalized product types");
+
+        String result = dataMigrationService.migrateProductTypes();
+        return ResponseEntity.ok(ApiResponse.success(result, null));
+    }
+
+    @PostMapping("/migrate/packed-areas")
+    public ResponseEntity<ApiResponse<String>> migratePackedAreas() {
+        log.info("POST /api/v1/admin/migrate/packed-areas - Backfilling packed polygons");
+
+        String result = dataMigrationService.migratePackedAreas();
+        return ResponseEntity.ok(ApiResponse.success(result, null));
+    }
+
+    @PostMapping("/migrate/cell-coverings")
+    public ResponseEntity<ApiResponse<String>> migrateCellCoverings() {
+        log.info("POST /api/v1/admin/migrate/cell-coverings - Backfilling cell coverings");
+
+        String result = dataMigrationService.migrateCellCoverings();
+        return ResponseEntity.ok(ApiResponse.success(result, null));
+    }
+
+    @PostMapping("/migrate/simplified-areas")
+    public ResponseEntity<ApiResponse<String>> migrateSimplifiedAreas() {
+        log.info("POST /api/v1/admin/migrate/simplified-areas - Backfilling simplified polygons");
+
+        String result = dataMigrationService.migrateSimplifiedAreas();
+        return ResponseEntity.ok(ApiResponse.success(result, null));
+    }
+
+    @GetMapping("/geocode-cache/stats")
+    public ResponseEntity<ApiResponse<GeocodeCacheStatsResponse>> getGeocodeCacheStats() {
+        log.info("GET /api/v1/admin/geocode-cache/stats - Getting geocode cache statistics");
+
+        return ResponseEntity.ok(ApiResponse.success(geocodeCache.getStats()));
+    }
+
+    @DeleteMapping("/geocode-cache")
+    public ResponseEntity<ApiResponse<String>> clearGeocodeCache() {
+        log.info("DELETE /api/v1/admin/geocode-cache - Clearing geocode cache");
+
+        geocodeCache.clear();
+        return ResponseEntity.ok(ApiResponse.success("Geocode cache cleared successfully", null));
+    }
+
+    @GetMapping("/geocoder/status")
+    public ResponseEntity<ApiResponse<GeocoderStatusResponse>> getGeocoderStatus() {
+        log.info("GET /api/v1/admin/geocoder/status - Getting geocoder circuit breaker status");
+
+        return ResponseEntity.ok(ApiResponse.success(geocoderResilience.getStatus()));
+    }
+}
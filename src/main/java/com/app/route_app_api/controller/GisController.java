@@ -6,18 +6,28 @@ import com.app.route_app_api.service.GisService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.util.List;
 
 /**
  * GIS REST Controller for spatial queries
+ * Replaced by ReactiveGisController when the reactive-gis profile is active
  */
 @Slf4j
 @RestController
+@Profile("!reactive-gis")
 @RequestMapping("/api/v1/gis")
 @RequiredArgsConstructor
 public class GisController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final GisService gisService;
     private final AddressService addressService;
 
@@ -57,6 +67,38 @@ public class GisController {
         return ResponseEntity.ok(ApiResponse.success(message, response));
     }
 
+    /**
+     * Check a batch of points against the route polygons (JSON array)
+     * Results are returned in input order
+     */
+    @PostMapping(value = "/check-points", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<List<PointInPolygonResponse>>> checkPointsInPolygon(
+            @RequestBody List<PointInPolygonRequest> points) {
+        log.info("POST /api/v1/gis/check-points - Checking {} points", points.size());
+
+        List<PointInPolygonResponse> responses = gisService.checkPointsInPolygon(points);
+
+        long found = responses.stream().filter(PointInPolygonResponse::isFound).count();
+        String message = found + "/" + responses.size() + " point(s) are within a route";
+
+        return ResponseEntity.ok(ApiResponse.success(message, responses));
+    }
+
+    /**
+     * Check a stream of points against the route polygons (NDJSON in, NDJSON out)
+     * One result line is written per input line, in input order, as the points are read
+     */
+    @PostMapping(value = "/check-points", consumes = NDJSON, produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> checkPointsInPolygonStream(InputStream inputStream) {
+        log.info("POST /api/v1/gis/check-points - Checking streamed points (NDJSON)");
+
+        StreamingResponseBody body = outputStream -> gisService.checkPointsInPolygon(inputStream, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
+
     /**
      * Check address and find matching routes (POST)
      */
@@ -78,6 +120,25 @@ public class GisController {
         return ResponseEntity.ok(ApiResponse.success(message, response));
     }
 
+    /**
+     * Check a batch of addresses and find matching routes
+     * Results are returned in input order; addresses that cannot be geocoded carry an error
+     */
+    @PostMapping("/check-addresses")
+    public ResponseEntity<ApiResponse<List<AddressCheckResponse>>> checkAddresses(
+            @RequestBody List<AddressCheckRequest> requests) {
+        log.info("POST /api/v1/gis/check-addresses - Checking {} addresses", requests.size());
+
+        List<AddressCheckResponse> responses = addressService.checkAddresses(requests);
+
+        long found = responses.stream()
+                .filter(r -> r.getRouteInfo() != null && r.getRouteInfo().isFound())
+                .count();
+        String message = found + "/" + responses.size() + " address(es) are within a route";
+
+        return ResponseEntity.ok(ApiResponse.success(message, responses));
+    }
+
     /**
      * Check address and find matching routes (GET)
      */
@@ -1,15 +1,18 @@
 package com.app.route_app_api.controller;
 
 import com.app.route_app_api.dto.ApiResponse;
+import com.app.route_app_api.dto.GeometryResolution;
 import com.app.route_app_api.dto.OperatingAreaRequest;
 import com.app.route_app_api.dto.OperatingAreaResponse;
 import com.app.route_app_api.dto.OperatingAreaStatusResponse;
+import com.app.route_app_api.dto.ResponseView;
 import com.app.route_app_api.service.OperatingAreaService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -45,16 +48,23 @@ public class OperatingAreaController {
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<OperatingAreaResponse>>> getAllOperatingAreas(
+    public ResponseEntity<MappingJacksonValue> getAllOperatingAreas(
             @RequestParam(required = false) String postOfficeId,
             @RequestParam(required = false) String productType,
-            @RequestParam(required = false) String operatingAreaId) {
-        log.info("GET /api/v1/operating-areas - Getting operating areas with filters: postOfficeId={}, productType={}, operatingAreaId={}",
-                postOfficeId, productType, operatingAreaId);
-
-        List<OperatingAreaResponse> response = operatingAreaService.getOperatingAreas(postOfficeId, productType, operatingAreaId);
-
-        return ResponseEntity.ok(ApiResponse.success(response));
+            @RequestParam(required = false) String operatingAreaId,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) Double tolerance,
+            @RequestParam(required = false) Integer zoom) {
+        log.info("GET /api/v1/operating-areas - Getting operating areas with filters: postOfficeId={}, productType={}, operatingAreaId={}, view={}, tolerance={}, zoom={}",
+                postOfficeId, productType, operatingAreaId, view, tolerance, zoom);
+
+        // summary (no polygon), full (default) or geometry-only (id + polygon);
+        // simplified polygons for overview maps (tolerance in degrees or map zoom), full polygons by default
+        ResponseView responseView = ResponseView.fromValue(view);
+        List<OperatingAreaResponse> response = operatingAreaService.getOperatingAreas(
+                postOfficeId, productType, operatingAreaId, responseView, GeometryResolution.fromRequest(tolerance, zoom));
+
+        return ResponseEntity.ok(responseView.wrap(ApiResponse.success(response)));
     }
 
     @PutMapping("/{id}")
@@ -0,0 +1,184 @@
+package com.app.route_app_api.controller;
+
+import com.app.route_app_api.dto.*;
+import com.app.route_app_api.service.ReactiveAddressService;
+import com.app.route_app_api.service.ReactiveGisService;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Reactive GIS REST Controller for spatial queries (profile reactive-gis)
+ * Same endpoints and responses as GisController, returned as Mono/Flux: the request thread is released
+ * while MongoDB and the geocoding API are queried, and the response is written when the result is ready.
+ */
+@Slf4j
+@RestController
+@Profile("reactive-gis")
+@RequestMapping("/api/v1/gis")
+@RequiredArgsConstructor
+public class ReactiveGisController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final ReactiveGisService reactiveGisService;
+    private final ReactiveAddressService reactiveAddressService;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping("/check-point")
+    public Mono<ResponseEntity<ApiResponse<PointInPolygonResponse>>> checkPointInPolygon(
+            @Valid @RequestBody PointInPolygonRequest request) {
+        log.info("POST /api/v1/gis/check-point - Checking point ({}, {}) with productType: {}",
+                request.getLatitude(), request.getLongitude(), request.getProductType());
+
+        return reactiveGisService.checkPointInPolygon(request.getLatitude(), request.getLongitude(), request.getProductType())
+                .map(this::pointResult);
+    }
+
+    @GetMapping("/check-point")
+    public Mono<ResponseEntity<ApiResponse<PointInPolygonResponse>>> checkPointInPolygonGet(
+            @RequestParam Double latitude,
+            @RequestParam Double longitude,
+            @RequestParam(required = false) String productType) {
+        log.info("GET /api/v1/gis/check-point - Checking point ({}, {}) with productType: {}",
+                latitude, longitude, productType);
+
+        return reactiveGisService.checkPointInPolygon(latitude, longitude, productType)
+                .map(this::pointResult);
+    }
+
+    /**
+     * Check a batch of points against the route polygons (JSON array)
+     * Results are returned in input order
+     */
+    @PostMapping(value = "/check-points", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<ApiResponse<List<PointInPolygonResponse>>>> checkPointsInPolygon(
+            @RequestBody List<PointInPolygonRequest> points) {
+        log.info("POST /api/v1/gis/check-points - Checking {} points", points.size());
+
+        return reactiveGisService.checkPointsInPolygon(points)
+                .map(responses -> {
+                    long found = responses.stream().filter(PointInPolygonResponse::isFound).count();
+                    String message = found + "/" + responses.size() + " point(s) are within a route";
+
+                    return ResponseEntity.ok(ApiResponse.success(message, responses));
+                });
+    }
+
+    /**
+     * Check a stream of points against the route polygons (NDJSON in, NDJSON out)
+     * One result line is written per input line, in input order, as the points are read
+     */
+    @PostMapping(value = "/check-points", consumes = NDJSON, produces = NDJSON)
+    public Flux<PointInPolygonResponse> checkPointsInPolygonStream(InputStream inputStream) {
+        log.info("POST /api/v1/gis/check-points - Checking streamed points (NDJSON)");
+
+        // The servlet request body is a blocking stream - it is read on boundedElastic
+        ObjectReader reader = objectMapper.readerFor(PointInPolygonRequest.class);
+        Flux<PointInPolygonRequest> points = Flux.using(
+                        () -> objectMapper.createParser(inputStream),
+                        parser -> Flux.<PointInPolygonRequest>generate(sink -> {
+                            try {
+                                if (parser.nextToken() == null) {
+                                    sink.complete();
+                                    return;
+                                }
+                                // Read value by value as GisService does: a "null" line is a point without
+                                // coordinates (a Flux cannot carry null), answered with found=false
+                                PointInPolygonRequest point = reader.readValue(parser);
+                                sink.next(point != null ? point : new PointInPolygonRequest());
+                            } catch (IOException e) {
+                                sink.error(e);
+                            }
+                        }),
+                        ReactiveGisController::close)
+                .subscribeOn(Schedulers.boundedElastic());
+
+        return reactiveGisService.checkPointsInPolygon(points);
+    }
+
+    /**
+     * Check address and find matching routes (POST)
+     */
+    @PostMapping("/check-address")
+    public Mono<ResponseEntity<ApiResponse<AddressCheckResponse>>> checkAddress(
+            @Valid @RequestBody AddressCheckRequest request) {
+        log.info("POST /api/v1/gis/check-address - Checking address: {} with productType: {}",
+                request.getAddress(), request.getProductType());
+
+        return reactiveAddressService.checkAddress(request.getAddress(), request.getProductType())
+                .map(this::addressResult);
+    }
+
+    /**
+     * Check a batch of addresses and find matching routes
+     * Results are returned in input order; addresses that cannot be geocoded carry an error
+     */
+    @PostMapping("/check-addresses")
+    public Mono<ResponseEntity<ApiResponse<List<AddressCheckResponse>>>> checkAddresses(
+            @RequestBody List<AddressCheckRequest> requests) {
+        log.info("POST /api/v1/gis/check-addresses - Checking {} addresses", requests.size());
+
+        return reactiveAddressService.checkAddresses(requests)
+                .map(responses -> {
+                    long found = responses.stream()
+                            .filter(r -> r.getRouteInfo() != null && r.getRouteInfo().isFound())
+                            .count();
+                    String message = found + "/" + responses.size() + " address(es) are within a route";
+
+                    return ResponseEntity.ok(ApiResponse.success(message, responses));
+                });
+    }
+
+    /**
+     * Check address and find matching routes (GET)
+     */
+    @GetMapping("/check-address")
+    public Mono<ResponseEntity<ApiResponse<AddressCheckResponse>>> checkAddressGet(
+            @RequestParam String address,
+            @RequestParam(required = false) String productType) {
+        log.info("GET /api/v1/gis/check-address - Checking address: {} with productType: {}",
+                address, productType);
+
+        return reactiveAddressService.checkAddress(address, productType)
+                .map(this::addressResult);
+    }
+
+    private static void close(JsonParser points) {
+        try {
+            points.close();
+        } catch (IOException e) {
+            log.warn("Could not close streamed points: {}", e.getMessage());
+        }
+    }
+
+    private ResponseEntity<ApiResponse<PointInPolygonResponse>> pointResult(PointInPolygonResponse response) {
+        String message = response.isFound()
+                ? "Point is within " + response.getMatchingRoutes().size() + " route(s)"
+                : "Point is not within any route";
+
+        return ResponseEntity.ok(ApiResponse.success(message, response));
+    }
+
+    private ResponseEntity<ApiResponse<AddressCheckResponse>> addressResult(AddressCheckResponse response) {
+        String message = response.getRouteInfo() != null && response.getRouteInfo().isFound()
+                ? "Address found and is within " + response.getRouteInfo().getMatchingRoutes().size() + " route(s)"
+                : "Address found but is not within any route";
+
+        return ResponseEntity.ok(ApiResponse.success(message, response));
+    }
+}
@@ -1,6 +1,9 @@
 package com.app.route_app_api.controller;
 
 import com.app.route_app_api.dto.ApiResponse;
+import com.app.route_app_api.dto.CursorPage;
+import com.app.route_app_api.dto.GeometryResolution;
+import com.app.route_app_api.dto.ResponseView;
 import com.app.route_app_api.dto.RouteRequest;
 import com.app.route_app_api.dto.RouteResponse;
 import com.app.route_app_api.entity.Route;
@@ -9,8 +12,11 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -23,6 +29,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class RouteController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final RouteService routeService;
 
     @PostMapping
@@ -53,18 +61,71 @@ public class RouteController {
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<RouteResponse>>> getAllRoutes(
+    public ResponseEntity<MappingJacksonValue> getAllRoutes(
             @RequestParam(required = false) String staffId,
             @RequestParam(required = false) String postOfficeId,
             @RequestParam(required = false) Route.RouteType type,
             @RequestParam(required = false) String productType,
-            @RequestParam(required = false) String operatingAreaId) {
-        log.info("GET /api/v1/routes - Getting routes with filters: staffId={}, postOfficeId={}, type={}, productType={}, operatingAreaId={}",
-                staffId, postOfficeId, type, productType, operatingAreaId);
-
-        List<RouteResponse> response = routeService.getRoutes(staffId, postOfficeId, type, productType, operatingAreaId);
+            @RequestParam(required = false) String operatingAreaId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) Double tolerance,
+            @RequestParam(required = false) Integer zoom) {
+        log.info("GET /api/v1/routes - Getting routes with filters: staffId={}, postOfficeId={}, type={}, productType={}, operatingAreaId={}, limit={}, after={}, view={}, tolerance={}, zoom={}",
+                staffId, postOfficeId, type, productType, operatingAreaId, limit, after, view, tolerance, zoom);
+
+        // summary (no polygon), full (default) or geometry-only (id + polygon)
+        ResponseView responseView = ResponseView.fromValue(view);
+        // Simplified polygons for overview maps (tolerance in degrees or map zoom), full polygons by default
+        GeometryResolution resolution = GeometryResolution.fromRequest(tolerance, zoom);
+
+        // Without limit/after the full list is returned (backward compatible)
+        if (limit == null && after == null) {
+            List<RouteResponse> response = routeService.getRoutes(staffId, postOfficeId, type, productType, operatingAreaId, responseView, resolution);
+            return ResponseEntity.ok(responseView.wrap(ApiResponse.success(response)));
+        }
+
+        // Keyset pagination - the cursor for the next page is returned in the X-Next-Cursor header
+        CursorPage<RouteResponse> page = routeService.getRoutesPage(
+                staffId, postOfficeId, type, productType, operatingAreaId, after, limit, responseView, resolution);
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            builder.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return builder.body(responseView.wrap(ApiResponse.success(page.getItems())));
+    }
 
-        return ResponseEntity.ok(ApiResponse.success(response));
+    /**
+     * Stream routes as NDJSON (application/x-ndjson), one route per line, in _id order
+     * Routes are written as the MongoDB cursor produces them
+     */
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamRoutes(
+            @RequestParam(required = false) String staffId,
+            @RequestParam(required = false) String postOfficeId,
+            @RequestParam(required = false) Route.RouteType type,
+            @RequestParam(required = false) String productType,
+            @RequestParam(required = false) String operatingAreaId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) Double tolerance,
+            @RequestParam(required = false) Integer zoom) {
+        log.info("GET /api/v1/routes/stream - Streaming routes with filters: staffId={}, postOfficeId={}, type={}, productType={}, operatingAreaId={}, after={}, view={}, tolerance={}, zoom={}",
+                staffId, postOfficeId, type, productType, operatingAreaId, after, view, tolerance, zoom);
+
+        // Validate before the response starts - errors cannot be reported mid-stream
+        routeService.validateRouteFilters(postOfficeId, operatingAreaId);
+        ResponseView responseView = ResponseView.fromValue(view);
+        GeometryResolution resolution = GeometryResolution.fromRequest(tolerance, zoom);
+
+        StreamingResponseBody body = outputStream -> routeService.streamRoutes(
+                staffId, postOfficeId, type, productType, operatingAreaId, after, responseView, resolution, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
     }
 
     @PutMapping("/{id}")
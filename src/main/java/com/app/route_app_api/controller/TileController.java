@@ -0,0 +1,44 @@
+package com.app.route_app_api.controller;
+
+import com.app.route_app_api.service.VectorTileService;
+import com.app.route_app_api.util.VectorTileEncoder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Vector Tile REST Controller - route and operating area polygons as Mapbox Vector Tiles
+ * Map clients load only the tiles in view instead of every polygon from the list endpoints.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/tiles")
+@RequiredArgsConstructor
+public class TileController {
+
+    private static final MediaType VECTOR_TILE = MediaType.parseMediaType(VectorTileEncoder.CONTENT_TYPE);
+
+    private final VectorTileService vectorTileService;
+
+    /**
+     * Tile of a layer (routes, operating-areas) in the XYZ / Web Mercator tiling scheme
+     * Returns 204 No Content when no polygon intersects the tile
+     */
+    @GetMapping("/{layer}/{z}/{x}/{y}.mvt")
+    public ResponseEntity<byte[]> getTile(
+            @PathVariable String layer,
+            @PathVariable int z,
+            @PathVariable int x,
+            @PathVariable int y) {
+        // Debug level - a map view requests dozens of tiles at once
+        log.debug("GET /api/v1/tiles/{}/{}/{}/{}.mvt - Getting vector tile", layer, z, x, y);
+
+        byte[] tile = vectorTileService.getTile(layer, z, x, y);
+        if (tile.length == 0) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok().contentType(VECTOR_TILE).body(tile);
+    }
+}
@@ -28,6 +28,9 @@ public class AddressCheckResponse {
     // Route information if found
     private PointInPolygonResponse routeInfo;
 
+    // Lỗi khi không geocode được địa chỉ (chỉ dùng cho kiểm tra hàng loạt)
+    private String error;
+
     @Data
     @Builder
     @NoArgsConstructor
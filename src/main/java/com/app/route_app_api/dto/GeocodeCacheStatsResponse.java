@@ -0,0 +1,25 @@
+package com.app.route_app_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Geocode Cache Statistics Response DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GeocodeCacheStatsResponse {
+
+    private boolean enabled;
+    private boolean persistent;
+    private long size;
+    private long hitCount; // Tìm thấy trong bộ nhớ
+    private long persistentHitCount; // Không có trong bộ nhớ nhưng tìm thấy trong MongoDB
+    private long missCount; // Phải gọi ViettelPost API
+    private double hitRate; // (hitCount + persistentHitCount) / tổng số lần tra cứu
+    private long evictionCount;
+}
@@ -0,0 +1,26 @@
+package com.app.route_app_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Geocoder (ViettelPost Location API) Resilience Status Response DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GeocoderStatusResponse {
+
+    private boolean enabled;
+    private String circuitState; // CLOSED, OPEN hoặc HALF_OPEN
+    private int recentCalls; // Số lần gọi trong cửa sổ của circuit breaker
+    private double failureRate; // Tỷ lệ lỗi hoặc chậm trong các lần gọi gần đây
+    private int inFlightCalls;
+    private int maxConcurrentCalls;
+    private long rejectedCalls; // Bị từ chối do circuit mở hoặc quá nhiều lần gọi đồng thời
+    private long hedgedAttempts;
+    private long hedgeDelayMs; // Thời gian chờ trước khi gửi lần gọi dự phòng (p95)
+}
@@ -0,0 +1,80 @@
+package com.app.route_app_api.dto;
+
+import com.app.route_app_api.exception.BusinessRuleException;
+import com.app.route_app_api.util.GeometryPyramid;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+
+import java.util.Map;
+
+/**
+ * Polygon resolution for list endpoints (request parameter "tolerance" in degrees or "zoom")
+ * FULL returns the polygon as stored; otherwise the polygon is served from the simplification pyramid
+ * (GeometryPyramid) level chosen for the request, and only that level is read from MongoDB
+ * (see ResponseView.applyTo).
+ */
+public final class GeometryResolution {
+
+    public static final GeometryResolution FULL = new GeometryResolution(null);
+
+    // Zoom of the pyramid level, null for the full polygon
+    private final Integer level;
+
+    private GeometryResolution(Integer level) {
+        this.level = level;
+    }
+
+    /**
+     * Resolve the request parameters (at most one of them), defaulting to FULL when both are absent
+     */
+    public static GeometryResolution fromRequest(Double tolerance, Integer zoom) {
+        if (tolerance != null && zoom != null) {
+            throw new BusinessRuleException("Only one of tolerance and zoom can be specified");
+        }
+        if (zoom != null) {
+            if (zoom < 0 || zoom > GeometryPyramid.MAX_ZOOM) {
+                throw new BusinessRuleException("zoom must be between 0 and " + GeometryPyramid.MAX_ZOOM);
+            }
+            return of(GeometryPyramid.levelFor(GeometryPyramid.tolerance(zoom)));
+        }
+        if (tolerance != null) {
+            if (!(tolerance >= 0) || tolerance.isInfinite()) {
+                throw new BusinessRuleException("tolerance must be a non-negative number of degrees");
+            }
+            return of(GeometryPyramid.levelFor(tolerance));
+        }
+        return FULL;
+    }
+
+    private static GeometryResolution of(Integer level) {
+        return level == null ? FULL : new GeometryResolution(level);
+    }
+
+    public boolean isFull() {
+        return level == null;
+    }
+
+    /**
+     * Zoom of the pyramid level (null for FULL)
+     */
+    public Integer getLevel() {
+        return level;
+    }
+
+    /**
+     * Polygon at this resolution from the fields read with ResponseView.applyTo
+     * @return the full area for FULL, the decoded level otherwise, or null if the level is not stored
+     * (document written before the pyramid existed)
+     */
+    public GeoJsonPolygon select(GeoJsonPolygon area, Map<String, byte[]> simplifiedAreas) {
+        if (isFull()) {
+            return area;
+        }
+        byte[] packed = simplifiedAreas == null ? null : simplifiedAreas.get(GeometryPyramid.key(level));
+        return packed == null ? null : GeometryPyramid.decode(packed);
+    }
+
+    @Override
+    public String toString() {
+        return isFull() ? "full" : GeometryPyramid.key(level);
+    }
+}
@@ -1,5 +1,6 @@
 package com.app.route_app_api.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -10,11 +11,14 @@ import java.time.LocalDateTime;
 
 /**
  * Operating Area Response DTO
+ * Projected views (see ResponseView.filters) omit null fields so that they only carry the requested fields;
+ * the full view writes every field, null or not
  */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter(ResponseView.FILTER_ID)
 public class OperatingAreaResponse {
 
     private String id;
@@ -0,0 +1,130 @@
+package com.app.route_app_api.dto;
+
+import com.app.route_app_api.exception.BusinessRuleException;
+import com.app.route_app_api.util.GeometryPyramid;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.PropertyFilter;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+/**
+ * Response view for list endpoints (request parameter "view")
+ * SUMMARY omits the polygon, GEOMETRY_ONLY returns only id + polygon, FULL returns everything.
+ * The view is applied as a MongoDB field projection, so omitted fields are never read from the database;
+ * omitted fields are left null and skipped in the JSON response of the projected views (see filters).
+ * The packed polygon, the cell covering and the simplification pyramid (internal only) are never read,
+ * except the one pyramid level that replaces the polygon when a simplified GeometryResolution is requested.
+ */
+public enum ResponseView {
+    SUMMARY("summary"),
+    FULL("full"),
+    GEOMETRY_ONLY("geometry-only");
+
+    // Jackson filter of the list responses (RouteResponse, OperatingAreaResponse)
+    public static final String FILTER_ID = "responseView";
+
+    // Polygon field of routes and operating areas
+    private static final String GEOMETRY_FIELD = "area";
+    // Simplified copies of the polygon (GeometryPyramid), one sub-field per level
+    private static final String SIMPLIFIED_FIELD = "simplifiedAreas";
+    // Other internal copies of the polygon (PackedGeometryCodec, CellCovering)
+    private static final String[] PACKED_FIELDS = {"packedArea", "coveringCells", "interiorCells"};
+
+    // Skips null fields: the fields left out by the projection
+    private static final PropertyFilter OMIT_NULLS = new SimpleBeanPropertyFilter() {
+        @Override
+        public void serializeAsField(Object pojo, JsonGenerator gen, SerializerProvider provider,
+                                     PropertyWriter writer) throws Exception {
+            if (writer instanceof BeanPropertyWriter property && property.get(pojo) == null) {
+                return;
+            }
+            writer.serializeAsField(pojo, gen, provider);
+        }
+    };
+
+    private final String value;
+
+    ResponseView(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Parse a view from its request value (case-insensitive), defaulting to FULL when absent
+     */
+    public static ResponseView fromValue(String value) {
+        if (value == null || value.isBlank()) {
+            return FULL;
+        }
+        for (ResponseView view : values()) {
+            if (view.value.equalsIgnoreCase(value.trim())) {
+                return view;
+            }
+        }
+        throw new BusinessRuleException("Invalid view: " + value + " (expected summary, full or geometry-only)");
+    }
+
+    /**
+     * Add the field projection of this view to the query
+     */
+    public Query applyTo(Query query) {
+        return applyTo(query, GeometryResolution.FULL);
+    }
+
+    /**
+     * Add the field projection of this view to the query, reading the polygon at the given resolution:
+     * for a simplified resolution only the matching pyramid level is read instead of the full polygon
+     */
+    public Query applyTo(Query query, GeometryResolution resolution) {
+        switch (this) {
+            case SUMMARY -> query.fields().exclude(GEOMETRY_FIELD).exclude(PACKED_FIELDS).exclude(SIMPLIFIED_FIELD);
+            case GEOMETRY_ONLY -> query.fields().include(resolution.isFull() ? GEOMETRY_FIELD : levelField(resolution.getLevel()));
+            case FULL -> {
+                query.fields().exclude(PACKED_FIELDS);
+                if (resolution.isFull()) {
+                    query.fields().exclude(SIMPLIFIED_FIELD);
+                } else {
+                    // The other levels are excluded one by one - a path cannot be projected together with its parent
+                    query.fields().exclude(GEOMETRY_FIELD);
+                    for (int zoom : GeometryPyramid.ZOOM_LEVELS) {
+                        if (zoom != resolution.getLevel()) {
+                            query.fields().exclude(levelField(zoom));
+                        }
+                    }
+                }
+            }
+        }
+        return query;
+    }
+
+    /**
+     * Jackson filters for the responses of this view: FULL writes every field (null included, as before views
+     * existed), the projected views omit null fields
+     */
+    public FilterProvider filters() {
+        return new SimpleFilterProvider().addFilter(FILTER_ID,
+                this == FULL ? SimpleBeanPropertyFilter.serializeAll() : OMIT_NULLS);
+    }
+
+    /**
+     * Response body written with the filters of this view
+     */
+    public MappingJacksonValue wrap(Object body) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(filters());
+        return value;
+    }
+
+    private static String levelField(int zoom) {
+        return SIMPLIFIED_FIELD + "." + GeometryPyramid.key(zoom);
+    }
+}
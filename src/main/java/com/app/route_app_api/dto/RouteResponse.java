@@ -1,6 +1,7 @@
 package com.app.route_app_api.dto;
 
 import com.app.route_app_api.entity.Route;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -11,11 +12,14 @@ import java.time.LocalDateTime;
 
 /**
  * Route Response DTO
+ * Projected views (see ResponseView.filters) omit null fields so that they only carry the requested fields;
+ * the full view writes every field, null or not
  */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter(ResponseView.FILTER_ID)
 public class RouteResponse {
 
     private String id;
@@ -0,0 +1,28 @@
+package com.app.route_app_api.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Startup data migration that has completed, so it is skipped on later startups (see DataMigrationRunner)
+ */
+@Document(collection = "data_migrations")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataMigration {
+
+    @Id
+    private String id; // Tên migration, ví dụ: productTypes
+
+    private String result; // Kết quả trả về của migration
+
+    private LocalDateTime completedAt;
+}
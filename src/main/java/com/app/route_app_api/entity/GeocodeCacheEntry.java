@@ -0,0 +1,32 @@
+package com.app.route_app_api.entity;
+
+import com.app.route_app_api.dto.ParseLocationResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted geocoding result (ViettelPost Location API) so the geocode cache survives restarts
+ * Expired by a TTL index on cachedAt (see MongoIndexInitializer)
+ */
+@Document(collection = "geocode_cache")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GeocodeCacheEntry {
+
+    @Id
+    private String id; // Địa chỉ đã chuẩn hóa (xem GeocodeCache.normalize)
+
+    private String address; // Địa chỉ gốc lần đầu được geocode
+
+    private ParseLocationResponse location;
+
+    private LocalDateTime cachedAt;
+}
@@ -9,6 +9,9 @@ import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Operating Area Entity - Vùng hoạt động của bưu cục
@@ -29,8 +32,18 @@ public class OperatingArea {
 
     private String productType; // Loại hàng hóa (có thể nhiều giá trị cách nhau bởi dấu ;, ví dụ: HH;TH)
 
+    private Set<String> productTypes; // Loại hàng hóa đã chuẩn hóa (HH, KH, ...) - đồng bộ với productType, multikey index
+
     private GeoJsonPolygon area; // Khu vực phục vụ (Polygon) - MongoDB GeoJSON format
 
+    private byte[] packedArea; // Khu vực phục vụ dạng nhị phân nén (PackedGeometryCodec) - đồng bộ với area, dùng nội bộ
+
+    private List<Long> coveringCells; // Phủ ô phân cấp của area (CellCovering) - đồng bộ với area, multikey index, dùng nội bộ
+
+    private List<Long> interiorCells; // Các ô của coveringCells nằm hoàn toàn trong area - dùng nội bộ
+
+    private Map<String, byte[]> simplifiedAreas; // Các bản đơn giản hóa của area theo mức zoom (GeometryPyramid, key "z" + zoom) - đồng bộ với area
+
     private LocalDateTime createdAt;
 
     private LocalDateTime updatedAt;
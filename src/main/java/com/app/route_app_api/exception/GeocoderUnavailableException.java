@@ -0,0 +1,15 @@
+package com.app.route_app_api.exception;
+
+/**
+ * Exception when the geocoding API cannot be used (circuit open, too many calls in flight, timeout, upstream error)
+ */
+public class GeocoderUnavailableException extends RuntimeException {
+
+    public GeocoderUnavailableException(String message) {
+        super(message);
+    }
+
+    public GeocoderUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,9 @@
+package com.app.route_app_api.repository;
+
+import com.app.route_app_api.entity.GeocodeCacheEntry;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface GeocodeCacheRepository extends MongoRepository<GeocodeCacheEntry, String> {
+}
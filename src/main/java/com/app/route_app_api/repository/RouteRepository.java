@@ -19,6 +19,8 @@ public interface RouteRepository extends MongoRepository<Route, String> {
 
     List<Route> findByType(Route.RouteType type);
 
+    List<Route> findByPostOfficeId(String postOfficeId);
+
     List<Route> findByOperatingAreaId(String operatingAreaId);
 
     boolean existsByOperatingAreaId(String operatingAreaId);
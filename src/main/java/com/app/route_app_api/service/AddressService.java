@@ -1,19 +1,20 @@
 package com.app.route_app_api.service;
 
+import com.app.route_app_api.dto.AddressCheckRequest;
 import com.app.route_app_api.dto.AddressCheckResponse;
 import com.app.route_app_api.dto.ParseLocationResponse;
 import com.app.route_app_api.dto.PointInPolygonResponse;
+import com.app.route_app_api.exception.BusinessRuleException;
+import com.app.route_app_api.exception.GeocoderUnavailableException;
 import com.app.route_app_api.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -24,11 +25,14 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AddressService {
 
-    private final RestTemplate restTemplate;
     private final GisService gisService;
+    private final GeocodeCache geocodeCache;
+    private final GeocodeBatcher geocodeBatcher;
+    private final ServiceMetrics serviceMetrics;
 
-    @Value("${viettelpost.location.api.url:https://dev-io.viettelpost.vn/location/v2.0/addresses}")
-    private String viettelPostApiUrl;
+    // Maximum number of addresses per bulk check request
+    @Value("${app.geocode.check-addresses.max-batch-size:1000}")
+    private int maxBatchSize;
 
     /**
      * Check address and get latitude/longitude
@@ -37,25 +41,116 @@ public class AddressService {
     public AddressCheckResponse checkAddress(String address, String productType) {
         log.info("Checking address: {} with productType: {}", address, productType);
 
-        // Call ViettelPost Location API
-        ParseLocationResponse locationData = callViettelPostApi(address);
+        // Repeat addresses are served from the geocode cache, otherwise call ViettelPost Location API
+        ParseLocationResponse locationData = geocodeCache.get(address);
+        if (locationData != null) {
+            log.debug("Geocode cache hit for address: {}", address);
+            serviceMetrics.recordGeocodeLookup("cache");
+        } else {
+            try {
+                locationData = callViettelPostApi(address);
+
+                if (!hasLocation(locationData)) {
+                    throw new ResourceNotFoundException("Could not find location for address: " + address);
+                }
+
+                // Only successful results are cached
+                geocodeCache.put(address, locationData);
+                serviceMetrics.recordGeocodeLookup("upstream");
+            } catch (GeocoderUnavailableException e) {
+                locationData = staleLocation(address, e);
+            }
+        }
+
+        return toResponse(address, locationData, productType);
+    }
 
-        if (locationData == null || locationData.getGeometry() == null
-                || locationData.getGeometry().getLocation() == null) {
-            throw new ResourceNotFoundException("Could not find location for address: " + address);
+    /**
+     * Check a batch of addresses, results in input order
+     * Cache misses are geocoded together (batched upstream calls); an address that cannot be
+     * geocoded gets a response with an error instead of failing the whole batch
+     */
+    public List<AddressCheckResponse> checkAddresses(List<AddressCheckRequest> requests) {
+        log.info("Checking {} addresses", requests.size());
+
+        validateBatch(requests);
+
+        // Queue all cache misses first so that they share upstream batches
+        ParseLocationResponse[] cached = new ParseLocationResponse[requests.size()];
+        List<CompletableFuture<ParseLocationResponse>> geocoded = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            cached[i] = geocodeCache.get(requests.get(i).getAddress());
+            if (cached[i] != null) {
+                serviceMetrics.recordGeocodeLookup("cache");
+            }
+            geocoded.add(cached[i] != null ? null : geocodeBatcher.submit(requests.get(i).getAddress()));
         }
 
-        // Extract location data
+        List<AddressCheckResponse> responses = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            AddressCheckRequest request = requests.get(i);
+            try {
+                ParseLocationResponse locationData = cached[i];
+                if (locationData == null) {
+                    try {
+                        locationData = geocodeBatcher.await(geocoded.get(i), request.getAddress());
+                        if (!hasLocation(locationData)) {
+                            throw new ResourceNotFoundException("Could not find location for address: " + request.getAddress());
+                        }
+                        geocodeCache.put(request.getAddress(), locationData);
+                        serviceMetrics.recordGeocodeLookup("upstream");
+                    } catch (GeocoderUnavailableException e) {
+                        locationData = staleLocation(request.getAddress(), e);
+                    }
+                }
+                responses.add(toResponse(request.getAddress(), locationData, request.getProductType()));
+            } catch (Exception e) {
+                log.warn("Could not check address {}: {}", request.getAddress(), e.getMessage());
+                responses.add(AddressCheckResponse.builder()
+                        .originalAddress(request.getAddress())
+                        .error(e.getMessage())
+                        .build());
+            }
+        }
+
+        return responses;
+    }
+
+    /**
+     * Validate a bulk check request (size limit, addresses present)
+     */
+    void validateBatch(List<AddressCheckRequest> requests) {
+        if (requests.size() > maxBatchSize) {
+            throw new BusinessRuleException("Too many addresses: " + requests.size()
+                    + " (maximum " + maxBatchSize + " per request)");
+        }
+        for (int i = 0; i < requests.size(); i++) {
+            AddressCheckRequest request = requests.get(i);
+            if (request == null || request.getAddress() == null || request.getAddress().isBlank()) {
+                throw new BusinessRuleException("Address is required (address at index " + i + ")");
+            }
+        }
+    }
+
+    private AddressCheckResponse toResponse(String address, ParseLocationResponse locationData, String productType) {
         Double latitude = locationData.getGeometry().getLocation().getLat();
         Double longitude = locationData.getGeometry().getLocation().getLng();
-        Double accuracy = locationData.getGeometry().getLocation().getAccuracy();
-
-        log.info("Found location: lat={}, lng={}, accuracy={}", latitude, longitude, accuracy);
 
         // Check if point is in any route
         PointInPolygonResponse routeInfo = gisService.checkPointInPolygon(
                 latitude, longitude, productType);
 
+        return toResponse(address, locationData, routeInfo);
+    }
+
+    static AddressCheckResponse toResponse(String address, ParseLocationResponse locationData, PointInPolygonResponse routeInfo) {
+        // Extract location data
+        Double latitude = locationData.getGeometry().getLocation().getLat();
+        Double longitude = locationData.getGeometry().getLocation().getLng();
+        Double accuracy = locationData.getGeometry().getLocation().getAccuracy();
+
+        log.info("Found location: lat={}, lng={}, accuracy={}", latitude, longitude, accuracy);
+
         // Convert components
         List<AddressCheckResponse.AddressComponent> components = null;
         if (locationData.getComponents() != null) {
@@ -83,48 +178,37 @@ public class AddressService {
                 .build();
     }
 
+    /**
+     * Fall back to the last known (possibly expired) result of an address when the geocoding API is unavailable
+     * @throws GeocoderUnavailableException if the address was never geocoded before
+     */
+    private ParseLocationResponse staleLocation(String address, GeocoderUnavailableException cause) {
+        ParseLocationResponse stale = geocodeCache.getStale(address);
+        if (stale == null) {
+            throw cause;
+        }
+        log.warn("Geocoding API unavailable ({}), using last known location for address: {}", cause.getMessage(), address);
+        serviceMetrics.recordGeocodeLookup("stale");
+        return stale;
+    }
+
+    static boolean hasLocation(ParseLocationResponse locationData) {
+        return locationData != null && locationData.getGeometry() != null
+                && locationData.getGeometry().getLocation() != null;
+    }
+
     /**
      * Call ViettelPost Location API to geocode address
+     * Concurrent calls are coalesced into batched API requests by GeocodeBatcher
      */
     private ParseLocationResponse callViettelPostApi(String address) {
-        try {
-            // Build request headers
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("Cookie", "SERVERID=2");
-
-            // Build request body (array with single address)
-            List<String> addresses = Collections.singletonList(address);
-            HttpEntity<List<String>> requestEntity = new HttpEntity<>(addresses, headers);
-
-            // Build URL with query parameters
-            String url = viettelPostApiUrl + "?shortForm=true&system=VTP";
-
-            log.info("Calling ViettelPost API: {} with address: {}", url, address);
-
-            // Make API call
-            ResponseEntity<List<ParseLocationResponse>> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.POST,
-                    requestEntity,
-                    new ParameterizedTypeReference<List<ParseLocationResponse>>() {}
-            );
-
-            // Extract first result
-            if (response.getBody() != null && !response.getBody().isEmpty()) {
-                ParseLocationResponse result = response.getBody().get(0);
-                log.info("ViettelPost API response: formattedAddress={}, confidence={}",
-                        result.getFormattedAddress(), result.getConfidence());
-                return result;
-            }
-
+        ParseLocationResponse result = geocodeBatcher.geocode(address);
+        if (result != null) {
+            log.info("ViettelPost API response: formattedAddress={}, confidence={}",
+                    result.getFormattedAddress(), result.getConfidence());
+        } else {
             log.warn("ViettelPost API returned empty response");
-            return null;
-
-        } catch (Exception e) {
-            log.error("Error calling ViettelPost API for address: {}", address, e);
-            throw new RuntimeException("Failed to geocode address: " + e.getMessage(), e);
         }
+        return result;
     }
 }
-
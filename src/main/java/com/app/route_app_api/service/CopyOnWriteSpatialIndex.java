@@ -0,0 +1,230 @@
+package com.app.route_app_api.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Base of the in-memory spatial indexes (RouteSpatialIndex, OperatingAreaSpatialIndex)
+ * The index is an immutable snapshot replaced as a whole on every change (copy-on-write), so lookups never
+ * take a lock. It is loaded lazily on first use, patched by the owning service on every write and reloaded
+ * in the background once older than the refresh interval, so that writes made by other instances become
+ * visible without blocking requests on a MongoDB scan.
+ *
+ * @param <T> indexed entity
+ * @param <E> index entry of an entity
+ * @param <S> snapshot type
+ */
+@Slf4j
+public abstract class CopyOnWriteSpatialIndex<T, E, S extends CopyOnWriteSpatialIndex.Snapshot<E>> {
+
+    // ReentrantLock rather than synchronized: loading blocks on MongoDB, which would pin virtual threads
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+    private volatile S snapshot;
+
+    protected abstract boolean isEnabled();
+
+    /**
+     * Reload interval in seconds (0 = never reload)
+     */
+    protected abstract long refreshSeconds();
+
+    /**
+     * Name of the indexed entities for log messages (e.g. "route")
+     */
+    protected abstract String entityName();
+
+    /**
+     * Load a full snapshot from MongoDB
+     */
+    protected abstract S load();
+
+    /**
+     * Id of an entity (the key of its entry)
+     */
+    protected abstract String idOf(T entity);
+
+    /**
+     * Index entry of an entity, or null if it cannot be indexed (no or invalid polygon)
+     */
+    protected abstract E index(T entity);
+
+    /**
+     * Snapshot after one entry has changed
+     * @param entries all entries after the change
+     * @param previous entry before the change (null if absent)
+     * @param indexed entry after the change (null if removed)
+     */
+    protected abstract S rebuild(S current, Map<String, E> entries, E previous, E indexed);
+
+    /**
+     * Returns true if the index is enabled and loaded (loading it on first call)
+     * Callers should fall back to a MongoDB query when this returns false
+     */
+    public boolean isAvailable() {
+        if (!isEnabled()) {
+            return false;
+        }
+        try {
+            current();
+            return true;
+        } catch (Exception e) {
+            log.warn("Spatial index of {}s unavailable, falling back to MongoDB: {}", entityName(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Returns true if the index is enabled and already loaded, without loading it
+     * For non-blocking callers, which load it through isAvailable() on a thread that may block
+     */
+    public boolean isLoaded() {
+        return isEnabled() && snapshot != null;
+    }
+
+    /**
+     * Add or replace an entity after it has been saved
+     */
+    public void upsert(T entity) {
+        writeLock.lock();
+        try {
+            S current = snapshot;
+            if (current == null) {
+                return; // Not loaded yet - the entity will be picked up by the first load
+            }
+            Map<String, E> entries = new LinkedHashMap<>(current.entries());
+            E indexed = index(entity);
+            E previous = indexed == null ? entries.remove(idOf(entity)) : entries.put(idOf(entity), indexed);
+            snapshot = rebuild(current, entries, previous, indexed);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Remove an entity after it has been deleted
+     */
+    public void remove(String id) {
+        writeLock.lock();
+        try {
+            S current = snapshot;
+            if (current == null || !current.entries().containsKey(id)) {
+                return;
+            }
+            Map<String, E> entries = new LinkedHashMap<>(current.entries());
+            E previous = entries.remove(id);
+            snapshot = rebuild(current, entries, previous, null);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Reload the index from MongoDB now, waiting for the load
+     * For callers that must see writes made by other instances (validation before a write)
+     * @return false if the index is disabled or could not be loaded
+     */
+    public boolean refresh() {
+        if (!isEnabled()) {
+            return false;
+        }
+        writeLock.lock();
+        try {
+            snapshot = load();
+            return true;
+        } catch (Exception e) {
+            log.warn("Failed to refresh spatial index of {}s: {}", entityName(), e.getMessage());
+            return false;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Drop the index so that it is reloaded from MongoDB on next use
+     * Used after bulk changes that bypass the owning service (seeding, clearing data)
+     */
+    public void invalidate() {
+        writeLock.lock();
+        try {
+            snapshot = null;
+        } finally {
+            writeLock.unlock();
+        }
+        log.info("Spatial index of {}s invalidated", entityName());
+    }
+
+    /**
+     * Current snapshot: loaded on first use, refreshed in the background once stale
+     */
+    protected S current() {
+        S current = snapshot;
+        if (current == null) {
+            writeLock.lock();
+            try {
+                current = snapshot;
+                if (current == null) {
+                    current = load();
+                    snapshot = current;
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        } else if (isStale(current)) {
+            refreshAsync();
+        }
+        return current;
+    }
+
+    private boolean isStale(S current) {
+        long refreshSeconds = refreshSeconds();
+        return refreshSeconds > 0 && System.currentTimeMillis() - current.loadedAt() > refreshSeconds * 1000;
+    }
+
+    private void refreshAsync() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        CompletableFuture.runAsync(() -> {
+            try {
+                writeLock.lock();
+                try {
+                    snapshot = load();
+                } finally {
+                    writeLock.unlock();
+                }
+            } catch (Exception e) {
+                log.warn("Failed to refresh spatial index of {}s: {}", entityName(), e.getMessage());
+            } finally {
+                refreshing.set(false);
+            }
+        });
+    }
+
+    /**
+     * Immutable view of the index: the entries by id and the time they were loaded
+     * Subclasses add their search structures, built once in the constructor
+     */
+    public abstract static class Snapshot<E> {
+        private final Map<String, E> entries;
+        private final long loadedAt;
+
+        protected Snapshot(Map<String, E> entries, long loadedAt) {
+            this.entries = entries;
+            this.loadedAt = loadedAt;
+        }
+
+        protected Map<String, E> entries() {
+            return entries;
+        }
+
+        protected long loadedAt() {
+            return loadedAt;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.app.route_app_api.service;
+
+import com.app.route_app_api.entity.OperatingArea;
+import com.app.route_app_api.entity.Route;
+import com.app.route_app_api.util.CellCovering;
+import com.app.route_app_api.util.GeometryPyramid;
+import com.app.route_app_api.util.PackedGeometryCodec;
+import com.app.route_app_api.util.ProductTypeHelper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Service for one-off migrations of documents written before a schema change
+ * Migrations only touch documents that are missing the new field, so they are safe to re-run
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DataMigrationService {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Backfill the normalized productTypes array from the legacy semicolon-separated productType
+     * on routes and operating areas
+     * @return summary of migrated documents
+     */
+    public String migrateProductTypes() {
+        long routes = backfillProductTypes(mongoTemplate.getCollectionName(Route.class));
+        long operatingAreas = backfillProductTypes(mongoTemplate.getCollectionName(OperatingArea.class));
+
+        return String.format("Migrated productTypes for %d routes and %d operating areas", routes, operatingAreas);
+    }
+
+    /**
+     * Backfill the packed polygon (PackedGeometryCodec) from the GeoJSON polygon on routes and operating areas
+     * @return summary of migrated documents
+     */
+    public String migratePackedAreas() {
+        long routes = backfillFromArea(Route.class, "packedArea", Route::getId, Route::getArea,
+                area -> new Update().set("packedArea", PackedGeometryCodec.encode(area)));
+        long operatingAreas = backfillFromArea(OperatingArea.class, "packedArea", OperatingArea::getId, OperatingArea::getArea,
+                area -> new Update().set("packedArea", PackedGeometryCodec.encode(area)));
+
+        return String.format("Migrated packedArea for %d routes and %d operating areas", routes, operatingAreas);
+    }
+
+    /**
+     * Backfill the cell covering (CellCovering) from the GeoJSON polygon on routes and operating areas
+     * Until this has run, the MongoDB point lookup matches these documents with $geoIntersects.
+     * @return summary of migrated documents
+     */
+    public String migrateCellCoverings() {
+        long routes = backfillFromArea(Route.class, "coveringCells", Route::getId, Route::getArea, DataMigrationService::coveringUpdate);
+        long operatingAreas = backfillFromArea(OperatingArea.class, "coveringCells", OperatingArea::getId, OperatingArea::getArea,
+                DataMigrationService::coveringUpdate);
+
+        return String.format("Migrated coveringCells for %d routes and %d operating areas", routes, operatingAreas);
+    }
+
+    /**
+     * Backfill the simplification pyramid (GeometryPyramid) from the GeoJSON polygon on routes and operating areas
+     * Until this has run, simplified list requests read the full polygon of these documents separately.
+     * @return summary of migrated documents
+     */
+    public String migrateSimplifiedAreas() {
+        long routes = backfillFromArea(Route.class, "simplifiedAreas", Route::getId, Route::getArea,
+                area -> new Update().set("simplifiedAreas", GeometryPyramid.build(area)));
+        long operatingAreas = backfillFromArea(OperatingArea.class, "simplifiedAreas", OperatingArea::getId, OperatingArea::getArea,
+                area -> new Update().set("simplifiedAreas", GeometryPyramid.build(area)));
+
+        return String.format("Migrated simplifiedAreas for %d routes and %d operating areas", routes, operatingAreas);
+    }
+
+    private long backfillProductTypes(String collectionName) {
+        Query query = new Query(Criteria.where("productTypes").exists(false));
+        query.fields().include("productType");
+
+        long migrated = 0;
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collectionName);
+        int pending = 0;
+
+        try (Stream<Document> documents = mongoTemplate.stream(query, Document.class, collectionName)) {
+            for (Document document : (Iterable<Document>) documents::iterator) {
+                bulk.updateOne(
+                        new Query(Criteria.where("_id").is(document.get("_id"))),
+                        new Update().set("productTypes",
+                                new ArrayList<>(ProductTypeHelper.parse(document.getString("productType")))));
+
+                if (++pending == BATCH_SIZE) {
+                    migrated += bulk.execute().getModifiedCount();
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collectionName);
+                    pending = 0;
+                }
+            }
+        }
+
+        if (pending > 0) {
+            migrated += bulk.execute().getModifiedCount();
+        }
+
+        log.info("Backfilled productTypes on {} documents in collection {}", migrated, collectionName);
+        return migrated;
+    }
+
+    /**
+     * Set a field derived from the GeoJSON polygon on every document that is missing it
+     */
+    private <T> long backfillFromArea(Class<T> entityClass, String field, Function<T, String> idGetter,
+                                      Function<T, GeoJsonPolygon> areaGetter, Function<GeoJsonPolygon, Update> update) {
+        Query query = new Query(Criteria.where(field).exists(false).and("area").exists(true));
+        query.fields().include("area");
+
+        long migrated = 0;
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entityClass);
+        int pending = 0;
+
+        try (Stream<T> documents = mongoTemplate.stream(query, entityClass)) {
+            for (T document : (Iterable<T>) documents::iterator) {
+                bulk.updateOne(
+                        new Query(Criteria.where("_id").is(idGetter.apply(document))),
+                        update.apply(areaGetter.apply(document)));
+
+                if (++pending == BATCH_SIZE) {
+                    migrated += bulk.execute().getModifiedCount();
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entityClass);
+                    pending = 0;
+                }
+            }
+        }
+
+        if (pending > 0) {
+            migrated += bulk.execute().getModifiedCount();
+        }
+
+        log.info("Backfilled {} on {} documents in collection {}", field, migrated, mongoTemplate.getCollectionName(entityClass));
+        return migrated;
+    }
+
+    private static Update coveringUpdate(GeoJsonPolygon area) {
+        CellCovering.Covering covering = CellCovering.cover(area);
+        return new Update().set("coveringCells", covering.cells()).set("interiorCells", covering.interiorCells());
+    }
+}
@@ -4,6 +4,10 @@ import com.app.route_app_api.entity.PostOffice;
 import com.app.route_app_api.entity.Route;
 import com.app.route_app_api.repository.PostOfficeRepository;
 import com.app.route_app_api.repository.RouteRepository;
+import com.app.route_app_api.util.CellCovering;
+import com.app.route_app_api.util.GeometryPyramid;
+import com.app.route_app_api.util.PackedGeometryCodec;
+import com.app.route_app_api.util.ProductTypeHelper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
@@ -25,6 +29,8 @@ public class DataSeedService {
 
     private final PostOfficeRepository postOfficeRepository;
     private final RouteRepository routeRepository;
+    private final RouteSpatialIndex routeSpatialIndex;
+    private final VectorTileService vectorTileService;
     private final Random random = new Random();
 
     private static final String[] COLORS = {
@@ -73,6 +79,10 @@ public class DataSeedService {
             log.info("Created {} routes for post office: {}", routes.size(), postOffice.getName());
         }
 
+        // Routes were saved directly through the repository - rebuild the spatial index on next lookup
+        routeSpatialIndex.invalidate();
+        vectorTileService.invalidateAll();
+
         return String.format("Successfully seeded %d routes for %d post offices",
                 totalRoutes, postOffices.size());
     }
@@ -84,6 +94,8 @@ public class DataSeedService {
         log.info("Clearing all data...");
         routeRepository.deleteAll();
         postOfficeRepository.deleteAll();
+        routeSpatialIndex.invalidate();
+        vectorTileService.invalidateAll();
         log.info("All data cleared");
     }
 
@@ -93,6 +105,8 @@ public class DataSeedService {
     public void clearRoutes() {
         log.info("Clearing all routes...");
         routeRepository.deleteAll();
+        routeSpatialIndex.invalidate();
+        vectorTileService.invalidateAll();
         log.info("All routes cleared");
     }
 
@@ -166,6 +180,7 @@ public class DataSeedService {
         for (int row = 0; row < 10; row++) {
             for (int col = 0; col < 20; col++) {
                 routeIndex++;
+                String productType = PRODUCT_TYPES[random.nextInt(PRODUCT_TYPES.length)];
 
                 // Tính toán vị trí góc dưới trái của mỗi ô
                 // Bắt đầu từ góc (-10, -5) để tạo lưới đối xứng quanh bưu cục
@@ -174,16 +189,22 @@ public class DataSeedService {
 
                 // Tạo polygon với nhiều hình dạng khác nhau nhưng vẫn lấp kín
                 GeoJsonPolygon polygon = createTilingPolygon(startLng, startLat, cellWidth, cellHeight, routeIndex, row, col);
+                CellCovering.Covering covering = CellCovering.cover(polygon);
 
                 Route route = Route.builder()
                         .code(postOffice.getCode() + "-R" + String.format("%03d", routeIndex))
                         .name("Tuyến " + postOffice.getName().replace("Bưu cục ", "") + " - " + routeIndex)
                         .postOfficeId(postOffice.getId())
                         .type(ROUTE_TYPES[random.nextInt(ROUTE_TYPES.length)])
-                        .productType(PRODUCT_TYPES[random.nextInt(PRODUCT_TYPES.length)])
+                        .productType(productType)
+                        .productTypes(ProductTypeHelper.parse(productType))
                         .staffMain(STAFF_NAMES[random.nextInt(STAFF_NAMES.length)])
                         .staffSub(routeIndex % 2 == 0 ? STAFF_NAMES[random.nextInt(STAFF_NAMES.length)] : null)
                         .area(polygon)
+                        .packedArea(PackedGeometryCodec.encode(polygon))
+                        .coveringCells(covering.cells())
+                        .interiorCells(covering.interiorCells())
+                        .simplifiedAreas(GeometryPyramid.build(polygon))
                         .createdAt(LocalDateTime.now())
                         .updatedAt(LocalDateTime.now())
                         .build();
@@ -0,0 +1,190 @@
+package com.app.route_app_api.service;
+
+import com.app.route_app_api.dto.ParseLocationResponse;
+import com.app.route_app_api.exception.GeocoderUnavailableException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Micro-batcher for ViettelPost geocoding
+ * Concurrent geocode requests arriving within a short window (or until the batch is full) are
+ * coalesced into one upstream call; each caller gets the result for its own address.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GeocodeBatcher {
+
+    private final ViettelPostLocationClient viettelPostLocationClient;
+
+    @Value("${app.geocode.batch.enabled:true}")
+    private boolean enabled;
+
+    // How long the first request of a batch waits for others to join
+    @Value("${app.geocode.batch.window-ms:10}")
+    private long windowMs;
+
+    @Value("${app.geocode.batch.max-size:50}")
+    private int maxBatchSize;
+
+    // Maximum number of upstream calls in flight (platform-thread mode)
+    @Value("${app.geocode.batch.max-concurrent:4}")
+    private int maxConcurrent;
+
+    @Value("${app.geocode.batch.timeout-ms:15000}")
+    private long timeoutMs;
+
+    // In virtual-thread mode upstream calls run on virtual threads (concurrency bounded by the HTTP connection pool)
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final Object lock = new Object();
+    private List<PendingGeocode> pending = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    private ScheduledExecutorService scheduler;
+    private ExecutorService upstreamExecutor;
+
+    @PostConstruct
+    public void init() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(namedThreads("geocode-batch-timer"));
+        upstreamExecutor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("geocode-batch-", 1).factory())
+                : Executors.newFixedThreadPool(maxConcurrent, namedThreads("geocode-batch"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        upstreamExecutor.shutdown();
+    }
+
+    /**
+     * Geocode an address, waiting for the batch it joins to complete
+     * @return geocoding result, or null if the API returned no result for the address
+     */
+    public ParseLocationResponse geocode(String address) {
+        if (!enabled) {
+            return viettelPostLocationClient.geocode(List.of(address)).get(0);
+        }
+        return await(submit(address), address);
+    }
+
+    /**
+     * Queue an address for the next upstream batch
+     */
+    public CompletableFuture<ParseLocationResponse> submit(String address) {
+        if (!enabled) {
+            return CompletableFuture.supplyAsync(() -> viettelPostLocationClient.geocode(List.of(address)).get(0),
+                    upstreamExecutor);
+        }
+
+        PendingGeocode request = new PendingGeocode(address, new CompletableFuture<>());
+        List<PendingGeocode> fullBatch = null;
+
+        synchronized (lock) {
+            pending.add(request);
+            if (pending.size() >= maxBatchSize) {
+                // Batch is full - send it now instead of waiting for the window
+                fullBatch = pending;
+                pending = new ArrayList<>();
+                if (scheduledFlush != null) {
+                    scheduledFlush.cancel(false);
+                    scheduledFlush = null;
+                }
+            } else if (scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flush, windowMs, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (fullBatch != null) {
+            dispatch(fullBatch);
+        }
+        return request.result();
+    }
+
+    /**
+     * Wait for a submitted geocode request, unwrapping its failure
+     */
+    public ParseLocationResponse await(CompletableFuture<ParseLocationResponse> result, String address) {
+        try {
+            return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("Failed to geocode address: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new GeocoderUnavailableException("Timed out geocoding address: " + address, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while geocoding address: " + address, e);
+        }
+    }
+
+    private void flush() {
+        List<PendingGeocode> batch;
+        synchronized (lock) {
+            batch = pending;
+            pending = new ArrayList<>();
+            scheduledFlush = null;
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    private void dispatch(List<PendingGeocode> batch) {
+        upstreamExecutor.execute(() -> execute(batch));
+    }
+
+    private void execute(List<PendingGeocode> batch) {
+        // The same address requested by several callers is sent once
+        List<String> addresses = batch.stream().map(PendingGeocode::address).distinct().toList();
+
+        try {
+            List<ParseLocationResponse> results = viettelPostLocationClient.geocode(addresses);
+
+            Map<String, ParseLocationResponse> byAddress = new HashMap<>();
+            for (int i = 0; i < addresses.size(); i++) {
+                byAddress.put(addresses.get(i), results.get(i));
+            }
+            batch.forEach(request -> request.result().complete(byAddress.get(request.address())));
+
+            log.debug("Geocoded batch of {} request(s) with {} distinct address(es)", batch.size(), addresses.size());
+        } catch (Exception e) {
+            batch.forEach(request -> request.result().completeExceptionally(e));
+        }
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record PendingGeocode(String address, CompletableFuture<ParseLocationResponse> result) {
+    }
+}
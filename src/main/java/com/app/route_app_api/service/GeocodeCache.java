@@ -0,0 +1,208 @@
+package com.app.route_app_api.service;
+
+import com.app.route_app_api.dto.GeocodeCacheStatsResponse;
+import com.app.route_app_api.dto.ParseLocationResponse;
+import com.app.route_app_api.entity.GeocodeCacheEntry;
+import com.app.route_app_api.repository.GeocodeCacheRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Cache of geocoding results (ViettelPost Location API) keyed by normalized address
+ * In-memory cache bounded by size and TTL, optionally backed by the geocode_cache collection
+ * so that results survive restarts. Cache failures never fail a geocoding request.
+ * Expired results are kept a while longer (stale-ttl-minutes) as a fallback for when the API is unavailable.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GeocodeCache {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern COMMA = Pattern.compile("\\s*,\\s*");
+
+    private final GeocodeCacheRepository geocodeCacheRepository;
+
+    @Value("${app.geocode.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.geocode.cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${app.geocode.cache.ttl-minutes:1440}")
+    private long ttlMinutes;
+
+    // How long expired results remain usable as a fallback when the geocoding API is unavailable
+    @Value("${app.geocode.cache.stale-ttl-minutes:10080}")
+    private long staleTtlMinutes;
+
+    // Also store results in MongoDB (geocode_cache collection)
+    @Value("${app.geocode.cache.persistent:false}")
+    private boolean persistent;
+
+    private final LongAdder persistentHits = new LongAdder();
+    private Cache<String, ParseLocationResponse> cache;
+    private Cache<String, ParseLocationResponse> staleCache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        staleCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(Math.max(ttlMinutes, staleTtlMinutes)))
+                .build();
+        log.info("Geocode cache initialized: enabled={}, maxSize={}, ttlMinutes={}, staleTtlMinutes={}, persistent={}",
+                enabled, maxSize, ttlMinutes, staleTtlMinutes, persistent);
+    }
+
+    /**
+     * True if lookups and writes may go to MongoDB (blocking)
+     */
+    public boolean isPersistent() {
+        return enabled && persistent;
+    }
+
+    /**
+     * Get the cached geocoding result of an address
+     * @return cached result, or null if the address has to be geocoded
+     */
+    public ParseLocationResponse get(String address) {
+        if (!enabled || address == null) {
+            return null;
+        }
+
+        String key = normalize(address);
+        ParseLocationResponse cached = cache.getIfPresent(key);
+        if (cached != null || !persistent) {
+            return cached;
+        }
+
+        ParseLocationResponse stored = findPersisted(key, LocalDateTime.now().minusMinutes(ttlMinutes));
+        if (stored != null) {
+            persistentHits.increment();
+            cache.put(key, stored);
+        }
+        return stored;
+    }
+
+    /**
+     * Get the last known geocoding result of an address, even if it has expired
+     * Only used as a fallback when the geocoding API is unavailable
+     * @return last known result, or null if the address was never geocoded (within stale-ttl-minutes)
+     */
+    public ParseLocationResponse getStale(String address) {
+        if (!enabled || address == null) {
+            return null;
+        }
+
+        String key = normalize(address);
+        ParseLocationResponse cached = staleCache.getIfPresent(key);
+        if (cached != null || !persistent) {
+            return cached;
+        }
+        return findPersisted(key, null);
+    }
+
+    /**
+     * Cache a successful geocoding result
+     */
+    public void put(String address, ParseLocationResponse location) {
+        if (!enabled || address == null || location == null) {
+            return;
+        }
+
+        String key = normalize(address);
+        cache.put(key, location);
+        staleCache.put(key, location);
+
+        if (persistent) {
+            try {
+                geocodeCacheRepository.save(GeocodeCacheEntry.builder()
+                        .id(key)
+                        .address(address)
+                        .location(location)
+                        .cachedAt(LocalDateTime.now())
+                        .build());
+            } catch (Exception e) {
+                log.warn("Could not persist geocode cache entry for address {}: {}", address, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Remove all cached results (memory and MongoDB)
+     */
+    public void clear() {
+        cache.invalidateAll();
+        staleCache.invalidateAll();
+        if (persistent) {
+            geocodeCacheRepository.deleteAll();
+        }
+        log.info("Geocode cache cleared");
+    }
+
+    public GeocodeCacheStatsResponse getStats() {
+        CacheStats stats = cache.stats();
+        long persistentHitCount = persistentHits.sum();
+        long lookups = stats.requestCount();
+
+        return GeocodeCacheStatsResponse.builder()
+                .enabled(enabled)
+                .persistent(persistent)
+                .size(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .persistentHitCount(persistentHitCount)
+                // A MongoDB hit is a miss of the in-memory cache
+                .missCount(stats.missCount() - persistentHitCount)
+                .hitRate(lookups == 0 ? 0.0 : (double) (stats.hitCount() + persistentHitCount) / lookups)
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+
+    /**
+     * Normalize an address for use as cache key
+     * Example: "  Số 1,Tràng Tiền ,  Hà Nội" -> "số 1, tràng tiền, hà nội"
+     * (Unicode NFC so precomposed and combining Vietnamese diacritics match, lower-cased, whitespace collapsed)
+     */
+    static String normalize(String address) {
+        String normalized = Normalizer.normalize(address, Normalizer.Form.NFC)
+                .trim()
+                .toLowerCase(Locale.ROOT);
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ");
+        return COMMA.matcher(normalized).replaceAll(", ");
+    }
+
+    /**
+     * @param cachedAfter skip entries cached before this time (null = any age)
+     */
+    private ParseLocationResponse findPersisted(String key, LocalDateTime cachedAfter) {
+        try {
+            return geocodeCacheRepository.findById(key)
+                    // The TTL index is purged periodically - skip entries that already expired
+                    .filter(entry -> cachedAfter == null
+                            || (entry.getCachedAt() != null && entry.getCachedAt().isAfter(cachedAfter)))
+                    .map(GeocodeCacheEntry::getLocation)
+                    .orElse(null);
+        } catch (Exception e) {
+            log.warn("Could not read geocode cache entry {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+}
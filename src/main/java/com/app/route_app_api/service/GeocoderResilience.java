@@ -0,0 +1,509 @@
+package com.app.route_app_api.service;
+
+import com.app.route_app_api.dto.GeocoderStatusResponse;
+import com.app.route_app_api.exception.GeocoderUnavailableException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Latency-aware resilience layer around the geocoding API (ViettelPost Location API)
+ * - circuit breaker: once too many recent calls failed or were slow, calls are rejected immediately
+ *   for open-ms instead of each one waiting for the HTTP timeout
+ * - bulkhead: bounded number of calls in flight, excess callers are rejected after a short wait; a call holds its
+ *   slot until all of its attempts have finished, including those still running after the caller gave up
+ * - hedging: an attempt slower than the recent p95 latency gets a second, parallel attempt (first answer wins);
+ *   a failed attempt is retried right away
+ * - timeout: callers give up after timeout-ms even if the HTTP read timeout is longer
+ * All of these raise GeocoderUnavailableException, so that callers can fall back to cached results.
+ * Blocking callers (RestTemplate) use call(), reactive callers (WebClient) use callAsync().
+ */
+@Slf4j
+@Component
+public class GeocoderResilience {
+
+    // Hedge delay falls back to max-delay-ms until this many latencies have been recorded
+    private static final int MIN_LATENCY_SAMPLES = 20;
+
+    @Value("${app.geocode.resilience.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.geocode.resilience.timeout-ms:3000}")
+    private long timeoutMs;
+
+    // Circuit breaker: failure rate over the last window-size calls (slow calls count as failures)
+    @Value("${app.geocode.resilience.circuit-breaker.window-size:20}")
+    private int windowSize;
+
+    @Value("${app.geocode.resilience.circuit-breaker.minimum-calls:10}")
+    private int minimumCalls;
+
+    @Value("${app.geocode.resilience.circuit-breaker.failure-rate-threshold:50}")
+    private int failureRateThreshold;
+
+    @Value("${app.geocode.resilience.circuit-breaker.slow-call-ms:2000}")
+    private long slowCallMs;
+
+    @Value("${app.geocode.resilience.circuit-breaker.open-ms:30000}")
+    private long openMs;
+
+    // Trial calls let through after open-ms; all must succeed to close the circuit
+    @Value("${app.geocode.resilience.circuit-breaker.half-open-calls:3}")
+    private int halfOpenCalls;
+
+    @Value("${app.geocode.resilience.bulkhead.max-concurrent:20}")
+    private int maxConcurrent;
+
+    @Value("${app.geocode.resilience.bulkhead.max-wait-ms:100}")
+    private long maxWaitMs;
+
+    // Attempts per call, including hedges and retries (1 = no hedging)
+    @Value("${app.geocode.resilience.hedge.max-attempts:2}")
+    private int maxAttempts;
+
+    @Value("${app.geocode.resilience.hedge.percentile:95}")
+    private double hedgePercentile;
+
+    @Value("${app.geocode.resilience.hedge.min-delay-ms:50}")
+    private long hedgeMinDelayMs;
+
+    @Value("${app.geocode.resilience.hedge.max-delay-ms:1000}")
+    private long hedgeMaxDelayMs;
+
+    @Value("${app.geocode.resilience.hedge.latency-window:200}")
+    private int latencyWindowSize;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final LongAdder rejectedCalls = new LongAdder();
+    private final LongAdder hedgedAttempts = new LongAdder();
+
+    private CircuitBreaker circuitBreaker;
+    private Semaphore bulkhead;
+    private LatencyWindow latencies;
+    private ScheduledExecutorService scheduler;
+    private ExecutorService attemptExecutor;
+
+    @PostConstruct
+    public void init() {
+        circuitBreaker = new CircuitBreaker();
+        bulkhead = new Semaphore(maxConcurrent);
+        latencies = new LatencyWindow(latencyWindowSize);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "geocoder-hedge-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger counter = new AtomicInteger();
+        attemptExecutor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("geocoder-call-", 1).factory())
+                // Bounded by the bulkhead: a slot is held until every attempt of its call has finished,
+                // so at most max-concurrent x max-attempts threads
+                : Executors.newCachedThreadPool(runnable -> {
+                    Thread thread = new Thread(runnable, "geocoder-call-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        attemptExecutor.shutdown();
+    }
+
+    /**
+     * Call the geocoding API through the circuit breaker, bulkhead and hedging
+     * @param upstream the API call; may be invoked more than once, so it must be idempotent
+     * @throws GeocoderUnavailableException if the call was rejected, timed out or failed on every attempt
+     */
+    public <T> T call(Supplier<T> upstream) {
+        if (!enabled) {
+            return upstream.get();
+        }
+
+        if (!circuitBreaker.tryAcquire()) {
+            rejectedCalls.increment();
+            throw new GeocoderUnavailableException("Geocoding API circuit breaker is open - try again later");
+        }
+        try {
+            if (!bulkhead.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS)) {
+                circuitBreaker.release();
+                rejectedCalls.increment();
+                throw new GeocoderUnavailableException("Too many concurrent geocoding API calls - try again later");
+            }
+        } catch (InterruptedException e) {
+            circuitBreaker.release();
+            Thread.currentThread().interrupt();
+            throw new GeocoderUnavailableException("Interrupted while waiting to call the geocoding API", e);
+        }
+
+        long start = System.nanoTime();
+        HedgedCall<T> call = new HedgedCall<>(() -> CompletableFuture.supplyAsync(upstream, attemptExecutor));
+        try {
+            T result = call.start().get(timeoutMs, TimeUnit.MILLISECONDS);
+            circuitBreaker.onResult(elapsedMs(start) >= slowCallMs);
+            return result;
+        } catch (ExecutionException e) {
+            throw failed(e.getCause());
+        } catch (TimeoutException e) {
+            throw timedOut(e);
+        } catch (InterruptedException e) {
+            circuitBreaker.release();
+            Thread.currentThread().interrupt();
+            throw new GeocoderUnavailableException("Interrupted while calling the geocoding API", e);
+        } finally {
+            // Attempts still in flight finish on their own (HTTP read timeout), their results are ignored
+            call.abandon().thenRun(bulkhead::release);
+        }
+    }
+
+    /**
+     * Non-blocking variant of call() for reactive callers: same circuit breaker, hedging and timeout,
+     * but the bulkhead rejects right away instead of waiting max-wait-ms for a free slot
+     * @param upstream the API call; subscribed once per attempt, so it must be idempotent
+     * @return the first successful attempt, or GeocoderUnavailableException as error signal
+     */
+    public <T> Mono<T> callAsync(Supplier<Mono<T>> upstream) {
+        if (!enabled) {
+            return Mono.defer(upstream);
+        }
+
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquire()) {
+                rejectedCalls.increment();
+                return Mono.error(new GeocoderUnavailableException("Geocoding API circuit breaker is open - try again later"));
+            }
+            if (!bulkhead.tryAcquire()) {
+                circuitBreaker.release();
+                rejectedCalls.increment();
+                return Mono.error(new GeocoderUnavailableException("Too many concurrent geocoding API calls - try again later"));
+            }
+
+            long start = System.nanoTime();
+            HedgedCall<T> call = new HedgedCall<>(() -> Mono.defer(upstream).toFuture());
+            // Given up before the outcome is delivered (doFinally would run after it), exactly once;
+            // the bulkhead slot itself is released once the attempts have finished
+            AtomicBoolean released = new AtomicBoolean(false);
+            return Mono.fromFuture(call.start(), true)
+                    .timeout(Duration.ofMillis(timeoutMs))
+                    .doOnSuccess(result -> circuitBreaker.onResult(elapsedMs(start) >= slowCallMs))
+                    .onErrorMap(error -> error instanceof TimeoutException timeout ? timedOut(timeout) : failed(error))
+                    .doOnTerminate(() -> {
+                        if (released.compareAndSet(false, true)) {
+                            call.abandon().thenRun(bulkhead::release);
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        // Subscriber went away before the outcome was known - the call is not counted
+                        if (released.compareAndSet(false, true)) {
+                            circuitBreaker.release();
+                            call.abandon().thenRun(bulkhead::release);
+                        }
+                    });
+        });
+    }
+
+    public GeocoderStatusResponse getStatus() {
+        return circuitBreaker.status()
+                .enabled(enabled)
+                .inFlightCalls(maxConcurrent - bulkhead.availablePermits())
+                .maxConcurrentCalls(maxConcurrent)
+                .rejectedCalls(rejectedCalls.sum())
+                .hedgedAttempts(hedgedAttempts.sum())
+                .hedgeDelayMs(hedgeDelayMs())
+                .build();
+    }
+
+    /**
+     * Delay before a hedged attempt: the configured percentile of recent successful attempt latencies
+     */
+    long hedgeDelayMs() {
+        long percentile = latencies.percentile(hedgePercentile);
+        return percentile < 0 ? hedgeMaxDelayMs : Math.clamp(percentile, hedgeMinDelayMs, hedgeMaxDelayMs);
+    }
+
+    /**
+     * Record a failed call
+     * @return the exception to surface to the caller
+     */
+    private RuntimeException failed(Throwable cause) {
+        if (!isUpstreamFailure(cause)) {
+            // The request itself was rejected (4xx) - the API is healthy
+            circuitBreaker.onResult(false);
+            return cause instanceof RuntimeException runtimeException ? runtimeException : new RuntimeException(cause);
+        }
+        circuitBreaker.onResult(true);
+        return new GeocoderUnavailableException("Geocoding API call failed: " + cause.getMessage(), cause);
+    }
+
+    private GeocoderUnavailableException timedOut(TimeoutException cause) {
+        circuitBreaker.onResult(true);
+        return new GeocoderUnavailableException("Geocoding API did not respond within " + timeoutMs + " ms", cause);
+    }
+
+    /**
+     * Client errors (4xx other than 429) mean the request is bad, not that the API is unhealthy
+     */
+    private static boolean isUpstreamFailure(Throwable error) {
+        HttpStatusCode status = error instanceof HttpClientErrorException clientError ? clientError.getStatusCode()
+                : error instanceof WebClientResponseException responseError ? responseError.getStatusCode()
+                : null;
+        return status == null || !status.is4xxClientError() || status.isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * One logical call: up to max-attempts parallel attempts, completed by the first success
+     */
+    private final class HedgedCall<T> {
+        // Starts one attempt (on the attempt executor, or as a WebClient subscription)
+        private final Supplier<CompletableFuture<T>> attempt;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        // Completed once the result is settled and no launched attempt is still running
+        private final CompletableFuture<Void> attemptsDone = new CompletableFuture<>();
+        private int launched; // guarded by this
+        private int failed; // guarded by this
+        private int finished; // guarded by this
+
+        private HedgedCall(Supplier<CompletableFuture<T>> attempt) {
+            this.attempt = attempt;
+        }
+
+        private CompletableFuture<T> start() {
+            launch();
+            if (maxAttempts > 1) {
+                ScheduledFuture<?> hedge = scheduler.schedule(() -> {
+                    if (!result.isDone()) {
+                        hedgedAttempts.increment();
+                        launch();
+                    }
+                }, hedgeDelayMs(), TimeUnit.MILLISECONDS);
+                result.whenComplete((value, error) -> hedge.cancel(false));
+            }
+            return result;
+        }
+
+        private void launch() {
+            synchronized (this) {
+                if (result.isDone() || launched >= maxAttempts) {
+                    return;
+                }
+                launched++;
+            }
+
+            long start = System.nanoTime();
+            attempt.get().whenComplete((value, error) -> {
+                synchronized (this) {
+                    finished++;
+                }
+                if (error == null) {
+                    latencies.record(elapsedMs(start));
+                    result.complete(value);
+                } else {
+                    onFailure(error instanceof CompletionException ? error.getCause() : error);
+                }
+                checkAttemptsDone();
+            });
+        }
+
+        /**
+         * Stop waiting for the result (no further attempts are launched)
+         * @return completed once the attempts still in flight have finished
+         */
+        private CompletableFuture<Void> abandon() {
+            result.cancel(false);
+            checkAttemptsDone();
+            return attemptsDone;
+        }
+
+        private void checkAttemptsDone() {
+            boolean done;
+            synchronized (this) {
+                // No attempt is launched once the result is done, so launched no longer changes
+                done = result.isDone() && finished == launched;
+            }
+            if (done) {
+                attemptsDone.complete(null);
+            }
+        }
+
+        private void onFailure(Throwable error) {
+            boolean retry;
+            boolean lastAttempt;
+            synchronized (this) {
+                failed++;
+                retry = isUpstreamFailure(error) && launched < maxAttempts;
+                lastAttempt = failed == launched;
+            }
+
+            if (retry) {
+                launch();
+            } else if (lastAttempt || !isUpstreamFailure(error)) {
+                result.completeExceptionally(error);
+            }
+        }
+    }
+
+    private enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * Count-based circuit breaker (no blocking inside the monitor, so safe on virtual threads)
+     */
+    private final class CircuitBreaker {
+        private final boolean[] outcomes = new boolean[Math.max(1, windowSize)]; // true = failed or slow
+        private State state = State.CLOSED;
+        private int recorded;
+        private int next;
+        private int failures;
+        private long openedAt;
+        private int halfOpenInFlight;
+        private int halfOpenSuccesses;
+
+        synchronized boolean tryAcquire() {
+            if (state == State.OPEN) {
+                if (System.currentTimeMillis() - openedAt < openMs) {
+                    return false;
+                }
+                transition(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                if (halfOpenInFlight >= halfOpenCalls) {
+                    return false;
+                }
+                halfOpenInFlight++;
+            }
+            return true;
+        }
+
+        /**
+         * Give back a permit that was not used for a call
+         */
+        synchronized void release() {
+            if (state == State.HALF_OPEN && halfOpenInFlight > 0) {
+                halfOpenInFlight--;
+            }
+        }
+
+        synchronized void onResult(boolean failure) {
+            switch (state) {
+                case HALF_OPEN -> {
+                    if (failure) {
+                        transition(State.OPEN);
+                    } else if (++halfOpenSuccesses >= halfOpenCalls) {
+                        transition(State.CLOSED);
+                    }
+                }
+                case CLOSED -> {
+                    if (recorded == outcomes.length) {
+                        failures -= outcomes[next] ? 1 : 0;
+                    } else {
+                        recorded++;
+                    }
+                    outcomes[next] = failure;
+                    failures += failure ? 1 : 0;
+                    next = (next + 1) % outcomes.length;
+
+                    if (recorded >= minimumCalls && failures * 100 >= failureRateThreshold * recorded) {
+                        transition(State.OPEN);
+                    }
+                }
+                case OPEN -> {
+                    // Result of a call started before the circuit opened
+                }
+            }
+        }
+
+        synchronized GeocoderStatusResponse.GeocoderStatusResponseBuilder status() {
+            return GeocoderStatusResponse.builder()
+                    .circuitState(state.name())
+                    .recentCalls(recorded)
+                    .failureRate(recorded == 0 ? 0.0 : (double) failures / recorded);
+        }
+
+        private void transition(State to) {
+            if (to == State.OPEN) {
+                log.warn("Geocoding API circuit breaker {} -> OPEN ({}/{} recent calls failed or slow), rejecting calls for {} ms",
+                        state, failures, recorded, openMs);
+            } else {
+                log.info("Geocoding API circuit breaker {} -> {}", state, to);
+            }
+            state = to;
+            recorded = 0;
+            next = 0;
+            failures = 0;
+            halfOpenInFlight = 0;
+            halfOpenSuccesses = 0;
+            if (to == State.OPEN) {
+                openedAt = System.currentTimeMillis();
+            }
+        }
+    }
+
+    /**
+     * Ring buffer of recent successful attempt latencies
+     */
+    private static final class LatencyWindow {
+        private final long[] samples;
+        private int count;
+        private int next;
+
+        private LatencyWindow(int size) {
+            this.samples = new long[Math.max(1, size)];
+        }
+
+        synchronized void record(long latencyMs) {
+            samples[next] = latencyMs;
+            next = (next + 1) % samples.length;
+            if (count < samples.length) {
+                count++;
+            }
+        }
+
+        /**
+         * @return latency percentile in ms, or -1 if too few samples were recorded
+         */
+        long percentile(double percentile) {
+            long[] sorted;
+            synchronized (this) {
+                if (count < Math.min(MIN_LATENCY_SAMPLES, samples.length)) {
+                    return -1;
+                }
+                sorted = Arrays.copyOf(samples, count);
+            }
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+            return sorted[Math.clamp(index, 0, sorted.length - 1)];
+        }
+    }
+}
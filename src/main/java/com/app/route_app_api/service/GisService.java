@@ -1,10 +1,24 @@
 package com.app.route_app_api.service;
 
+import com.app.route_app_api.dto.PointInPolygonRequest;
 import com.app.route_app_api.dto.PointInPolygonResponse;
 import com.app.route_app_api.entity.PostOffice;
 import com.app.route_app_api.entity.Route;
+import com.app.route_app_api.exception.BusinessRuleException;
+import com.app.route_app_api.util.CellCovering;
+import com.app.route_app_api.util.PackedGeometryCodec;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.algorithm.locate.SimplePointInAreaLocator;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Location;
+import org.locationtech.jts.geom.Polygon;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.geo.Point;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
@@ -12,6 +26,9 @@ import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -25,6 +42,17 @@ import java.util.stream.Collectors;
 public class GisService {
 
     private final MongoTemplate mongoTemplate;
+    private final RouteSpatialIndex routeSpatialIndex;
+    private final ObjectMapper objectMapper;
+    private final ServiceMetrics serviceMetrics;
+
+    // Maximum number of points in a JSON array batch (NDJSON batches are streamed and not limited)
+    @Value("${app.gis.check-points.max-batch-size:100000}")
+    private int maxBatchSize;
+
+    // MongoDB point lookups match the point's cells against the route cell covering instead of $geoIntersects
+    @Value("${app.gis.cell-covering.enabled:true}")
+    private boolean cellCoveringEnabled;
 
     /**
      * Check which routes contain the given point
@@ -35,60 +63,213 @@ public class GisService {
 
     /**
      * Check which routes contain the given point with optional product type filter
+     * Served from the in-memory route index; falls back to a MongoDB query (cell covering or $geoIntersects)
+     * when the index is disabled or cannot be loaded
      */
     public PointInPolygonResponse checkPointInPolygon(double latitude, double longitude, String productType) {
         log.info("Checking point ({}, {}) in polygon with productType: {}", latitude, longitude, productType);
 
-        // Create GeoJSON point for MongoDB query
-        GeoJsonPoint point = new GeoJsonPoint(longitude, latitude);
+        PointInPolygonResponse response = checkPoint(latitude, longitude, productType, routeSpatialIndex.isAvailable());
 
-        // Build query criteria
-        Criteria criteria = Criteria.where("area").intersects(point);
+        log.info("Found {} matching routes", response.getMatchingRoutes().size());
+        return response;
+    }
 
-        // Add product type filter if specified
-        if (productType != null && !productType.trim().isEmpty()) {
-            // Check if productType contains the specified type (handle semicolon-separated values)
-            // Use word boundary or semicolon to match exact product type
-            // Pattern: (^|;)HH(;|$) matches HH at start, end, or between semicolons
-            String pattern = "(^|;)" + productType.trim() + "(;|$)";
-            criteria = criteria.and("productType").regex(pattern, "i");
+    /**
+     * Check a batch of points (each with optional product type filter) in one pass
+     * Results are returned in input order
+     */
+    public List<PointInPolygonResponse> checkPointsInPolygon(List<PointInPolygonRequest> points) {
+        validateBatch(points);
+
+        long start = System.currentTimeMillis();
+        boolean useIndex = routeSpatialIndex.isAvailable();
+
+        List<PointInPolygonResponse> responses = new ArrayList<>(points.size());
+        for (PointInPolygonRequest point : points) {
+            responses.add(checkPoint(point.getLatitude(), point.getLongitude(), point.getProductType(), useIndex));
         }
 
-        Query query = new Query(criteria);
+        log.info("Checked {} points in {} ms (index: {})", points.size(), System.currentTimeMillis() - start, useIndex);
+        return responses;
+    }
 
-        List<Route> matchingRoutes = mongoTemplate.find(query, Route.class);
+    /**
+     * Check a stream of points read as NDJSON (one PointInPolygonRequest per line) and write
+     * one PointInPolygonResponse per line in input order, without holding the batch in memory
+     * Points without coordinates (including a literal null line) are answered with found=false.
+     * @return number of points checked
+     */
+    public long checkPointsInPolygon(InputStream inputStream, OutputStream outputStream) throws IOException {
+        long start = System.currentTimeMillis();
+        boolean useIndex = routeSpatialIndex.isAvailable();
+
+        long count = 0;
+        ObjectReader reader = objectMapper.readerFor(PointInPolygonRequest.class);
+        try (JsonParser points = objectMapper.createParser(inputStream);
+             // The response stream is owned by the caller - closing the writer must not close it
+             SequenceWriter writer = objectMapper
+                     .writerFor(PointInPolygonResponse.class)
+                     .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                     .withRootValueSeparator("\n")
+                     .writeValues(outputStream)) {
+            while (points.nextToken() != null) {
+                // Read value by value rather than with a MappingIterator, which rejects a "null" line:
+                // it is read as a null point here
+                PointInPolygonRequest point = reader.readValue(points);
+                if (point == null || point.getLatitude() == null || point.getLongitude() == null) {
+                    writer.write(notChecked(point));
+                } else {
+                    writer.write(checkPoint(point.getLatitude(), point.getLongitude(), point.getProductType(), useIndex));
+                }
+                count++;
+            }
+        }
+        if (count > 0) {
+            outputStream.write('\n');
+        }
 
-        log.info("Found {} matching routes", matchingRoutes.size());
+        log.info("Checked {} streamed points in {} ms (index: {})", count, System.currentTimeMillis() - start, useIndex);
+        return count;
+    }
 
-        if (matchingRoutes.isEmpty()) {
-            return PointInPolygonResponse.builder()
-                    .found(false)
-                    .latitude(latitude)
-                    .longitude(longitude)
-                    .matchingRoutes(new ArrayList<>())
-                    .build();
+    /**
+     * Validate a JSON array batch (size limit, coordinates present)
+     */
+    void validateBatch(List<PointInPolygonRequest> points) {
+        if (points.size() > maxBatchSize) {
+            throw new BusinessRuleException("Too many points: " + points.size()
+                    + " (maximum " + maxBatchSize + " per request, use application/x-ndjson for larger batches)");
         }
+        for (int i = 0; i < points.size(); i++) {
+            PointInPolygonRequest point = points.get(i);
+            if (point == null || point.getLatitude() == null || point.getLongitude() == null) {
+                throw new BusinessRuleException("Latitude and longitude are required (point at index " + i + ")");
+            }
+        }
+    }
 
-        // Map routes to response
-        List<PointInPolygonResponse.RouteInfo> routeInfos = matchingRoutes.stream()
+    private PointInPolygonResponse checkPoint(double latitude, double longitude, String productType, boolean useIndex) {
+        long start = System.nanoTime();
+        List<PointInPolygonResponse.RouteInfo> routeInfos = useIndex
+                ? findRoutesInIndex(latitude, longitude, productType)
+                : findRoutesInDatabase(latitude, longitude, productType);
+        serviceMetrics.recordCheckPoint(productType, useIndex, routeInfos.size(), System.nanoTime() - start);
+
+        return toResponse(latitude, longitude, routeInfos);
+    }
+
+    /**
+     * Point-in-polygon lookup in the in-memory route index
+     */
+    List<PointInPolygonResponse.RouteInfo> findRoutesInIndex(double latitude, double longitude, String productType) {
+        return routeSpatialIndex.findContaining(longitude, latitude, productType).stream()
                 .map(route -> PointInPolygonResponse.RouteInfo.builder()
-                        .id(route.getId())
-                        .code(route.getCode())
-                        .name(route.getName())
-                        .type(route.getType().name())
-                        .productType(route.getProductType())
-                        .color(route.getColor())
+                        .id(route.id())
+                        .code(route.code())
+                        .name(route.name())
+                        .type(route.type() != null ? route.type().name() : null)
+                        .productType(route.productType())
+                        .color(route.color())
                         .build())
                 .collect(Collectors.toList());
+    }
+
+    /**
+     * Point-in-polygon lookup in MongoDB
+     */
+    private List<PointInPolygonResponse.RouteInfo> findRoutesInDatabase(double latitude, double longitude, String productType) {
+        List<Route> candidates = mongoTemplate.find(routesContainingQuery(latitude, longitude, productType), Route.class);
+
+        // Map routes to response
+        return candidates.stream()
+                .filter(route -> containsPoint(route, latitude, longitude))
+                .map(GisService::toRouteInfo)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Query for the routes containing the point: with the cell covering, an exact match of the point's
+     * ancestor cells on the coveringCells multikey index, returning candidates (see containsPoint) without
+     * the GeoJSON polygon; otherwise $geoIntersects on the 2dsphere index, returning the matches.
+     * Routes not yet migrated to the covering or the packed polygon are matched with $geoIntersects either way.
+     */
+    Query routesContainingQuery(double latitude, double longitude, String productType) {
+        GeoJsonPoint point = new GeoJsonPoint(longitude, latitude);
+
+        // Build query criteria
+        Criteria criteria = cellCoveringEnabled
+                ? new Criteria().orOperator(
+                        Criteria.where("coveringCells").in(CellCovering.pointCells(longitude, latitude))
+                                .and("packedArea").exists(true),
+                        Criteria.where("coveringCells").exists(false).and("area").intersects(point),
+                        Criteria.where("packedArea").exists(false).and("area").intersects(point))
+                : Criteria.where("area").intersects(point);
+
+        // Add product type filter if specified (normalized productTypes array, multikey index)
+        if (productType != null && !productType.trim().isEmpty()) {
+            criteria = criteria.and("productTypes").is(productType.trim().toUpperCase());
+        }
+
+        Query query = new Query(criteria);
+        if (cellCoveringEnabled) {
+            query.fields().exclude("area", "coveringCells", "simplifiedAreas");
+        }
+        return query;
+    }
+
+    /**
+     * Exact check of a route returned by routesContainingQuery (boundary included, like $geoIntersects)
+     * Only candidates matched through a boundary cell of the covering need the polygon test; routes without
+     * the covering or the packed polygon were matched by $geoIntersects.
+     */
+    boolean containsPoint(Route route, double latitude, double longitude) {
+        if (!cellCoveringEnabled || route.getInteriorCells() == null || route.getPackedArea() == null
+                || CellCovering.containsAny(route.getInteriorCells(), longitude, latitude)) {
+            return true;
+        }
+        try {
+            Polygon polygon = PackedGeometryCodec.toJtsPolygon(route.getPackedArea(), route.getArea());
+            return SimplePointInAreaLocator.locate(new Coordinate(longitude, latitude), polygon) != Location.EXTERIOR;
+        } catch (Exception e) {
+            log.warn("Skipping route {} (code: {}) in point lookup - invalid polygon: {}",
+                    route.getId(), route.getCode(), e.getMessage());
+            return false;
+        }
+    }
+
+    static PointInPolygonResponse.RouteInfo toRouteInfo(Route route) {
+        return PointInPolygonResponse.RouteInfo.builder()
+                .id(route.getId())
+                .code(route.getCode())
+                .name(route.getName())
+                .type(route.getType().name())
+                .productType(route.getProductType())
+                .color(route.getColor())
+                .build();
+    }
 
+    static PointInPolygonResponse toResponse(double latitude, double longitude, List<PointInPolygonResponse.RouteInfo> routeInfos) {
         return PointInPolygonResponse.builder()
-                .found(true)
+                .found(!routeInfos.isEmpty())
                 .latitude(latitude)
                 .longitude(longitude)
                 .matchingRoutes(routeInfos)
                 .build();
     }
 
+    /**
+     * Answer for a streamed point without coordinates
+     */
+    static PointInPolygonResponse notChecked(PointInPolygonRequest point) {
+        return PointInPolygonResponse.builder()
+                .found(false)
+                .latitude(point != null ? point.getLatitude() : null)
+                .longitude(point != null ? point.getLongitude() : null)
+                .matchingRoutes(List.of())
+                .build();
+    }
+
     /**
      * Find nearest post office to a given point
      */
@@ -0,0 +1,97 @@
+package com.app.route_app_api.service;
+
+import com.app.route_app_api.entity.OperatingArea;
+import com.app.route_app_api.util.PackedGeometryCodec;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Cache of prepared operating area geometries used by route containment validation
+ * Each entry holds the prepared polygon and a version buffered by the tolerance distance, so that
+ * a route write is checked with prepared predicates instead of converting and overlaying the polygon.
+ * Entries are keyed by operating area id and rebuilt when the area's updatedAt changes
+ * (covers updates made by other instances); OperatingAreaService evicts them on update and delete.
+ */
+@Slf4j
+@Component
+public class OperatingAreaGeometryCache {
+
+    @Value("${app.gis.operating-area-geometry-cache.max-size:1000}")
+    private long maxSize;
+
+    // Buffer distance in degrees (1e-7 ~ 1 cm) for routes drawn along the operating area boundary
+    @Value("${app.gis.operating-area-geometry-cache.tolerance:1e-7}")
+    private double tolerance;
+
+    private Cache<String, OperatingAreaGeometry> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * Prepared geometry of an operating area, built on first use
+     */
+    public OperatingAreaGeometry get(OperatingArea operatingArea) {
+        if (operatingArea.getId() == null) {
+            return build(operatingArea);
+        }
+
+        OperatingAreaGeometry cached = cache.getIfPresent(operatingArea.getId());
+        if (cached != null && Objects.equals(cached.updatedAt(), operatingArea.getUpdatedAt())) {
+            return cached;
+        }
+
+        OperatingAreaGeometry built = build(operatingArea);
+        cache.put(operatingArea.getId(), built);
+        return built;
+    }
+
+    /**
+     * Evict an operating area after it has been updated or deleted
+     */
+    public void invalidate(String operatingAreaId) {
+        cache.invalidate(operatingAreaId);
+    }
+
+    private OperatingAreaGeometry build(OperatingArea operatingArea) {
+        Polygon polygon = PackedGeometryCodec.toJtsPolygon(operatingArea.getPackedArea(), operatingArea.getArea());
+        Geometry buffered = polygon.buffer(tolerance);
+
+        log.debug("Prepared geometry for operating area {} ({})", operatingArea.getId(), operatingArea.getName());
+        return new OperatingAreaGeometry(
+                operatingArea.getUpdatedAt(),
+                polygon,
+                PreparedGeometryFactory.prepare(polygon),
+                PreparedGeometryFactory.prepare(buffered),
+                buffered.getArea() - polygon.getArea());
+    }
+
+    /**
+     * Prepared operating area polygon
+     * @param buffered the polygon grown by the tolerance distance
+     * @param toleranceBandArea area of the band between the polygon and its buffered version: an upper bound
+     *                          on the area outside the polygon of any geometry the buffered version covers
+     */
+    public record OperatingAreaGeometry(
+            LocalDateTime updatedAt,
+            Polygon polygon,
+            PreparedGeometry prepared,
+            PreparedGeometry buffered,
+            double toleranceBandArea) {
+    }
+}
@@ -3,6 +3,8 @@ package com.app.route_app_api.service;
 import com.app.route_app_api.dto.OperatingAreaRequest;
 import com.app.route_app_api.dto.OperatingAreaResponse;
 import com.app.route_app_api.dto.OperatingAreaStatusResponse;
+import com.app.route_app_api.dto.GeometryResolution;
+import com.app.route_app_api.dto.ResponseView;
 import com.app.route_app_api.entity.OperatingArea;
 import com.app.route_app_api.entity.PostOffice;
 import com.app.route_app_api.exception.BusinessRuleException;
@@ -10,22 +12,31 @@ import com.app.route_app_api.exception.ResourceNotFoundException;
 import com.app.route_app_api.repository.OperatingAreaRepository;
 import com.app.route_app_api.repository.PostOfficeRepository;
 import com.app.route_app_api.repository.RouteRepository;
+import com.app.route_app_api.util.GeoJsonHelper;
+import com.app.route_app_api.util.CellCovering;
+import com.app.route_app_api.util.GeometryPyramid;
+import com.app.route_app_api.util.PackedGeometryCodec;
+import com.app.route_app_api.util.PolygonOverlapHelper;
+import com.app.route_app_api.util.ProductTypeHelper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.locationtech.jts.geom.Coordinate;
-import org.locationtech.jts.geom.GeometryFactory;
-import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -41,6 +52,10 @@ public class OperatingAreaService {
     private final PostOfficeRepository postOfficeRepository;
     private final RouteRepository routeRepository;
     private final MongoTemplate mongoTemplate;
+    private final OperatingAreaSpatialIndex operatingAreaSpatialIndex;
+    private final OperatingAreaGeometryCache operatingAreaGeometryCache;
+    private final ServiceMetrics serviceMetrics;
+    private final VectorTileService vectorTileService;
 
     @Transactional
     public OperatingAreaResponse createOperatingArea(OperatingAreaRequest request) {
@@ -54,16 +69,24 @@ public class OperatingAreaService {
         // Check for overlap with existing operating areas that have overlapping product types
         validateOperatingAreaOverlap(request.getArea(), request.getProductType(), null);
 
+        CellCovering.Covering covering = CellCovering.cover(request.getArea());
         OperatingArea operatingArea = OperatingArea.builder()
                 .name(request.getName())
                 .postOfficeId(request.getPostOfficeId())
                 .productType(request.getProductType())
+                .productTypes(ProductTypeHelper.parse(request.getProductType()))
                 .area(request.getArea())
+                .packedArea(PackedGeometryCodec.encode(request.getArea()))
+                .coveringCells(covering.cells())
+                .interiorCells(covering.interiorCells())
+                .simplifiedAreas(GeometryPyramid.build(request.getArea()))
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .build();
 
         OperatingArea saved = operatingAreaRepository.save(operatingArea);
+        operatingAreaSpatialIndex.upsert(saved);
+        vectorTileService.invalidate(VectorTileService.Layer.OPERATING_AREAS, saved.getArea());
         log.info("Created operating area with id: {}", saved.getId());
 
         return mapToResponse(saved);
@@ -81,9 +104,8 @@ public class OperatingAreaService {
     public List<OperatingAreaResponse> getAllOperatingAreas() {
         log.info("Getting all operating areas");
 
-        return operatingAreaRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        // Projected like the filtered queries, so that the internal copies of the polygon are not read
+        return mapToResponses(mongoTemplate.find(ResponseView.FULL.applyTo(new Query()), OperatingArea.class));
     }
 
     /**
@@ -91,103 +113,52 @@ public class OperatingAreaService {
      * Supports filtering by postOfficeId AND/OR productType AND/OR operatingAreaId
      */
     public List<OperatingAreaResponse> getOperatingAreas(String postOfficeId, String productType, String operatingAreaId) {
-        log.info("Getting operating areas with filters: postOfficeId={}, productType={}, operatingAreaId={}",
-                postOfficeId, productType, operatingAreaId);
+        return getOperatingAreas(postOfficeId, productType, operatingAreaId, ResponseView.FULL, GeometryResolution.FULL);
+    }
+
+    /**
+     * Get operating areas with combined filters, reading only the fields of the requested view
+     * and the polygons at the requested resolution
+     */
+    public List<OperatingAreaResponse> getOperatingAreas(String postOfficeId, String productType, String operatingAreaId,
+                                                         ResponseView view, GeometryResolution resolution) {
+        log.info("Getting operating areas with filters: postOfficeId={}, productType={}, operatingAreaId={}, view={}, resolution={}",
+                postOfficeId, productType, operatingAreaId, view, resolution);
 
         // If all filters are null, return all
-        if (postOfficeId == null && productType == null && operatingAreaId == null) {
+        if (postOfficeId == null && productType == null && operatingAreaId == null
+                && view == ResponseView.FULL && resolution.isFull()) {
             return getAllOperatingAreas();
         }
 
-        // If operatingAreaId is provided, return that specific area
         if (operatingAreaId != null) {
-            OperatingArea area = operatingAreaRepository.findById(operatingAreaId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Operating area not found with id: " + operatingAreaId));
-
-            // Check other filters if provided
-            boolean matches = true;
-
-            if (postOfficeId != null && !postOfficeId.equals(area.getPostOfficeId())) {
-                log.debug("Area '{}' filtered out - postOfficeId mismatch", area.getName());
-                matches = false;
-            }
-
-            if (matches && productType != null && !productType.trim().isEmpty()) {
-                Set<String> searchProductTypes = parseProductTypes(productType);
-                Set<String> areaProductTypes = parseProductTypes(area.getProductType());
-
-                boolean hasMatch = false;
-                for (String searchType : searchProductTypes) {
-                    if (areaProductTypes.contains(searchType)) {
-                        hasMatch = true;
-                        break;
-                    }
-                }
-
-                if (!hasMatch) {
-                    log.debug("Area '{}' filtered out - no matching product type", area.getName());
-                    matches = false;
-                }
-            }
-
-            if (matches) {
-                log.info("✅ Area '{}' matches all filters", area.getName());
-                return List.of(mapToResponse(area));
-            } else {
-                return List.of();
+            // A specific area was requested - it must exist even if other filters exclude it
+            if (!operatingAreaRepository.existsById(operatingAreaId)) {
+                throw new ResourceNotFoundException("Operating area not found with id: " + operatingAreaId);
             }
+        } else if (postOfficeId != null && !postOfficeRepository.existsById(postOfficeId)) {
+            // Validate post office if provided
+            throw new ResourceNotFoundException("Post office not found with id: " + postOfficeId);
         }
 
-        // Parse product types if provided
-        Set<String> searchProductTypes = new HashSet<>();
-        if (productType != null && !productType.trim().isEmpty()) {
-            searchProductTypes = parseProductTypes(productType);
-            log.info("Parsed search product types: {}", searchProductTypes);
+        // Apply filters in MongoDB - AND logic (must satisfy all provided filters)
+        Criteria criteria = new Criteria();
+        if (operatingAreaId != null) {
+            criteria.and("_id").is(operatingAreaId);
         }
-
-        // Validate post office if provided
-        if (postOfficeId != null && !postOfficeRepository.existsById(postOfficeId)) {
-            throw new ResourceNotFoundException("Post office not found with id: " + postOfficeId);
+        if (postOfficeId != null) {
+            criteria.and("postOfficeId").is(postOfficeId);
         }
 
-        final Set<String> finalSearchProductTypes = searchProductTypes;
-
-        // Apply filters - AND logic (must satisfy all provided filters)
-        return operatingAreaRepository.findAll().stream()
-                .filter(area -> {
-                    // Filter by postOfficeId if provided
-                    if (postOfficeId != null && !postOfficeId.equals(area.getPostOfficeId())) {
-                        log.debug("Area '{}' filtered out - postOfficeId mismatch", area.getName());
-                        return false;
-                    }
-
-                    // Filter by productType if provided
-                    if (!finalSearchProductTypes.isEmpty()) {
-                        Set<String> areaProductTypes = parseProductTypes(area.getProductType());
-
-                        // Check if there's any intersection between search types and area types
-                        boolean hasMatch = false;
-                        for (String searchType : finalSearchProductTypes) {
-                            if (areaProductTypes.contains(searchType)) {
-                                hasMatch = true;
-                                break;
-                            }
-                        }
-
-                        if (!hasMatch) {
-                            log.debug("Area '{}' filtered out - no matching product type. Area has {}, searching for {}",
-                                    area.getName(), areaProductTypes, finalSearchProductTypes);
-                            return false;
-                        }
-
-                        log.debug("✅ Area '{}' matches product type filter", area.getName());
-                    }
+        // Filter by productType if provided - match if the area has ANY of the searched types
+        Set<String> searchProductTypes = ProductTypeHelper.parse(productType);
+        if (!searchProductTypes.isEmpty()) {
+            log.info("Parsed search product types: {}", searchProductTypes);
+            criteria.and("productTypes").in(searchProductTypes);
+        }
 
-                    log.debug("✅ Area '{}' passes all filters", area.getName());
-                    return true;
-                })
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        List<OperatingArea> operatingAreas = mongoTemplate.find(view.applyTo(new Query(criteria), resolution), OperatingArea.class);
+        return mapToResponses(withAreasAt(operatingAreas, view, resolution));
     }
 
     public List<OperatingAreaResponse> getOperatingAreasByPostOfficeId(String postOfficeId) {
@@ -198,16 +169,16 @@ public class OperatingAreaService {
             throw new ResourceNotFoundException("Post office not found with id: " + postOfficeId);
         }
 
-        return operatingAreaRepository.findByPostOfficeId(postOfficeId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        // Projected like the filtered queries, so that the internal copies of the polygon are not read
+        Query query = new Query(Criteria.where("postOfficeId").is(postOfficeId));
+        return mapToResponses(mongoTemplate.find(ResponseView.FULL.applyTo(query), OperatingArea.class));
     }
 
     public List<OperatingAreaResponse> getOperatingAreasByProductType(String productType) {
         log.info("Getting operating areas by product type: {}", productType);
 
         // Parse the input product types (e.g., "KH;HH" -> ["KH", "HH"])
-        Set<String> searchProductTypes = parseProductTypes(productType);
+        Set<String> searchProductTypes = ProductTypeHelper.parse(productType);
 
         if (searchProductTypes.isEmpty()) {
             log.warn("No valid product types provided");
@@ -216,35 +187,10 @@ public class OperatingAreaService {
 
         log.info("Parsed search product types: {}", searchProductTypes);
 
-        // Get all operating areas and filter by matching product types
-        return operatingAreaRepository.findAll().stream()
-                .filter(area -> {
-                    // Parse product types from the operating area
-                    Set<String> areaProductTypes = parseProductTypes(area.getProductType());
-
-                    log.debug("Area '{}' has product types: {} (raw: '{}')",
-                            area.getName(), areaProductTypes, area.getProductType());
-
-                    // Check if there's any intersection between search types and area types
-                    // Return true if ANY product type matches
-                    boolean hasMatch = false;
-                    for (String searchType : searchProductTypes) {
-                        if (areaProductTypes.contains(searchType)) {
-                            log.info("✅ Area '{}' MATCHES - contains product type: {}", area.getName(), searchType);
-                            hasMatch = true;
-                            break;
-                        }
-                    }
-
-                    if (!hasMatch) {
-                        log.debug("❌ Area '{}' does NOT match - area has {} but searching for {}",
-                                area.getName(), areaProductTypes, searchProductTypes);
-                    }
+        // Match areas having ANY of the searched types on the multikey productTypes index
+        Query query = new Query(Criteria.where("productTypes").in(searchProductTypes));
 
-                    return hasMatch;
-                })
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return mapToResponses(mongoTemplate.find(ResponseView.FULL.applyTo(query), OperatingArea.class));
     }
 
     @Transactional
@@ -262,13 +208,23 @@ public class OperatingAreaService {
         // Check for overlap with existing operating areas (excluding current one)
         validateOperatingAreaOverlap(request.getArea(), request.getProductType(), id);
 
+        GeoJsonPolygon previousArea = operatingArea.getArea();
         operatingArea.setName(request.getName());
         operatingArea.setPostOfficeId(request.getPostOfficeId());
         operatingArea.setProductType(request.getProductType());
+        operatingArea.setProductTypes(ProductTypeHelper.parse(request.getProductType()));
         operatingArea.setArea(request.getArea());
+        operatingArea.setPackedArea(PackedGeometryCodec.encode(request.getArea()));
+        CellCovering.Covering covering = CellCovering.cover(request.getArea());
+        operatingArea.setCoveringCells(covering.cells());
+        operatingArea.setInteriorCells(covering.interiorCells());
+        operatingArea.setSimplifiedAreas(GeometryPyramid.build(request.getArea()));
         operatingArea.setUpdatedAt(LocalDateTime.now());
 
         OperatingArea updated = operatingAreaRepository.save(operatingArea);
+        operatingAreaSpatialIndex.upsert(updated);
+        operatingAreaGeometryCache.invalidate(updated.getId());
+        vectorTileService.invalidate(VectorTileService.Layer.OPERATING_AREAS, previousArea, updated.getArea());
         log.info("Updated operating area with id: {}", updated.getId());
 
         return mapToResponse(updated);
@@ -278,11 +234,13 @@ public class OperatingAreaService {
     public void deleteOperatingArea(String id) {
         log.info("Deleting operating area with id: {}", id);
 
-        if (!operatingAreaRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Operating area not found with id: " + id);
-        }
+        OperatingArea operatingArea = operatingAreaRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Operating area not found with id: " + id));
 
         operatingAreaRepository.deleteById(id);
+        operatingAreaSpatialIndex.remove(id);
+        operatingAreaGeometryCache.invalidate(id);
+        vectorTileService.invalidate(VectorTileService.Layer.OPERATING_AREAS, operatingArea.getArea());
         log.info("Deleted operating area with id: {}", id);
     }
 
@@ -361,29 +319,75 @@ public class OperatingAreaService {
                 .build();
     }
 
+    /**
+     * Replace the polygons of operating areas read at a simplified resolution with the pyramid level read by
+     * the projection; areas written before the pyramid existed get their full polygon with a single $in query
+     */
+    private List<OperatingArea> withAreasAt(List<OperatingArea> operatingAreas, ResponseView view,
+                                            GeometryResolution resolution) {
+        if (resolution.isFull() || view == ResponseView.SUMMARY) {
+            return operatingAreas;
+        }
+
+        Map<String, OperatingArea> missing = new HashMap<>();
+        for (OperatingArea operatingArea : operatingAreas) {
+            operatingArea.setArea(resolution.select(operatingArea.getArea(), operatingArea.getSimplifiedAreas()));
+            operatingArea.setSimplifiedAreas(null);
+            if (operatingArea.getArea() == null) {
+                missing.put(operatingArea.getId(), operatingArea);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Query query = new Query(Criteria.where("_id").in(missing.keySet()));
+            query.fields().include("area");
+            mongoTemplate.find(query, OperatingArea.class)
+                    .forEach(stored -> missing.get(stored.getId()).setArea(stored.getArea()));
+        }
+        return operatingAreas;
+    }
+
     private OperatingAreaResponse mapToResponse(OperatingArea operatingArea) {
-        String postOfficeName = null;
-        if (operatingArea.getPostOfficeId() != null) {
-            postOfficeName = postOfficeRepository.findById(operatingArea.getPostOfficeId())
-                    .map(PostOffice::getName)
-                    .orElse(null);
+        return mapToResponses(List.of(operatingArea)).get(0);
+    }
+
+    /**
+     * Map operating areas to responses, resolving post office names with a single $in query
+     * for the distinct post office ids instead of one findById per area
+     */
+    private List<OperatingAreaResponse> mapToResponses(List<OperatingArea> operatingAreas) {
+        Set<String> postOfficeIds = operatingAreas.stream()
+                .map(OperatingArea::getPostOfficeId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<String, String> postOfficeNames = new HashMap<>();
+        if (!postOfficeIds.isEmpty()) {
+            Query query = new Query(Criteria.where("_id").in(postOfficeIds));
+            query.fields().include("name");
+            mongoTemplate.find(query, PostOffice.class)
+                    .forEach(postOffice -> postOfficeNames.put(postOffice.getId(), postOffice.getName()));
         }
 
-        return OperatingAreaResponse.builder()
-                .id(operatingArea.getId())
-                .name(operatingArea.getName())
-                .postOfficeId(operatingArea.getPostOfficeId())
-                .postOfficeName(postOfficeName)
-                .productType(operatingArea.getProductType())
-                .area(operatingArea.getArea())
-                .createdAt(operatingArea.getCreatedAt())
-                .updatedAt(operatingArea.getUpdatedAt())
-                .build();
+        return operatingAreas.stream()
+                .map(operatingArea -> OperatingAreaResponse.builder()
+                        .id(operatingArea.getId())
+                        .name(operatingArea.getName())
+                        .postOfficeId(operatingArea.getPostOfficeId())
+                        .postOfficeName(postOfficeNames.get(operatingArea.getPostOfficeId()))
+                        .productType(operatingArea.getProductType())
+                        .area(operatingArea.getArea())
+                        .createdAt(operatingArea.getCreatedAt())
+                        .updatedAt(operatingArea.getUpdatedAt())
+                        .build())
+                .collect(Collectors.toList());
     }
 
     /**
      * Validate operating area overlap with existing areas that have overlapping product types
      * Throws BusinessRuleException if overlap is detected
+     * Only areas sharing a product type AND whose bounding box intersects the new area
+     * are checked exactly, against a prepared polygon of the new area
      */
     private void validateOperatingAreaOverlap(
             org.springframework.data.mongodb.core.geo.GeoJsonPolygon newArea,
@@ -392,165 +396,101 @@ public class OperatingAreaService {
 
         log.debug("Validating operating area overlap for product types: {}", newProductType);
 
-        // Get all operating areas except the one being updated
-        Query query = new Query();
-        if (excludeAreaId != null) {
-            query.addCriteria(Criteria.where("_id").ne(excludeAreaId));
+        // Parse product types from new area
+        Set<String> newProductTypes = ProductTypeHelper.parse(newProductType);
+        if (newProductTypes.isEmpty()) {
+            log.debug("No product types - nothing to check");
+            return;
         }
 
-        List<OperatingArea> existingAreas = mongoTemplate.find(query, OperatingArea.class);
+        long start = System.nanoTime();
+        PreparedGeometry preparedNewArea = PreparedGeometryFactory.prepare(GeoJsonHelper.toJtsPolygon(newArea));
+        Envelope envelope = preparedNewArea.getGeometry().getEnvelopeInternal();
 
-        // Parse product types from new area
-        Set<String> newProductTypes = parseProductTypes(newProductType);
-
-        for (OperatingArea existingArea : existingAreas) {
-            // Parse product types from existing area
-            Set<String> existingProductTypes = parseProductTypes(existingArea.getProductType());
-
-            // Check if there's any common product type
-            Set<String> commonProductTypes = new HashSet<>(newProductTypes);
-            commonProductTypes.retainAll(existingProductTypes);
-
-            if (!commonProductTypes.isEmpty()) {
-                log.debug("Found common product types: {} with area: {}", commonProductTypes, existingArea.getName());
-
-                // Check if polygons overlap using MongoDB spatial query
-                if (checkPolygonOverlap(newArea, existingArea.getArea())) {
-                    String commonTypes = String.join(", ", commonProductTypes);
-                    throw new BusinessRuleException(
-                            String.format("Area overlaps with existing area '%s' for product type(s): %s. " +
-                                            "Two areas with the same product type cannot have overlapping polygons.",
-                                    existingArea.getName(), commonTypes)
-                    );
+        // Writes of this instance are patched into the index as they happen; those of other instances
+        // become visible with its background refresh
+        boolean useIndex = operatingAreaSpatialIndex.isAvailable();
+        int examined = 0;
+        boolean overlap = false;
+        try {
+            if (useIndex) {
+                for (OperatingAreaSpatialIndex.IndexedOperatingArea candidate :
+                        operatingAreaSpatialIndex.findCandidates(envelope, newProductTypes)) {
+                    if (candidate.id().equals(excludeAreaId)) {
+                        continue;
+                    }
+                    examined++;
+                    checkOverlap(preparedNewArea, newProductTypes, candidate.name(), candidate.productTypes(),
+                            candidate.geometry().getGeometry());
+                }
+            } else {
+                // Prefilter candidates with $geoIntersects and the product types instead of loading every operating area
+                Query query = new Query(Criteria.where("area").intersects(newArea));
+                query.addCriteria(Criteria.where("productTypes").in(newProductTypes));
+                if (excludeAreaId != null) {
+                    query.addCriteria(Criteria.where("_id").ne(excludeAreaId));
+                }
+                // The packed polygon is read instead of the GeoJSON polygon (the bulk of each document)
+                query.fields().include("name", "productType", "productTypes", "packedArea");
+                List<OperatingArea> candidates = mongoTemplate.find(query, OperatingArea.class);
+                loadUnpackedAreas(candidates);
+
+                for (OperatingArea existingArea : candidates) {
+                    examined++;
+                    checkOverlap(preparedNewArea, newProductTypes, existingArea.getName(),
+                            ProductTypeHelper.normalized(existingArea.getProductTypes(), existingArea.getProductType()),
+                            PackedGeometryCodec.toJtsPolygon(existingArea.getPackedArea(), existingArea.getArea()));
                 }
             }
+        } catch (BusinessRuleException e) {
+            overlap = true;
+            throw e;
+        } finally {
+            serviceMetrics.recordOverlapValidation("operating_area", useIndex, examined, overlap, System.nanoTime() - start);
         }
 
         log.debug("No overlapping operating areas found");
     }
 
     /**
-     * Parse product types from semicolon-separated string
-     * Example: "HH;KH" -> Set["HH", "KH"]
-     * Case-insensitive: converts all to uppercase
+     * Read the GeoJSON polygon of operating areas written before the packed polygon existed (single $in query)
      */
-    private Set<String> parseProductTypes(String productTypeString) {
-        if (productTypeString == null || productTypeString.trim().isEmpty()) {
-            return new HashSet<>();
+    private void loadUnpackedAreas(List<OperatingArea> operatingAreas) {
+        Map<String, OperatingArea> unpacked = new HashMap<>();
+        for (OperatingArea operatingArea : operatingAreas) {
+            if (operatingArea.getPackedArea() == null) {
+                unpacked.put(operatingArea.getId(), operatingArea);
+            }
+        }
+        if (unpacked.isEmpty()) {
+            return;
         }
 
-        return Arrays.stream(productTypeString.split(";"))
-                .map(String::trim)
-                .map(String::toUpperCase) // Convert to uppercase for case-insensitive comparison
-                .filter(s -> !s.isEmpty())
-                .collect(Collectors.toSet());
+        Query query = new Query(Criteria.where("_id").in(unpacked.keySet()));
+        query.fields().include("area");
+        mongoTemplate.find(query, OperatingArea.class)
+                .forEach(stored -> unpacked.get(stored.getId()).setArea(stored.getArea()));
     }
 
-    /**
-     * Check if two polygons have actual area overlap using JTS
-     * Returns true only if polygons have intersecting area (not just touching edges or vertices)
-     */
-//    private boolean checkPolygonOverlap(
-//            org.springframework.data.mongodb.core.geo.GeoJsonPolygon polygon1,
-//            org.springframework.data.mongodb.core.geo.GeoJsonPolygon polygon2) {
-//
-//        try {
-//            GeometryFactory geometryFactory = new GeometryFactory();
-//
-//            // Convert GeoJsonPolygon to JTS Polygon
-//            Polygon jtsPolygon1 = convertToJTSPolygon(polygon1, geometryFactory);
-//            Polygon jtsPolygon2 = convertToJTSPolygon(polygon2, geometryFactory);
-//
-//            // Check if polygons intersect
-//            if (!jtsPolygon1.intersects(jtsPolygon2)) {
-//                log.debug("Polygons do not intersect at all");
-//                return false;
-//            }
-//
-//            // Get intersection geometry
-//            Geometry intersection = jtsPolygon1.intersection(jtsPolygon2);
-//
-//            // Check if intersection has area (dimension = 2 means polygon/surface)
-//            // dimension = 0 means point, dimension = 1 means line
-//            boolean hasAreaOverlap = intersection.getDimension() == 2 && intersection.getArea() > 0;
-//
-//            if (hasAreaOverlap) {
-//                log.debug("Found actual area overlap: intersection area = {}", intersection.getArea());
-//            } else {
-//                log.debug("No area overlap - polygons only touch at edges or vertices (dimension = {})",
-//                        intersection.getDimension());
-//            }
-//
-//            return hasAreaOverlap;
-//
-//        } catch (Exception e) {
-//            log.error("Error checking polygon overlap with JTS", e);
-//            return false;
-//        }
-//    }
-
-    private boolean checkPolygonOverlap(
-            org.springframework.data.mongodb.core.geo.GeoJsonPolygon polygon1,
-            org.springframework.data.mongodb.core.geo.GeoJsonPolygon polygon2) {
-
-        try {
-
-            GeometryFactory geometryFactory = new GeometryFactory();
-
-            Polygon jtsPolygon1 = convertToJTSPolygon(polygon1, geometryFactory);
-            Polygon jtsPolygon2 = convertToJTSPolygon(polygon2, geometryFactory);
-
-            // nếu chỉ chạm cạnh hoặc đỉnh
-            if (jtsPolygon1.touches(jtsPolygon2)) {
-                log.debug("Polygons only touch at boundary");
-                return false;
-            }
-
-            Geometry intersection = jtsPolygon1.intersection(jtsPolygon2);
-
-            double overlapArea = intersection.getArea();
-
-            double THRESHOLD = 1e-6; // tùy chỉnh
-
-            log.debug("Overlap area: {}", overlapArea);
+    private void checkOverlap(PreparedGeometry newArea, Set<String> newProductTypes,
+                              String existingName, Set<String> existingProductTypes, Geometry existingArea) {
+        // Check if there's any common product type
+        Set<String> commonProductTypes = new HashSet<>(newProductTypes);
+        commonProductTypes.retainAll(existingProductTypes);
 
-            if (overlapArea > THRESHOLD) {
-                log.debug("Polygons overlap with significant area");
-                return true;
-            }
-
-            // check contains
-            if (jtsPolygon1.contains(jtsPolygon2) || jtsPolygon2.contains(jtsPolygon1)) {
-                log.debug("One polygon contains another");
-                return true;
-            }
-
-            return false;
-
-        } catch (Exception e) {
-            log.error("Error checking polygon overlap", e);
-            return false;
+        if (commonProductTypes.isEmpty()) {
+            return;
         }
-    }
 
-    /**
-     * Convert Spring Data MongoDB GeoJsonPolygon to JTS Polygon
-     */
-    private Polygon convertToJTSPolygon(
-            org.springframework.data.mongodb.core.geo.GeoJsonPolygon geoJsonPolygon,
-            GeometryFactory geometryFactory) {
-
-        List<org.springframework.data.geo.Point> points = geoJsonPolygon.getPoints();
+        log.debug("Found common product types: {} with area: {}", commonProductTypes, existingName);
 
-        // Convert to JTS Coordinates
-        Coordinate[] coordinates = new Coordinate[points.size()];
-        for (int i = 0; i < points.size(); i++) {
-            org.springframework.data.geo.Point point = points.get(i);
-            coordinates[i] = new Coordinate(point.getX(), point.getY());
+        if (PolygonOverlapHelper.hasAreaOverlap(newArea, existingArea)) {
+            String commonTypes = String.join(", ", commonProductTypes);
+            throw new BusinessRuleException(
+                    String.format("Area overlaps with existing area '%s' for product type(s): %s. " +
+                                    "Two areas with the same product type cannot have overlapping polygons.",
+                            existingName, commonTypes)
+            );
         }
-
-        // Create JTS Polygon
-        return geometryFactory.createPolygon(coordinates);
     }
 }
-
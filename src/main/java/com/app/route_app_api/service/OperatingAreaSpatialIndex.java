@@ -0,0 +1,188 @@
+package com.app.route_app_api.service;
+
+import com.app.route_app_api.entity.OperatingArea;
+import com.app.route_app_api.util.PackedGeometryCodec;
+import com.app.route_app_api.util.ProductTypeHelper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.locationtech.jts.index.strtree.STRtree;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory spatial index of operating area polygons, bucketed by individual product type
+ * Each bucket is a JTS STRtree of prepared geometries, so overlap validation only examines
+ * areas whose bounding box intersects the new area AND that share a product type with it.
+ * Loaded lazily on first use, patched by OperatingAreaService on every write and refreshed in the
+ * background (see CopyOnWriteSpatialIndex).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OperatingAreaSpatialIndex extends CopyOnWriteSpatialIndex<OperatingArea,
+        OperatingAreaSpatialIndex.IndexedOperatingArea, OperatingAreaSpatialIndex.OperatingAreaSnapshot> {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.gis.operating-area-index.enabled:true}")
+    private boolean enabled;
+
+    // Reload interval so that writes made by other instances become visible (0 = never reload)
+    @Value("${app.gis.operating-area-index.refresh-seconds:60}")
+    private long refreshSeconds;
+
+    @Override
+    protected boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    protected long refreshSeconds() {
+        return refreshSeconds;
+    }
+
+    @Override
+    protected String entityName() {
+        return "operating area";
+    }
+
+    /**
+     * Find operating areas that have at least one of the product types and whose
+     * bounding box intersects the envelope (candidates for exact geometry checks)
+     */
+    public Collection<IndexedOperatingArea> findCandidates(Envelope envelope, Set<String> productTypes) {
+        OperatingAreaSnapshot current = current();
+
+        // An area with several matching product types appears in several buckets - keep it once
+        Map<String, IndexedOperatingArea> result = new LinkedHashMap<>();
+        for (String productType : productTypes) {
+            STRtree tree = current.byProductType.get(productType);
+            if (tree != null) {
+                tree.query(envelope, item -> {
+                    IndexedOperatingArea area = (IndexedOperatingArea) item;
+                    result.putIfAbsent(area.id(), area);
+                });
+            }
+        }
+        return result.values();
+    }
+
+    /**
+     * Find operating areas of any product type whose bounding box intersects the envelope
+     */
+    public List<IndexedOperatingArea> findCandidates(Envelope envelope) {
+        List<IndexedOperatingArea> result = new ArrayList<>();
+        current().all.query(envelope, item -> result.add((IndexedOperatingArea) item));
+        return result;
+    }
+
+    @Override
+    protected OperatingAreaSnapshot rebuild(OperatingAreaSnapshot current, Map<String, IndexedOperatingArea> areas,
+                                            IndexedOperatingArea previous, IndexedOperatingArea indexed) {
+        return new OperatingAreaSnapshot(areas, current.loadedAt());
+    }
+
+    @Override
+    protected String idOf(OperatingArea operatingArea) {
+        return operatingArea.getId();
+    }
+
+    @Override
+    protected OperatingAreaSnapshot load() {
+        long start = System.currentTimeMillis();
+
+        Map<String, IndexedOperatingArea> indexed = new LinkedHashMap<>();
+        // Documents that have the packed polygon are read without the GeoJSON polygon (the bulk of each document)
+        Query packedQuery = new Query(Criteria.where("packedArea").exists(true));
+        packedQuery.fields().exclude("area", "simplifiedAreas");
+        List<OperatingArea> operatingAreas = new ArrayList<>(mongoTemplate.find(packedQuery, OperatingArea.class));
+        operatingAreas.addAll(mongoTemplate.find(new Query(Criteria.where("packedArea").exists(false)), OperatingArea.class));
+
+        for (OperatingArea operatingArea : operatingAreas) {
+            IndexedOperatingArea entry = index(operatingArea);
+            if (entry != null) {
+                indexed.put(operatingArea.getId(), entry);
+            }
+        }
+
+        OperatingAreaSnapshot loaded = new OperatingAreaSnapshot(indexed, System.currentTimeMillis());
+        log.info("Loaded operating area spatial index with {} areas in {} ms",
+                indexed.size(), System.currentTimeMillis() - start);
+        return loaded;
+    }
+
+    @Override
+    protected IndexedOperatingArea index(OperatingArea operatingArea) {
+        if (operatingArea.getId() == null || (operatingArea.getArea() == null && operatingArea.getPackedArea() == null)) {
+            return null;
+        }
+        try {
+            PreparedGeometry geometry = PreparedGeometryFactory.prepare(
+                    PackedGeometryCodec.toJtsPolygon(operatingArea.getPackedArea(), operatingArea.getArea()));
+            return new IndexedOperatingArea(
+                    operatingArea.getId(),
+                    operatingArea.getName(),
+                    operatingArea.getPostOfficeId(),
+                    operatingArea.getProductType(),
+                    ProductTypeHelper.normalized(operatingArea.getProductTypes(), operatingArea.getProductType()),
+                    geometry,
+                    geometry.getGeometry().getEnvelopeInternal());
+        } catch (Exception e) {
+            log.warn("Skipping operating area {} ({}) in spatial index - invalid polygon: {}",
+                    operatingArea.getId(), operatingArea.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Indexed operating area: parsed product types plus its prepared geometry and envelope
+     */
+    public record IndexedOperatingArea(
+            String id,
+            String name,
+            String postOfficeId,
+            String productType,
+            Set<String> productTypes,
+            PreparedGeometry geometry,
+            Envelope envelope) {
+    }
+
+    /**
+     * Operating areas by bounding box (all and per product type)
+     */
+    static final class OperatingAreaSnapshot extends CopyOnWriteSpatialIndex.Snapshot<IndexedOperatingArea> {
+        private final STRtree all;
+        private final Map<String, STRtree> byProductType;
+
+        private OperatingAreaSnapshot(Map<String, IndexedOperatingArea> areas, long loadedAt) {
+            super(areas, loadedAt);
+            this.all = new STRtree();
+            this.byProductType = new HashMap<>();
+
+            for (IndexedOperatingArea area : areas.values()) {
+                all.insert(area.envelope(), area);
+                for (String productType : area.productTypes()) {
+                    byProductType.computeIfAbsent(productType, k -> new STRtree()).insert(area.envelope(), area);
+                }
+            }
+
+            // Build eagerly - a built STRtree is read-only and safe for concurrent queries
+            all.build();
+            byProductType.values().forEach(STRtree::build);
+        }
+    }
+}
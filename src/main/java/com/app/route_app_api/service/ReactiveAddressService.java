@@ -0,0 +1,190 @@
+package com.app.route_app_api.service;
+
+import com.app.route_app_api.dto.AddressCheckRequest;
+import com.app.route_app_api.dto.AddressCheckResponse;
+import com.app.route_app_api.dto.ParseLocationResponse;
+import com.app.route_app_api.exception.GeocoderUnavailableException;
+import com.app.route_app_api.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Non-blocking address check (profile reactive-gis): geocode, then point lookup
+ * Same flow as AddressService (geocode cache, stale fallback when the API is unavailable), but the
+ * geocoding API is called with WebClient, so requests waiting for the API do not hold a thread.
+ * Bulk checks send their cache misses in chunks of app.geocode.batch.max-size addresses per API call.
+ */
+@Slf4j
+@Service
+@Profile("reactive-gis")
+@RequiredArgsConstructor
+public class ReactiveAddressService {
+
+    private final ReactiveGisService reactiveGisService;
+    private final AddressService addressService;
+    private final GeocodeCache geocodeCache;
+    private final ReactiveViettelPostLocationClient locationClient;
+    private final ServiceMetrics serviceMetrics;
+
+    // Addresses per API call for bulk checks
+    @Value("${app.geocode.batch.max-size:50}")
+    private int batchMaxSize;
+
+    // API calls in flight per bulk check
+    @Value("${app.geocode.batch.max-concurrent:4}")
+    private int batchMaxConcurrent;
+
+    /**
+     * Check address and get latitude/longitude
+     * Then check if the point belongs to any route
+     */
+    public Mono<AddressCheckResponse> checkAddress(String address, String productType) {
+        log.info("Checking address: {} with productType: {}", address, productType);
+
+        return cached(address)
+                .doOnNext(location -> {
+                    log.debug("Geocode cache hit for address: {}", address);
+                    serviceMetrics.recordGeocodeLookup("cache");
+                })
+                .switchIfEmpty(Mono.defer(() -> locationClient.geocode(List.of(address))
+                        .flatMap(results -> geocoded(address, results.getFirst()))
+                        .onErrorResume(GeocoderUnavailableException.class, e -> staleLocation(address, e))))
+                .flatMap(location -> toResponse(address, location, productType));
+    }
+
+    /**
+     * Check a batch of addresses, results in input order
+     * An address that cannot be geocoded gets a response with an error instead of failing the whole batch
+     */
+    public Mono<List<AddressCheckResponse>> checkAddresses(List<AddressCheckRequest> requests) {
+        log.info("Checking {} addresses", requests.size());
+
+        return Mono.defer(() -> {
+            addressService.validateBatch(requests);
+
+            return cache(() -> requests.stream()
+                            .map(request -> geocodeCache.get(request.getAddress()))
+                            .toArray(ParseLocationResponse[]::new))
+                    .flatMap(cached -> {
+                        List<String> misses = new ArrayList<>();
+                        for (int i = 0; i < cached.length; i++) {
+                            if (cached[i] != null) {
+                                serviceMetrics.recordGeocodeLookup("cache");
+                            } else if (!misses.contains(requests.get(i).getAddress())) {
+                                misses.add(requests.get(i).getAddress());
+                            }
+                        }
+
+                        return geocodeAll(misses).flatMap(geocoded -> Flux.range(0, requests.size())
+                                .flatMapSequential(i -> {
+                                    AddressCheckRequest request = requests.get(i);
+                                    Mono<ParseLocationResponse> location = cached[i] != null
+                                            ? Mono.just(cached[i])
+                                            : geocoded.get(request.getAddress());
+                                    return location
+                                            .flatMap(found -> toResponse(request.getAddress(), found, request.getProductType()))
+                                            .onErrorResume(e -> {
+                                                log.warn("Could not check address {}: {}", request.getAddress(), e.getMessage());
+                                                return Mono.just(AddressCheckResponse.builder()
+                                                        .originalAddress(request.getAddress())
+                                                        .error(e.getMessage())
+                                                        .build());
+                                            });
+                                })
+                                .collectList());
+                    });
+        });
+    }
+
+    /**
+     * Geocode cache misses with one API call per chunk
+     * @return per address, the location or the error to report for it (cached, so it can be read more than once)
+     */
+    private Mono<Map<String, Mono<ParseLocationResponse>>> geocodeAll(List<String> addresses) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < addresses.size(); i += Math.max(1, batchMaxSize)) {
+            chunks.add(addresses.subList(i, Math.min(addresses.size(), i + Math.max(1, batchMaxSize))));
+        }
+
+        return Flux.fromIterable(chunks)
+                .flatMap(chunk -> locationClient.geocode(chunk)
+                        .map(results -> {
+                            List<Map.Entry<String, Mono<ParseLocationResponse>>> entries = new ArrayList<>(chunk.size());
+                            for (int i = 0; i < chunk.size(); i++) {
+                                String address = chunk.get(i);
+                                entries.add(Map.entry(address, geocoded(address, results.get(i)).cache()));
+                            }
+                            return entries;
+                        })
+                        .onErrorResume(e -> Mono.just(chunk.stream()
+                                .map(address -> Map.entry(address, failed(address, e).cache()))
+                                .toList())), batchMaxConcurrent)
+                .flatMapIterable(entries -> entries)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    private Mono<ParseLocationResponse> geocoded(String address, ParseLocationResponse location) {
+        if (!AddressService.hasLocation(location)) {
+            return Mono.error(new ResourceNotFoundException("Could not find location for address: " + address));
+        }
+        log.info("ViettelPost API response: formattedAddress={}, confidence={}",
+                location.getFormattedAddress(), location.getConfidence());
+        serviceMetrics.recordGeocodeLookup("upstream");
+
+        // Only successful results are cached
+        return cache(() -> {
+            geocodeCache.put(address, location);
+            return location;
+        });
+    }
+
+    private Mono<ParseLocationResponse> failed(String address, Throwable error) {
+        return error instanceof GeocoderUnavailableException unavailable
+                ? staleLocation(address, unavailable)
+                : Mono.error(error);
+    }
+
+    /**
+     * Fall back to the last known (possibly expired) result of an address when the geocoding API is unavailable
+     * Errors with the original exception if the address was never geocoded before
+     */
+    private Mono<ParseLocationResponse> staleLocation(String address, GeocoderUnavailableException cause) {
+        return cache(() -> geocodeCache.getStale(address))
+                .switchIfEmpty(Mono.error(cause))
+                .doOnNext(stale -> {
+                    log.warn("Geocoding API unavailable ({}), using last known location for address: {}", cause.getMessage(), address);
+                    serviceMetrics.recordGeocodeLookup("stale");
+                });
+    }
+
+    private Mono<AddressCheckResponse> toResponse(String address, ParseLocationResponse location, String productType) {
+        return reactiveGisService.checkPointInPolygon(
+                        location.getGeometry().getLocation().getLat(),
+                        location.getGeometry().getLocation().getLng(),
+                        productType)
+                .map(routeInfo -> AddressService.toResponse(address, location, routeInfo));
+    }
+
+    private Mono<ParseLocationResponse> cached(String address) {
+        return cache(() -> geocodeCache.get(address));
+    }
+
+    /**
+     * Geocode cache access: in memory, or on boundedElastic when the cache is backed by MongoDB
+     */
+    private <T> Mono<T> cache(Callable<T> access) {
+        Mono<T> result = Mono.fromCallable(access);
+        return geocodeCache.isPersistent() ? result.subscribeOn(Schedulers.boundedElastic()) : result;
+    }
+}
@@ -0,0 +1,99 @@
+package com.app.route_app_api.service;
+
+import com.app.route_app_api.dto.PointInPolygonRequest;
+import com.app.route_app_api.dto.PointInPolygonResponse;
+import com.app.route_app_api.entity.Route;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+/**
+ * Non-blocking GIS Service for spatial queries (profile reactive-gis)
+ * Same lookups as GisService: served from the in-memory route index once it is loaded, otherwise
+ * answered by the same MongoDB query (cell covering or $geoIntersects) on ReactiveMongoTemplate. Loading the index blocks on MongoDB,
+ * so it runs on the boundedElastic scheduler instead of the caller's thread.
+ */
+@Slf4j
+@Service
+@Profile("reactive-gis")
+@RequiredArgsConstructor
+public class ReactiveGisService {
+
+    // MongoDB queries in flight per batch when the route index is unavailable (results keep input order)
+    private static final int DATABASE_CONCURRENCY = 16;
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final RouteSpatialIndex routeSpatialIndex;
+    private final GisService gisService;
+    private final ServiceMetrics serviceMetrics;
+
+    /**
+     * Check which routes contain the given point with optional product type filter
+     */
+    public Mono<PointInPolygonResponse> checkPointInPolygon(double latitude, double longitude, String productType) {
+        log.info("Checking point ({}, {}) in polygon with productType: {}", latitude, longitude, productType);
+
+        return useIndex()
+                .flatMap(useIndex -> checkPoint(latitude, longitude, productType, useIndex))
+                .doOnNext(response -> log.info("Found {} matching routes", response.getMatchingRoutes().size()));
+    }
+
+    /**
+     * Check a batch of points (each with optional product type filter), results in input order
+     */
+    public Mono<List<PointInPolygonResponse>> checkPointsInPolygon(List<PointInPolygonRequest> points) {
+        return Mono.defer(() -> {
+            gisService.validateBatch(points);
+
+            long start = System.currentTimeMillis();
+            return useIndex().flatMap(useIndex -> Flux.fromIterable(points)
+                    .flatMapSequential(point -> checkPoint(point.getLatitude(), point.getLongitude(), point.getProductType(), useIndex),
+                            DATABASE_CONCURRENCY)
+                    .collectList()
+                    .doOnNext(responses -> log.info("Checked {} points in {} ms (index: {})",
+                            responses.size(), System.currentTimeMillis() - start, useIndex)));
+        });
+    }
+
+    /**
+     * Check a stream of points, one result per point in input order
+     * Points without coordinates (including a literal null line, read by ReactiveGisController as an empty point)
+     * are answered with found=false, as in GisService.
+     */
+    public Flux<PointInPolygonResponse> checkPointsInPolygon(Flux<PointInPolygonRequest> points) {
+        return useIndex().flatMapMany(useIndex -> points.flatMapSequential(point -> point.getLatitude() == null || point.getLongitude() == null
+                        ? Mono.just(GisService.notChecked(point))
+                        : checkPoint(point.getLatitude(), point.getLongitude(), point.getProductType(), useIndex),
+                DATABASE_CONCURRENCY));
+    }
+
+    private Mono<Boolean> useIndex() {
+        if (routeSpatialIndex.isLoaded()) {
+            return Mono.just(true);
+        }
+        return Mono.fromCallable(routeSpatialIndex::isAvailable).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Mono<PointInPolygonResponse> checkPoint(double latitude, double longitude, String productType, boolean useIndex) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            Mono<List<PointInPolygonResponse.RouteInfo>> routeInfos = useIndex
+                    ? Mono.fromSupplier(() -> gisService.findRoutesInIndex(latitude, longitude, productType))
+                    : reactiveMongoTemplate.find(gisService.routesContainingQuery(latitude, longitude, productType), Route.class)
+                            .filter(route -> gisService.containsPoint(route, latitude, longitude))
+                            .map(GisService::toRouteInfo)
+                            .collectList();
+            return routeInfos.map(infos -> {
+                serviceMetrics.recordCheckPoint(productType, useIndex, infos.size(), System.nanoTime() - start);
+                return GisService.toResponse(latitude, longitude, infos);
+            });
+        });
+    }
+}
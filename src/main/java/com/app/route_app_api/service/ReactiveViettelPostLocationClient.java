@@ -0,0 +1,90 @@
+package com.app.route_app_api.service;
+
+import com.app.route_app_api.dto.ParseLocationResponse;
+import com.app.route_app_api.exception.GeocoderUnavailableException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Non-blocking client for the ViettelPost Location API (profile reactive-gis)
+ * Same request and result alignment (with per-address retry) as ViettelPostLocationClient, sent with WebClient so that no thread
+ * waits for the API. Calls go through GeocoderResilience.callAsync (circuit breaker, bulkhead, hedging, timeout).
+ */
+@Slf4j
+@Component
+@Profile("reactive-gis")
+@RequiredArgsConstructor
+public class ReactiveViettelPostLocationClient {
+
+    private static final ParameterizedTypeReference<List<ParseLocationResponse>> RESULTS = new ParameterizedTypeReference<>() {};
+
+    private final WebClient geocoderWebClient;
+    private final GeocoderResilience geocoderResilience;
+    private final ServiceMetrics serviceMetrics;
+
+    @Value("${viettelpost.location.api.url:https://dev-io.viettelpost.vn/location/v2.0/addresses}")
+    private String viettelPostApiUrl;
+
+    /**
+     * Geocode a batch of addresses with a single API call
+     * @return results aligned with the addresses (null where the API returned no result);
+     *         GeocoderUnavailableException as error if the API is unavailable
+     */
+    public Mono<List<ParseLocationResponse>> geocode(List<String> addresses) {
+        return call(addresses).flatMap(results -> {
+            List<ParseLocationResponse> aligned = ViettelPostLocationClient.align(addresses, results);
+            if (aligned != null) {
+                return Mono.just(aligned);
+            }
+            // Results could not be matched by position: one call per address, results kept in request order
+            return Flux.fromIterable(addresses)
+                    .concatMap(address -> geocode(List.of(address)))
+                    .collect(ArrayList<ParseLocationResponse>::new, List::addAll);
+        });
+    }
+
+    private Mono<List<ParseLocationResponse>> call(List<String> addresses) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return geocoderResilience.callAsync(() -> request(addresses))
+                    .doOnSuccess(results -> serviceMetrics.recordGeocoderCall(addresses.size(), "success", System.nanoTime() - start))
+                    .onErrorMap(error -> {
+                        if (error instanceof GeocoderUnavailableException) {
+                            serviceMetrics.recordGeocoderCall(addresses.size(), "unavailable", System.nanoTime() - start);
+                            log.error("ViettelPost API unavailable for {} address(es): {}", addresses.size(), error.getMessage());
+                            return error;
+                        }
+                        serviceMetrics.recordGeocoderCall(addresses.size(), "error", System.nanoTime() - start);
+                        log.error("Error calling ViettelPost API for {} address(es): {}", addresses.size(), addresses, error);
+                        return new RuntimeException("Failed to geocode address: " + error.getMessage(), error);
+                    });
+        });
+    }
+
+    private Mono<List<ParseLocationResponse>> request(List<String> addresses) {
+        String url = viettelPostApiUrl + "?shortForm=true&system=VTP";
+
+        log.info("Calling ViettelPost API: {} with {} address(es)", url, addresses.size());
+
+        return geocoderWebClient.post()
+                .uri(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Cookie", "SERVERID=2")
+                .bodyValue(addresses)
+                .retrieve()
+                .bodyToMono(RESULTS)
+                .defaultIfEmpty(Collections.emptyList());
+    }
+}
@@ -0,0 +1,328 @@
+package com.app.route_app_api.service;
+
+import org.locationtech.jts.algorithm.RectangleLineIntersector;
+import org.locationtech.jts.algorithm.locate.SimplePointInAreaLocator;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.Location;
+import org.locationtech.jts.geom.Polygon;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Precomputed lookup table of route polygons on a uniform lng/lat grid
+ * Every grid cell touched by a route is classified against it as inside (the whole cell is in the route)
+ * or boundary (the route edge crosses the cell); cells outside all routes are not stored.
+ * A point lookup is one hash probe: inside routes match without any geometry test, only the boundary
+ * routes of the cell need an exact point-in-polygon check.
+ *
+ * Immutable - changes go through a Builder that copies the table (cells themselves are shared),
+ * so a RouteSpatialIndex snapshot can be patched per write without reclassifying other routes.
+ */
+final class RouteGrid {
+
+    private static final RouteSpatialIndex.IndexedRoute[] NONE = new RouteSpatialIndex.IndexedRoute[0];
+    // Cells are classified slightly enlarged, so points rounded into a neighbouring cell are still answered exactly
+    private static final double EPSILON = 1e-9;
+
+    private final double cellSize;
+    private final int maxCellsPerRoute;
+    // Open addressing table, linear probing; a null cell marks a free slot
+    private final long[] keys;
+    private final Cell[] cells;
+    private final int size;
+    private final int boundaryCells;
+
+    private RouteGrid(double cellSize, int maxCellsPerRoute, long[] keys, Cell[] cells, int size, int boundaryCells) {
+        this.cellSize = cellSize;
+        this.maxCellsPerRoute = maxCellsPerRoute;
+        this.keys = keys;
+        this.cells = cells;
+        this.size = size;
+        this.boundaryCells = boundaryCells;
+    }
+
+    static RouteGrid empty(double cellSize, int maxCellsPerRoute) {
+        return new RouteGrid(cellSize, maxCellsPerRoute, new long[16], new Cell[16], 0, 0);
+    }
+
+    /**
+     * True if the route is small enough to be stored in the grid (at most max-cells-per-route cells)
+     * Larger routes have to be looked up some other way.
+     */
+    boolean fits(RouteSpatialIndex.IndexedRoute route) {
+        return fits(route, cellSize, maxCellsPerRoute);
+    }
+
+    /**
+     * Routes whose polygon contains the point (boundary included)
+     * @param productType normalized product type filter, or null for all routes
+     */
+    List<RouteSpatialIndex.IndexedRoute> findContaining(double longitude, double latitude, String productType) {
+        Cell cell = get(keys, cells, key(cell(latitude, cellSize), cell(longitude, cellSize)));
+        if (cell == null) {
+            return new ArrayList<>(1);
+        }
+
+        List<RouteSpatialIndex.IndexedRoute> result = new ArrayList<>(cell.inside.length + 1);
+        for (RouteSpatialIndex.IndexedRoute route : cell.inside) {
+            if (productType == null || route.productTypes().contains(productType)) {
+                result.add(route);
+            }
+        }
+        if (cell.boundary.length > 0) {
+            Coordinate coordinate = new Coordinate(longitude, latitude);
+            for (RouteSpatialIndex.IndexedRoute route : cell.boundary) {
+                if ((productType == null || route.productTypes().contains(productType))
+                        && route.locator().locate(coordinate) != Location.EXTERIOR) {
+                    result.add(route);
+                }
+            }
+        }
+        return result;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int boundaryCells() {
+        return boundaryCells;
+    }
+
+    Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    private static boolean fits(RouteSpatialIndex.IndexedRoute route, double cellSize, int maxCellsPerRoute) {
+        Envelope envelope = route.geometry().getGeometry().getEnvelopeInternal();
+        long columns = cell(envelope.getMaxX(), cellSize) - cell(envelope.getMinX(), cellSize) + 1L;
+        long rows = cell(envelope.getMaxY(), cellSize) - cell(envelope.getMinY(), cellSize) + 1L;
+        return columns * rows <= maxCellsPerRoute;
+    }
+
+    private static int cell(double degrees, double cellSize) {
+        return (int) Math.floor(degrees / cellSize);
+    }
+
+    private static long key(int row, int column) {
+        return ((long) row << 32) | (column & 0xffffffffL);
+    }
+
+    private static int slot(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static Cell get(long[] keys, Cell[] cells, long key) {
+        int mask = keys.length - 1;
+        for (int slot = slot(key, mask); cells[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return cells[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Routes of one grid cell
+     */
+    private record Cell(RouteSpatialIndex.IndexedRoute[] inside, RouteSpatialIndex.IndexedRoute[] boundary) {
+
+        private boolean isEmpty() {
+            return inside.length == 0 && boundary.length == 0;
+        }
+
+        private Cell with(RouteSpatialIndex.IndexedRoute route, boolean isInside) {
+            return isInside
+                    ? new Cell(append(inside, route), boundary)
+                    : new Cell(inside, append(boundary, route));
+        }
+
+        private Cell without(String routeId) {
+            return new Cell(removeRoute(inside, routeId), removeRoute(boundary, routeId));
+        }
+
+        private static RouteSpatialIndex.IndexedRoute[] append(RouteSpatialIndex.IndexedRoute[] routes, RouteSpatialIndex.IndexedRoute route) {
+            RouteSpatialIndex.IndexedRoute[] result = Arrays.copyOf(routes, routes.length + 1);
+            result[routes.length] = route;
+            return result;
+        }
+
+        private static RouteSpatialIndex.IndexedRoute[] removeRoute(RouteSpatialIndex.IndexedRoute[] routes, String routeId) {
+            return routes.length == 0 ? routes : Arrays.stream(routes)
+                    .filter(route -> !route.id().equals(routeId))
+                    .toArray(RouteSpatialIndex.IndexedRoute[]::new);
+        }
+    }
+
+    /**
+     * Copy of a grid that routes are added to / removed from
+     */
+    static final class Builder {
+        private final double cellSize;
+        private final int maxCellsPerRoute;
+        private long[] keys;
+        private Cell[] cells;
+        private int size;
+        private int boundaryCells;
+
+        private Builder(RouteGrid grid) {
+            this.cellSize = grid.cellSize;
+            this.maxCellsPerRoute = grid.maxCellsPerRoute;
+            this.keys = grid.keys.clone();
+            this.cells = grid.cells.clone();
+            this.size = grid.size;
+            this.boundaryCells = grid.boundaryCells;
+        }
+
+        /**
+         * Classify the cells covered by a route (routes that do not fit are skipped)
+         * Cells crossed or touched by an edge of the polygon (holes included) are boundary cells; every other
+         * cell lies entirely on one side of the edges, so locating its centre classifies the whole cell.
+         */
+        Builder add(RouteSpatialIndex.IndexedRoute route) {
+            if (!fits(route, cellSize, maxCellsPerRoute)) {
+                return this;
+            }
+
+            Polygon polygon = (Polygon) route.geometry().getGeometry();
+            Envelope envelope = polygon.getEnvelopeInternal();
+            int minRow = cell(envelope.getMinY(), cellSize);
+            int minColumn = cell(envelope.getMinX(), cellSize);
+            int rows = cell(envelope.getMaxY(), cellSize) - minRow + 1;
+            int columns = cell(envelope.getMaxX(), cellSize) - minColumn + 1;
+
+            boolean[] boundary = new boolean[rows * columns];
+            markEdges(polygon.getExteriorRing(), boundary, minRow, minColumn, rows, columns);
+            for (int i = 0; i < polygon.getNumInteriorRing(); i++) {
+                markEdges(polygon.getInteriorRingN(i), boundary, minRow, minColumn, rows, columns);
+            }
+
+            Coordinate center = new Coordinate();
+            for (int row = 0; row < rows; row++) {
+                for (int column = 0; column < columns; column++) {
+                    long key = key(minRow + row, minColumn + column);
+                    if (boundary[row * columns + column]) {
+                        update(key, cell -> cell.with(route, false));
+                        continue;
+                    }
+                    center.x = (minColumn + column + 0.5) * cellSize;
+                    center.y = (minRow + row + 0.5) * cellSize;
+                    // Not the route's indexed locator: building its index for every route would cost more than the grid
+                    if (SimplePointInAreaLocator.locate(center, polygon) != Location.EXTERIOR) {
+                        update(key, cell -> cell.with(route, true));
+                    }
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Mark the cells (enlarged by EPSILON) that an edge of the ring intersects
+         */
+        private void markEdges(LineString ring, boolean[] boundary, int minRow, int minColumn, int rows, int columns) {
+            CoordinateSequence points = ring.getCoordinateSequence();
+            Coordinate from = new Coordinate();
+            Coordinate to = new Coordinate();
+            for (int i = 1; i < points.size(); i++) {
+                points.getCoordinate(i - 1, from);
+                points.getCoordinate(i, to);
+
+                int firstRow = Math.max(0, cell(Math.min(from.y, to.y) - EPSILON, cellSize) - minRow);
+                int lastRow = Math.min(rows - 1, cell(Math.max(from.y, to.y) + EPSILON, cellSize) - minRow);
+                int firstColumn = Math.max(0, cell(Math.min(from.x, to.x) - EPSILON, cellSize) - minColumn);
+                int lastColumn = Math.min(columns - 1, cell(Math.max(from.x, to.x) + EPSILON, cellSize) - minColumn);
+                for (int row = firstRow; row <= lastRow; row++) {
+                    for (int column = firstColumn; column <= lastColumn; column++) {
+                        if (boundary[row * columns + column]) {
+                            continue;
+                        }
+                        Envelope rectangle = new Envelope(
+                                (minColumn + column) * cellSize - EPSILON, (minColumn + column + 1) * cellSize + EPSILON,
+                                (minRow + row) * cellSize - EPSILON, (minRow + row + 1) * cellSize + EPSILON);
+                        // Short edges span one or two cells, longer ones are tested against each cell of their box
+                        if ((firstRow == lastRow && firstColumn == lastColumn)
+                                || new RectangleLineIntersector(rectangle).intersects(from, to)) {
+                            boundary[row * columns + column] = true;
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Remove a route from the cells it was classified in
+         */
+        Builder remove(RouteSpatialIndex.IndexedRoute route) {
+            if (!fits(route, cellSize, maxCellsPerRoute)) {
+                return this;
+            }
+
+            Envelope envelope = route.geometry().getGeometry().getEnvelopeInternal();
+            for (int row = cell(envelope.getMinY(), cellSize); row <= cell(envelope.getMaxY(), cellSize); row++) {
+                for (int column = cell(envelope.getMinX(), cellSize); column <= cell(envelope.getMaxX(), cellSize); column++) {
+                    long key = key(row, column);
+                    if (get(keys, cells, key) != null) {
+                        update(key, cell -> cell.without(route.id()));
+                    }
+                }
+            }
+            return this;
+        }
+
+        RouteGrid build() {
+            return new RouteGrid(cellSize, maxCellsPerRoute, keys, cells, size, boundaryCells);
+        }
+
+        private void update(long key, UnaryOperator<Cell> change) {
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+            }
+            int mask = keys.length - 1;
+            int slot = slot(key, mask);
+            while (cells[slot] != null && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+
+            Cell previous = cells[slot] != null ? cells[slot] : new Cell(NONE, NONE);
+            Cell updated = change.apply(previous);
+            boundaryCells += (updated.boundary.length > 0 ? 1 : 0) - (previous.boundary.length > 0 ? 1 : 0);
+            if (cells[slot] == null) {
+                size++;
+            }
+            keys[slot] = key;
+            // Emptied cells keep their slot until the next resize (no tombstones needed)
+            cells[slot] = updated;
+        }
+
+        /**
+         * Double the table, dropping cells that no longer have any route
+         */
+        private void resize() {
+            long[] oldKeys = keys;
+            Cell[] oldCells = cells;
+            keys = new long[oldKeys.length * 2];
+            cells = new Cell[oldCells.length * 2];
+            size = 0;
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldCells.length; i++) {
+                if (oldCells[i] == null || oldCells[i].isEmpty()) {
+                    continue;
+                }
+                int slot = slot(oldKeys[i], mask);
+                while (cells[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                cells[slot] = oldCells[i];
+                size++;
+            }
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.app.route_app_api.service;
 
+import com.app.route_app_api.dto.CursorPage;
+import com.app.route_app_api.dto.GeometryResolution;
+import com.app.route_app_api.dto.ResponseView;
 import com.app.route_app_api.dto.RouteRequest;
 import com.app.route_app_api.dto.RouteResponse;
 import com.app.route_app_api.entity.OperatingArea;
@@ -11,21 +14,46 @@ import com.app.route_app_api.exception.ResourceNotFoundException;
 import com.app.route_app_api.repository.PostOfficeRepository;
 import com.app.route_app_api.repository.RouteRepository;
 import com.app.route_app_api.repository.OperatingAreaRepository;
+import com.app.route_app_api.util.GeoJsonHelper;
+import com.app.route_app_api.util.CellCovering;
+import com.app.route_app_api.util.GeometryPyramid;
+import com.app.route_app_api.util.PackedGeometryCodec;
+import com.app.route_app_api.util.PolygonOverlapHelper;
+import com.app.route_app_api.util.ProductTypeHelper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.locationtech.jts.geom.Coordinate;
+import org.bson.types.ObjectId;
 import org.locationtech.jts.geom.Geometry;
-import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Route Service with GIS and overlap validation
@@ -39,7 +67,19 @@ public class RouteService {
     private final PostOfficeRepository postOfficeRepository;
     private final OperatingAreaRepository operatingAreaRepository;
     private final MongoTemplate mongoTemplate;
+    private final RouteSpatialIndex routeSpatialIndex;
+    private final OperatingAreaGeometryCache operatingAreaGeometryCache;
+    private final ObjectMapper objectMapper;
+    private final ServiceMetrics serviceMetrics;
+    private final VectorTileService vectorTileService;
 
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int STREAM_CHUNK_SIZE = 200;
+    // Threshold for floating point precision errors in route containment (square degrees)
+    private static final double OUTSIDE_AREA_THRESHOLD = 1e-6;
+
+    @Value("${app.routes.page.max-limit:1000}")
+    private int maxPageSize;
 
     @Transactional
     public RouteResponse createRoute(RouteRequest request) {
@@ -67,6 +107,7 @@ public class RouteService {
         // Check for route overlap
         validateRouteOverlap(request.getArea(), null);
 
+        CellCovering.Covering covering = CellCovering.cover(request.getArea());
         Route route = Route.builder()
                 .code(request.getCode())
                 .name(request.getName())
@@ -74,15 +115,22 @@ public class RouteService {
                 .operatingAreaId(request.getOperatingAreaId())
                 .type(request.getType())
                 .productType(request.getProductType())
+                .productTypes(ProductTypeHelper.parse(request.getProductType()))
                 .staffMain(request.getStaffMain())
                 .staffSub(request.getStaffSub())
                 .color(request.getColor())
                 .area(request.getArea())
+                .packedArea(PackedGeometryCodec.encode(request.getArea()))
+                .coveringCells(covering.cells())
+                .interiorCells(covering.interiorCells())
+                .simplifiedAreas(GeometryPyramid.build(request.getArea()))
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .build();
 
         Route saved = routeRepository.save(route);
+        routeSpatialIndex.upsert(saved);
+        vectorTileService.invalidate(VectorTileService.Layer.ROUTES, saved.getArea());
         log.info("Created route with id: {}", saved.getId());
 
         return mapToResponse(saved);
@@ -109,9 +157,8 @@ public class RouteService {
     public List<RouteResponse> getAllRoutes() {
         log.info("Getting all routes");
 
-        return routeRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        // Projected like the filtered queries, so that the internal copies of the polygon are not read
+        return mapToResponses(mongoTemplate.find(ResponseView.FULL.applyTo(new Query()), Route.class));
     }
 
     /**
@@ -120,123 +167,200 @@ public class RouteService {
      */
     public List<RouteResponse> getRoutes(String staffId, String postOfficeId, Route.RouteType type,
                                          String productType, String operatingAreaId) {
-        log.info("Getting routes with filters: staffId={}, postOfficeId={}, type={}, productType={}, operatingAreaId={}",
-                staffId, postOfficeId, type, productType, operatingAreaId);
+        return getRoutes(staffId, postOfficeId, type, productType, operatingAreaId, ResponseView.FULL, GeometryResolution.FULL);
+    }
+
+    /**
+     * Get routes with combined filters, reading only the fields of the requested view
+     * and the polygons at the requested resolution
+     */
+    public List<RouteResponse> getRoutes(String staffId, String postOfficeId, Route.RouteType type,
+                                         String productType, String operatingAreaId, ResponseView view,
+                                         GeometryResolution resolution) {
+        log.info("Getting routes with filters: staffId={}, postOfficeId={}, type={}, productType={}, operatingAreaId={}, view={}, resolution={}",
+                staffId, postOfficeId, type, productType, operatingAreaId, view, resolution);
 
         // If all filters are null, return all
         if (staffId == null && postOfficeId == null && type == null &&
-                productType == null && operatingAreaId == null) {
+                productType == null && operatingAreaId == null && view == ResponseView.FULL && resolution.isFull()) {
             return getAllRoutes();
         }
 
-        // Parse product types if provided
-        java.util.Set<String> searchProductTypes = new java.util.HashSet<>();
-        if (productType != null && !productType.trim().isEmpty()) {
-            searchProductTypes = java.util.Arrays.stream(productType.split(";"))
-                    .map(String::trim)
-                    .map(String::toUpperCase)
-                    .filter(s -> !s.isEmpty())
-                    .collect(Collectors.toSet());
-            log.info("Parsed search product types: {}", searchProductTypes);
+        // Validate post office and operating area if provided
+        validateRouteFilters(postOfficeId, operatingAreaId);
+
+        // Apply filters in MongoDB - AND logic (must satisfy all provided filters)
+        Query query = view.applyTo(new Query(buildRouteCriteria(staffId, postOfficeId, type, productType, operatingAreaId)), resolution);
+
+        return mapToResponses(withAreasAt(mongoTemplate.find(query, Route.class), view, resolution));
+    }
+
+    /**
+     * Get one page of routes with combined filters, using keyset pagination on _id
+     * @param after id of the last route of the previous page (null for the first page)
+     * @param limit page size (capped at app.routes.page.max-limit)
+     */
+    public CursorPage<RouteResponse> getRoutesPage(String staffId, String postOfficeId, Route.RouteType type,
+                                                   String productType, String operatingAreaId,
+                                                   String after, Integer limit, ResponseView view,
+                                                   GeometryResolution resolution) {
+        log.info("Getting routes page: after={}, limit={}, view={}, resolution={}", after, limit, view, resolution);
+
+        validateRouteFilters(postOfficeId, operatingAreaId);
+        int pageSize = resolvePageSize(limit);
+
+        // Fetch one extra route to know whether there is a next page
+        Query query = view.applyTo(keysetQuery(staffId, postOfficeId, type, productType, operatingAreaId, after), resolution)
+                .limit(pageSize + 1);
+        List<Route> routes = mongoTemplate.find(query, Route.class);
+
+        String nextCursor = null;
+        if (routes.size() > pageSize) {
+            routes = routes.subList(0, pageSize);
+            nextCursor = routes.get(pageSize - 1).getId();
+        }
+
+        return CursorPage.<RouteResponse>builder()
+                .items(mapToResponses(withAreasAt(routes, view, resolution)))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Stream routes with combined filters as NDJSON (one RouteResponse per line)
+     * Routes are read from a MongoDB cursor and written in chunks, so memory use does not
+     * depend on the number of routes. Filters must be validated beforehand with validateRouteFilters,
+     * since errors cannot be reported once the response has started.
+     */
+    public void streamRoutes(String staffId, String postOfficeId, Route.RouteType type,
+                             String productType, String operatingAreaId, String after, ResponseView view,
+                             GeometryResolution resolution, OutputStream outputStream) throws IOException {
+        Query query = view.applyTo(keysetQuery(staffId, postOfficeId, type, productType, operatingAreaId, after), resolution);
+
+        // The response stream is owned by the caller - must not be closed after each value
+        ObjectWriter writer = objectMapper.writerFor(RouteResponse.class)
+                .with(view.filters())
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        long count = 0;
+        List<Route> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+        try (Stream<Route> routes = mongoTemplate.stream(query, Route.class)) {
+            Iterator<Route> iterator = routes.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == STREAM_CHUNK_SIZE || !iterator.hasNext()) {
+                    // Names are resolved per chunk - one $in query per collection per chunk
+                    for (RouteResponse response : mapToResponses(withAreasAt(chunk, view, resolution))) {
+                        writer.writeValue(outputStream, response);
+                        outputStream.write('\n');
+                    }
+                    outputStream.flush();
+                    count += chunk.size();
+                    chunk.clear();
+                }
+            }
         }
 
-        // Validate post office if provided
+        log.info("Streamed {} routes", count);
+    }
+
+    /**
+     * Validate that the post office and operating area filters (if provided) exist
+     */
+    public void validateRouteFilters(String postOfficeId, String operatingAreaId) {
         if (postOfficeId != null && !postOfficeRepository.existsById(postOfficeId)) {
             throw new ResourceNotFoundException("Post office not found with id: " + postOfficeId);
         }
 
-        // Validate operating area if provided
         if (operatingAreaId != null && !operatingAreaRepository.existsById(operatingAreaId)) {
             throw new ResourceNotFoundException("Operating area not found with id: " + operatingAreaId);
         }
+    }
 
-        final java.util.Set<String> finalSearchProductTypes = searchProductTypes;
-
-        // Apply filters - AND logic (must satisfy all provided filters)
-        return routeRepository.findAll().stream()
-                .filter(route -> {
-                    // Filter by staffId if provided (main or sub)
-                    if (staffId != null) {
-                        boolean isStaff = staffId.equals(route.getStaffMain()) || staffId.equals(route.getStaffSub());
-                        if (!isStaff) {
-                            log.debug("Route '{}' filtered out - staff mismatch", route.getCode());
-                            return false;
-                        }
-                    }
+    /**
+     * Filter query ordered by _id, starting after the given cursor (served by the _id index)
+     */
+    private Query keysetQuery(String staffId, String postOfficeId, Route.RouteType type,
+                              String productType, String operatingAreaId, String after) {
+        Criteria criteria = buildRouteCriteria(staffId, postOfficeId, type, productType, operatingAreaId);
 
-                    // Filter by postOfficeId if provided
-                    if (postOfficeId != null && !postOfficeId.equals(route.getPostOfficeId())) {
-                        log.debug("Route '{}' filtered out - postOfficeId mismatch", route.getCode());
-                        return false;
-                    }
+        if (after != null && !after.isBlank()) {
+            if (!ObjectId.isValid(after)) {
+                throw new BusinessRuleException("Invalid cursor: " + after);
+            }
+            criteria = new Criteria().andOperator(criteria, Criteria.where("_id").gt(new ObjectId(after)));
+        }
 
-                    // Filter by type if provided
-                    if (type != null && !type.equals(route.getType())) {
-                        log.debug("Route '{}' filtered out - type mismatch", route.getCode());
-                        return false;
-                    }
+        return new Query(criteria).with(Sort.by(Sort.Direction.ASC, "_id"));
+    }
 
-                    // Filter by productType if provided
-                    if (!finalSearchProductTypes.isEmpty()) {
-                        if (route.getProductType() == null) {
-                            log.debug("Route '{}' filtered out - no product type", route.getCode());
-                            return false;
-                        }
-
-                        java.util.Set<String> routeProductTypes = java.util.Arrays.stream(route.getProductType().split(";"))
-                                .map(String::trim)
-                                .map(String::toUpperCase)
-                                .filter(s -> !s.isEmpty())
-                                .collect(Collectors.toSet());
-
-                        // Check if there's any intersection
-                        boolean hasMatch = false;
-                        for (String searchType : finalSearchProductTypes) {
-                            if (routeProductTypes.contains(searchType)) {
-                                hasMatch = true;
-                                break;
-                            }
-                        }
-
-                        if (!hasMatch) {
-                            log.debug("Route '{}' filtered out - no matching product type. Route has {}, searching for {}",
-                                    route.getCode(), routeProductTypes, finalSearchProductTypes);
-                            return false;
-                        }
-                    }
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return Math.min(DEFAULT_PAGE_SIZE, maxPageSize);
+        }
+        if (limit <= 0) {
+            throw new BusinessRuleException("limit must be greater than 0");
+        }
+        return Math.min(limit, maxPageSize);
+    }
 
-                    // Filter by operatingAreaId if provided
-                    if (operatingAreaId != null && !operatingAreaId.equals(route.getOperatingAreaId())) {
-                        log.debug("Route '{}' filtered out - operatingAreaId mismatch", route.getCode());
-                        return false;
-                    }
+    /**
+     * Build the route filter criteria (AND of all provided filters)
+     * Each filter is backed by an index created in MongoIndexInitializer
+     */
+    private Criteria buildRouteCriteria(String staffId, String postOfficeId, Route.RouteType type,
+                                        String productType, String operatingAreaId) {
+        List<Criteria> filters = new ArrayList<>();
 
-                    log.debug("✅ Route '{}' passes all filters", route.getCode());
-                    return true;
-                })
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        // Filter by staffId if provided (main or sub)
+        if (staffId != null) {
+            filters.add(staffCriteria(staffId));
+        }
+
+        if (postOfficeId != null) {
+            filters.add(Criteria.where("postOfficeId").is(postOfficeId));
+        }
+
+        if (type != null) {
+            filters.add(Criteria.where("type").is(type));
+        }
+
+        // Filter by productType if provided - match if the route has ANY of the searched types
+        if (productType != null && !productType.trim().isEmpty()) {
+            Set<String> searchProductTypes = ProductTypeHelper.parse(productType);
+            log.info("Parsed search product types: {}", searchProductTypes);
+
+            if (!searchProductTypes.isEmpty()) {
+                filters.add(Criteria.where("productTypes").in(searchProductTypes));
+            }
+        }
+
+        if (operatingAreaId != null) {
+            filters.add(Criteria.where("operatingAreaId").is(operatingAreaId));
+        }
+
+        return filters.isEmpty() ? new Criteria() : new Criteria().andOperator(filters);
+    }
+
+    private Criteria staffCriteria(String staffId) {
+        return new Criteria().orOperator(
+                Criteria.where("staffMain").is(staffId),
+                Criteria.where("staffSub").is(staffId));
     }
 
     public List<RouteResponse> getRoutesByStaff(String staffId) {
         log.info("Getting routes by staff id: {}", staffId);
 
         // Find routes where staff is either main or sub
-        List<Route> routes = routeRepository.findAll().stream()
-                .filter(route -> staffId.equals(route.getStaffMain()) || staffId.equals(route.getStaffSub()))
-                .collect(Collectors.toList());
-
-        return routes.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return mapToResponses(mongoTemplate.find(ResponseView.FULL.applyTo(new Query(staffCriteria(staffId))), Route.class));
     }
 
     public List<RouteResponse> getRoutesByType(Route.RouteType type) {
         log.info("Getting routes by type: {}", type);
 
-        return routeRepository.findByType(type).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        // Projected like the filtered queries, so that the internal copies of the polygon are not read
+        Query query = new Query(Criteria.where("type").is(type));
+        return mapToResponses(mongoTemplate.find(ResponseView.FULL.applyTo(query), Route.class));
     }
 
     public List<RouteResponse> getRoutesByPostOfficeId(String postOfficeId) {
@@ -247,39 +371,17 @@ public class RouteService {
             throw new ResourceNotFoundException("Post office not found with id: " + postOfficeId);
         }
 
-        List<Route> routes = routeRepository.findAll().stream()
-                .filter(route -> postOfficeId.equals(route.getPostOfficeId()))
-                .collect(Collectors.toList());
-
-        return routes.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        Query query = new Query(Criteria.where("postOfficeId").is(postOfficeId));
+        return mapToResponses(mongoTemplate.find(ResponseView.FULL.applyTo(query), Route.class));
     }
 
     public List<RouteResponse> getRoutesByProductType(String productType) {
         log.info("Getting routes by product type: {}", productType);
 
-        // Find routes where productType contains the specified type (handle semicolon-separated values)
-        List<Route> routes = routeRepository.findAll().stream()
-                .filter(route -> {
-                    if (route.getProductType() == null) {
-                        return false;
-                    }
-                    // Check if productType contains the specified type
-                    // Handle cases like "HH", "HH;KH", "KH;HH;TH"
-                    String[] types = route.getProductType().split(";");
-                    for (String type : types) {
-                        if (type.trim().equalsIgnoreCase(productType.trim())) {
-                            return true;
-                        }
-                    }
-                    return false;
-                })
-                .collect(Collectors.toList());
+        // Find routes whose normalized productTypes array contains the specified type (multikey index)
+        Query query = new Query(Criteria.where("productTypes").is(productType.trim().toUpperCase()));
 
-        return routes.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return mapToResponses(mongoTemplate.find(ResponseView.FULL.applyTo(query), Route.class));
     }
 
     public List<RouteResponse> getRoutesByOperatingAreaId(String operatingAreaId) {
@@ -291,6 +393,7 @@ public class RouteService {
 
         // First, get the operating area
         Query query = new Query(Criteria.where("_id").is(operatingAreaId));
+        query.fields().include("area");
         var operatingArea = mongoTemplate.findOne(query, com.app.route_app_api.entity.OperatingArea.class);
 
         if (operatingArea == null) {
@@ -302,11 +405,9 @@ public class RouteService {
                 Criteria.where("area").intersects(operatingArea.getArea())
         );
 
-        List<Route> routes = mongoTemplate.find(routeQuery, Route.class);
+        List<Route> routes = mongoTemplate.find(ResponseView.FULL.applyTo(routeQuery), Route.class);
 
-        return routes.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return mapToResponses(routes);
     }
 
     @Transactional
@@ -339,19 +440,28 @@ public class RouteService {
         // Check for route overlap (excluding current route)
         validateRouteOverlap(request.getArea(), id);
 
+        GeoJsonPolygon previousArea = route.getArea();
         route.setCode(request.getCode());
         route.setName(request.getName());
         route.setPostOfficeId(request.getPostOfficeId());
         route.setOperatingAreaId(request.getOperatingAreaId());
         route.setType(request.getType());
         route.setProductType(request.getProductType());
+        route.setProductTypes(ProductTypeHelper.parse(request.getProductType()));
         route.setStaffMain(request.getStaffMain());
         route.setStaffSub(request.getStaffSub());
         route.setColor(request.getColor());
         route.setArea(request.getArea());
+        route.setPackedArea(PackedGeometryCodec.encode(request.getArea()));
+        CellCovering.Covering covering = CellCovering.cover(request.getArea());
+        route.setCoveringCells(covering.cells());
+        route.setInteriorCells(covering.interiorCells());
+        route.setSimplifiedAreas(GeometryPyramid.build(request.getArea()));
         route.setUpdatedAt(LocalDateTime.now());
 
         Route updated = routeRepository.save(route);
+        routeSpatialIndex.upsert(updated);
+        vectorTileService.invalidate(VectorTileService.Layer.ROUTES, previousArea, updated.getArea());
         log.info("Updated route with id: {}", updated.getId());
 
         return mapToResponse(updated);
@@ -361,11 +471,12 @@ public class RouteService {
     public void deleteRoute(String id) {
         log.info("Deleting route with id: {}", id);
 
-        if (!routeRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Route not found with id: " + id);
-        }
+        Route route = routeRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Route not found with id: " + id));
 
         routeRepository.deleteById(id);
+        routeSpatialIndex.remove(id);
+        vectorTileService.invalidate(VectorTileService.Layer.ROUTES, route.getArea());
         log.info("Deleted route with id: {}", id);
     }
 
@@ -385,24 +496,17 @@ public class RouteService {
         }
 
         // Parse route product types
-        java.util.Set<String> routeTypes = java.util.Arrays.stream(routeProductType.split(";"))
-                .map(String::trim)
-                .map(String::toUpperCase)
-                .filter(s -> !s.isEmpty())
-                .collect(Collectors.toSet());
-
-        // Parse operating area product types
-        java.util.Set<String> operatingAreaTypes = java.util.Arrays.stream(operatingArea.getProductType().split(";"))
-                .map(String::trim)
-                .map(String::toUpperCase)
-                .filter(s -> !s.isEmpty())
-                .collect(Collectors.toSet());
+        Set<String> routeTypes = ProductTypeHelper.parse(routeProductType);
+
+        // Normalized operating area product types
+        Set<String> operatingAreaTypes = ProductTypeHelper.normalized(
+                operatingArea.getProductTypes(), operatingArea.getProductType());
 
         log.debug("Route product types: {}", routeTypes);
         log.debug("Operating area product types: {}", operatingAreaTypes);
 
         // Check if all route product types are within operating area product types
-        java.util.Set<String> invalidTypes = new java.util.HashSet<>(routeTypes);
+        Set<String> invalidTypes = new HashSet<>(routeTypes);
         invalidTypes.removeAll(operatingAreaTypes);
 
         if (!invalidTypes.isEmpty()) {
@@ -420,32 +524,71 @@ public class RouteService {
      * Validate route overlap with existing routes
      * Throws BusinessRuleException if routes have actual area overlap
      * (ignores shared edges or vertices only)
+     * Candidates always come from MongoDB ($geoIntersects on the 2dsphere index), never from the in-memory
+     * index, which may not yet hold routes written by other instances. They are checked exactly against
+     * a prepared polygon of the new area built once per validation.
      */
     private void validateRouteOverlap(org.springframework.data.mongodb.core.geo.GeoJsonPolygon newArea, String excludeRouteId) {
         log.debug("Validating route overlap");
 
-        // Get all routes except the one being updated
-        Query query = new Query();
-        if (excludeRouteId != null) {
-            query.addCriteria(Criteria.where("_id").ne(excludeRouteId));
-        }
+        long start = System.nanoTime();
+        PreparedGeometry preparedNewArea = PreparedGeometryFactory.prepare(GeoJsonHelper.toJtsPolygon(newArea));
 
-        List<Route> existingRoutes = mongoTemplate.find(query, Route.class);
+        int examined = 0;
+        boolean overlap = false;
+        try {
+            Query query = new Query(Criteria.where("area").intersects(newArea));
+            if (excludeRouteId != null) {
+                query.addCriteria(Criteria.where("_id").ne(excludeRouteId));
+            }
+            // The packed polygon is read instead of the GeoJSON polygon (the bulk of each document)
+            query.fields().include("name", "code", "packedArea");
+            List<Route> candidates = mongoTemplate.find(query, Route.class);
+            loadUnpackedAreas(candidates);
+
+            for (Route existingRoute : candidates) {
+                log.debug("Checking overlap with route: {} (code: {})", existingRoute.getName(), existingRoute.getCode());
+
+                examined++;
+                Polygon existingArea = PackedGeometryCodec.toJtsPolygon(existingRoute.getPackedArea(), existingRoute.getArea());
+                if (PolygonOverlapHelper.hasAreaOverlap(preparedNewArea, existingArea)) {
+                    overlap = true;
+                    throw overlapException(existingRoute.getName(), existingRoute.getCode());
+                }
+            }
+        } finally {
+            serviceMetrics.recordOverlapValidation("route", false, examined, overlap, System.nanoTime() - start);
+        }
 
-        for (Route existingRoute : existingRoutes) {
-            log.debug("Checking overlap with route: {} (code: {})", existingRoute.getName(), existingRoute.getCode());
+        log.debug("No overlapping routes found");
+    }
 
-            // Check if polygons have actual area overlap using JTS
-            if (checkPolygonOverlap(newArea, existingRoute.getArea())) {
-                throw new BusinessRuleException(
-                        String.format("Route overlaps with existing route '%s' (code: %s). " +
-                                        "Two routes cannot have overlapping areas.",
-                                existingRoute.getName(), existingRoute.getCode())
-                );
+    /**
+     * Read the GeoJSON polygon of routes written before the packed polygon existed (single $in query)
+     */
+    private void loadUnpackedAreas(List<Route> routes) {
+        Map<String, Route> unpacked = new HashMap<>();
+        for (Route route : routes) {
+            if (route.getPackedArea() == null) {
+                unpacked.put(route.getId(), route);
             }
         }
+        if (unpacked.isEmpty()) {
+            return;
+        }
 
-        log.debug("No overlapping routes found");
+        Query query = new Query(Criteria.where("_id").in(unpacked.keySet()));
+        query.fields().include("area");
+        mongoTemplate.find(query, Route.class)
+                .forEach(stored -> unpacked.get(stored.getId()).setArea(stored.getArea()));
+    }
+
+    private BusinessRuleException overlapException(String routeName, String routeCode) {
+        return new BusinessRuleException(
+                String.format("Route overlaps with existing route '%s' (code: %s). " +
+                                "Two routes cannot have overlapping areas.",
+                        routeName, routeCode)
+        );
     }
 
     /**
@@ -461,29 +604,34 @@ public class RouteService {
         log.debug("Validating route is within operating area: {}", operatingArea.getName());
 
         try {
-            GeometryFactory geometryFactory = new GeometryFactory();
-
-            Polygon routePolygon = convertToJTSPolygon(routeArea, geometryFactory);
-            Polygon operatingAreaPolygon = convertToJTSPolygon(operatingArea.getArea(), geometryFactory);
+            Polygon routePolygon = GeoJsonHelper.toJtsPolygon(routeArea);
+            OperatingAreaGeometryCache.OperatingAreaGeometry operatingAreaGeometry =
+                    operatingAreaGeometryCache.get(operatingArea);
 
-            double THRESHOLD = 1e-6; // Threshold for floating point precision errors
-
-            // First check: Use coveredBy() for standard case
-            if (routePolygon.coveredBy(operatingAreaPolygon)) {
+            // First check: prepared covers() for standard case
+            if (operatingAreaGeometry.prepared().covers(routePolygon)) {
                 log.debug("Route is within operating area boundaries (coveredBy check passed)");
                 return;
             }
 
-            // Second check: Calculate the area that extends outside the operating area
+            // Second check: route within the tolerance buffer - the part outside the operating area
+            // is at most the area of the tolerance band
+            if (operatingAreaGeometry.toleranceBandArea() <= OUTSIDE_AREA_THRESHOLD
+                    && operatingAreaGeometry.buffered().covers(routePolygon)) {
+                log.debug("Route is within operating area boundaries (within tolerance buffer)");
+                return;
+            }
+
+            // Third check: Calculate the area that extends outside the operating area
             // and check if it's negligible (within threshold)
-            Geometry difference = routePolygon.difference(operatingAreaPolygon);
+            Geometry difference = routePolygon.difference(operatingAreaGeometry.polygon());
             double outsideArea = difference.getArea();
 
-            log.debug("Area outside operating area: {} (threshold: {})", outsideArea, THRESHOLD);
+            log.debug("Area outside operating area: {} (threshold: {})", outsideArea, OUTSIDE_AREA_THRESHOLD);
 
-            if (outsideArea <= THRESHOLD) {
+            if (outsideArea <= OUTSIDE_AREA_THRESHOLD) {
                 log.debug("Route is within operating area boundaries (difference within threshold: {} <= {})",
-                        outsideArea, THRESHOLD);
+                        outsideArea, OUTSIDE_AREA_THRESHOLD);
                 return;
             }
 
@@ -505,87 +653,76 @@ public class RouteService {
     }
 
     /**
-     * Check if two polygons have actual area overlap using JTS
-     * Returns true only if polygons have intersecting area (not just touching edges or vertices)
+     * Replace the polygons of routes read at a simplified resolution with the pyramid level read by the projection
+     * Routes written before the pyramid existed get their full polygon, read with a single $in query.
      */
-    private boolean checkPolygonOverlap(
-            org.springframework.data.mongodb.core.geo.GeoJsonPolygon polygon1,
-            org.springframework.data.mongodb.core.geo.GeoJsonPolygon polygon2) {
-
-        try {
-            GeometryFactory geometryFactory = new GeometryFactory();
-
-            Polygon jtsPolygon1 = convertToJTSPolygon(polygon1, geometryFactory);
-            Polygon jtsPolygon2 = convertToJTSPolygon(polygon2, geometryFactory);
-
-            // If polygons only touch at boundary (shared edge or vertex), not overlap
-            if (jtsPolygon1.touches(jtsPolygon2)) {
-                log.debug("Polygons only touch at boundary (shared edge or vertex) - no overlap");
-                return false;
-            }
-
-            // Calculate intersection area
-            Geometry intersection = jtsPolygon1.intersection(jtsPolygon2);
-            double overlapArea = intersection.getArea();
-
-            double THRESHOLD = 1e-6; // Threshold for negligible area
-
-            log.debug("Overlap area: {}", overlapArea);
-
-            if (overlapArea > THRESHOLD) {
-                log.debug("Polygons overlap with significant area");
-                return true;
-            }
+    private List<Route> withAreasAt(List<Route> routes, ResponseView view, GeometryResolution resolution) {
+        if (resolution.isFull() || view == ResponseView.SUMMARY) {
+            return routes;
+        }
 
-            // Check if one polygon contains another
-            if (jtsPolygon1.contains(jtsPolygon2) || jtsPolygon2.contains(jtsPolygon1)) {
-                log.debug("One polygon contains another");
-                return true;
+        Map<String, Route> missing = new HashMap<>();
+        for (Route route : routes) {
+            route.setArea(resolution.select(route.getArea(), route.getSimplifiedAreas()));
+            route.setSimplifiedAreas(null);
+            if (route.getArea() == null) {
+                missing.put(route.getId(), route);
             }
+        }
 
-            return false;
-
-        } catch (Exception e) {
-            log.error("Error checking polygon overlap with JTS", e);
-            return false;
+        if (!missing.isEmpty()) {
+            Query query = new Query(Criteria.where("_id").in(missing.keySet()));
+            query.fields().include("area");
+            mongoTemplate.find(query, Route.class)
+                    .forEach(stored -> missing.get(stored.getId()).setArea(stored.getArea()));
         }
+        return routes;
+    }
+
+    private RouteResponse mapToResponse(Route route) {
+        return mapToResponses(List.of(route)).get(0);
     }
 
     /**
-     * Convert Spring Data MongoDB GeoJsonPolygon to JTS Polygon
+     * Map routes to responses, resolving post office and operating area names in batch:
+     * one $in query per collection for the distinct ids of the whole list instead of
+     * two findById calls per route
      */
-    private Polygon convertToJTSPolygon(
-            org.springframework.data.mongodb.core.geo.GeoJsonPolygon geoJsonPolygon,
-            GeometryFactory geometryFactory) {
-
-        List<org.springframework.data.geo.Point> points = geoJsonPolygon.getPoints();
-
-        // Convert to JTS Coordinates
-        Coordinate[] coordinates = new Coordinate[points.size()];
-        for (int i = 0; i < points.size(); i++) {
-            org.springframework.data.geo.Point point = points.get(i);
-            coordinates[i] = new Coordinate(point.getX(), point.getY());
-        }
+    private List<RouteResponse> mapToResponses(List<Route> routes) {
+        Map<String, String> postOfficeNames = findNamesByIds(PostOffice.class,
+                routes.stream().map(Route::getPostOfficeId), PostOffice::getId, PostOffice::getName);
+        Map<String, String> operatingAreaNames = findNamesByIds(OperatingArea.class,
+                routes.stream().map(Route::getOperatingAreaId), OperatingArea::getId, OperatingArea::getName);
 
-        // Create JTS Polygon
-        return geometryFactory.createPolygon(coordinates);
+        return routes.stream()
+                .map(route -> toResponse(route,
+                        postOfficeNames.get(route.getPostOfficeId()),
+                        operatingAreaNames.get(route.getOperatingAreaId())))
+                .collect(Collectors.toList());
     }
 
-    private RouteResponse mapToResponse(Route route) {
-        String postOfficeName = null;
-        if (route.getPostOfficeId() != null) {
-            postOfficeName = postOfficeRepository.findById(route.getPostOfficeId())
-                    .map(PostOffice::getName)
-                    .orElse(null);
+    /**
+     * Resolve id -> name for the distinct non-null ids with a single $in query (name field only)
+     */
+    private <T> Map<String, String> findNamesByIds(Class<T> entityClass, Stream<String> ids,
+                                                   Function<T, String> idGetter, Function<T, String> nameGetter) {
+        Set<String> distinctIds = ids.filter(Objects::nonNull).collect(Collectors.toSet());
+        if (distinctIds.isEmpty()) {
+            // Looked up with null ids by the caller - Map.of() would throw on get(null)
+            return Collections.emptyMap();
         }
 
-        String operatingAreaName = null;
-        if (route.getOperatingAreaId() != null) {
-            operatingAreaName = operatingAreaRepository.findById(route.getOperatingAreaId())
-                    .map(OperatingArea::getName)
-                    .orElse(null);
+        Query query = new Query(Criteria.where("_id").in(distinctIds));
+        query.fields().include("name");
+
+        Map<String, String> names = new HashMap<>();
+        for (T entity : mongoTemplate.find(query, entityClass)) {
+            names.put(idGetter.apply(entity), nameGetter.apply(entity));
         }
+        return names;
+    }
 
+    private RouteResponse toResponse(Route route, String postOfficeName, String operatingAreaName) {
         return RouteResponse.builder()
                 .id(route.getId())
                 .code(route.getCode())
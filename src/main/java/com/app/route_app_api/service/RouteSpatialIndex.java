@@ -0,0 +1,263 @@
+package com.app.route_app_api.service;
+
+import com.app.route_app_api.entity.Route;
+import com.app.route_app_api.util.PackedGeometryCodec;
+import com.app.route_app_api.util.ProductTypeHelper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.algorithm.locate.IndexedPointInAreaLocator;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Location;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.locationtech.jts.index.strtree.STRtree;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory spatial index of route polygons (JTS STRtree of prepared geometries)
+ * Point lookups are answered locally without a MongoDB round trip, from a precomputed grid lookup table
+ * (RouteGrid) when enabled: only points in cells crossed by a route edge need an exact polygon test.
+ * The index is loaded lazily on first use, patched by RouteService on every write and refreshed in the
+ * background (see CopyOnWriteSpatialIndex).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RouteSpatialIndex extends CopyOnWriteSpatialIndex<Route, RouteSpatialIndex.IndexedRoute, RouteSpatialIndex.RouteSnapshot> {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.gis.route-index.enabled:true}")
+    private boolean enabled;
+
+    // Reload interval so that writes made by other instances become visible (0 = never reload)
+    @Value("${app.gis.route-index.refresh-seconds:60}")
+    private long refreshSeconds;
+
+    // Grid lookup table cell size in degrees (0 = no grid, point lookups go through the STRtree)
+    @Value("${app.gis.route-index.grid.cell-size-degrees:0.0002}")
+    private double gridCellSize;
+
+    // Routes covering more grid cells than this are looked up through the STRtree
+    @Value("${app.gis.route-index.grid.max-cells-per-route:4096}")
+    private int gridMaxCellsPerRoute;
+
+    @Override
+    protected boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    protected long refreshSeconds() {
+        return refreshSeconds;
+    }
+
+    @Override
+    protected String entityName() {
+        return "route";
+    }
+
+    /**
+     * Find routes whose polygon contains the point (boundary included, like $geoIntersects)
+     * @param longitude Longitude (kinh độ)
+     * @param latitude Latitude (vĩ độ)
+     * @param productType optional single product type filter (case-insensitive)
+     */
+    public List<IndexedRoute> findContaining(double longitude, double latitude, String productType) {
+        RouteSnapshot current = current();
+        String filter = productType == null || productType.trim().isEmpty() ? null : productType.trim().toUpperCase();
+
+        if (current.grid != null) {
+            List<IndexedRoute> result = current.grid.findContaining(longitude, latitude, filter);
+            if (current.ungridded != null) {
+                Coordinate coordinate = new Coordinate(longitude, latitude);
+                current.ungridded.query(new Envelope(coordinate), item -> {
+                    IndexedRoute route = (IndexedRoute) item;
+                    if ((filter == null || route.productTypes.contains(filter))
+                            && route.locator.locate(coordinate) != Location.EXTERIOR) {
+                        result.add(route);
+                    }
+                });
+            }
+            return result;
+        }
+
+        STRtree tree;
+        if (filter == null) {
+            tree = current.all;
+        } else {
+            tree = current.byProductType.get(filter);
+            if (tree == null) {
+                return Collections.emptyList();
+            }
+        }
+
+        Coordinate coordinate = new Coordinate(longitude, latitude);
+        List<IndexedRoute> result = new ArrayList<>(1);
+        tree.query(new Envelope(coordinate), item -> {
+            IndexedRoute route = (IndexedRoute) item;
+            if (route.locator.locate(coordinate) != Location.EXTERIOR) {
+                result.add(route);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Find routes whose bounding box intersects the envelope (candidates for exact geometry checks)
+     */
+    public List<IndexedRoute> findCandidates(Envelope envelope) {
+        List<IndexedRoute> result = new ArrayList<>();
+        current().all.query(envelope, item -> result.add((IndexedRoute) item));
+        return result;
+    }
+
+    @Override
+    protected RouteSnapshot rebuild(RouteSnapshot current, Map<String, IndexedRoute> routes,
+                                    IndexedRoute previous, IndexedRoute indexed) {
+        RouteGrid grid = null;
+        if (current.grid != null) {
+            // Only the cells of the old and new polygon are reclassified
+            RouteGrid.Builder builder = current.grid.toBuilder();
+            if (previous != null) {
+                builder.remove(previous);
+            }
+            if (indexed != null) {
+                builder.add(indexed);
+            }
+            grid = builder.build();
+        }
+        return new RouteSnapshot(routes, current.loadedAt(), grid);
+    }
+
+    @Override
+    protected String idOf(Route route) {
+        return route.getId();
+    }
+
+    @Override
+    protected RouteSnapshot load() {
+        long start = System.currentTimeMillis();
+
+        // Documents that have the packed polygon are read without the GeoJSON polygon (the bulk of each document)
+        Query packedQuery = new Query(Criteria.where("packedArea").exists(true));
+        packedQuery.fields().exclude("area", "simplifiedAreas");
+        List<Route> routes = new ArrayList<>(mongoTemplate.find(packedQuery, Route.class));
+        routes.addAll(mongoTemplate.find(new Query(Criteria.where("packedArea").exists(false)), Route.class));
+
+        Map<String, IndexedRoute> indexed = new LinkedHashMap<>();
+        for (Route route : routes) {
+            IndexedRoute entry = index(route);
+            if (entry != null) {
+                indexed.put(route.getId(), entry);
+            }
+        }
+
+        RouteGrid grid = null;
+        if (gridCellSize > 0) {
+            RouteGrid.Builder builder = RouteGrid.empty(gridCellSize, gridMaxCellsPerRoute).toBuilder();
+            indexed.values().forEach(builder::add);
+            grid = builder.build();
+        }
+
+        RouteSnapshot loaded = new RouteSnapshot(indexed, System.currentTimeMillis(), grid);
+        if (grid != null) {
+            log.info("Loaded route spatial index with {} routes in {} ms (grid: {} cells of {} degrees, {} boundary cells)",
+                    indexed.size(), System.currentTimeMillis() - start, grid.size(), gridCellSize, grid.boundaryCells());
+        } else {
+            log.info("Loaded route spatial index with {} routes in {} ms", indexed.size(), System.currentTimeMillis() - start);
+        }
+        return loaded;
+    }
+
+    @Override
+    protected IndexedRoute index(Route route) {
+        if (route.getId() == null || (route.getArea() == null && route.getPackedArea() == null)) {
+            return null;
+        }
+        try {
+            Polygon polygon = PackedGeometryCodec.toJtsPolygon(route.getPackedArea(), route.getArea());
+            return new IndexedRoute(
+                    route.getId(),
+                    route.getCode(),
+                    route.getName(),
+                    route.getType(),
+                    route.getProductType(),
+                    route.getColor(),
+                    ProductTypeHelper.normalized(route.getProductTypes(), route.getProductType()),
+                    PreparedGeometryFactory.prepare(polygon),
+                    new IndexedPointInAreaLocator(polygon));
+        } catch (Exception e) {
+            log.warn("Skipping route {} (code: {}) in spatial index - invalid polygon: {}",
+                    route.getId(), route.getCode(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Indexed route: the fields needed to answer lookups plus its prepared geometry
+     */
+    public record IndexedRoute(
+            String id,
+            String code,
+            String name,
+            Route.RouteType type,
+            String productType,
+            String color,
+            Set<String> productTypes,
+            PreparedGeometry geometry,
+            IndexedPointInAreaLocator locator) {
+    }
+
+    /**
+     * Routes by bounding box (all and per product type) and the point lookup grid
+     */
+    static final class RouteSnapshot extends CopyOnWriteSpatialIndex.Snapshot<IndexedRoute> {
+        private final STRtree all;
+        private final Map<String, STRtree> byProductType;
+        // Point lookup table (null = disabled) and the routes too large for it (null = none)
+        private final RouteGrid grid;
+        private final STRtree ungridded;
+
+        private RouteSnapshot(Map<String, IndexedRoute> routes, long loadedAt, RouteGrid grid) {
+            super(routes, loadedAt);
+            this.grid = grid;
+            this.all = new STRtree();
+            this.byProductType = new HashMap<>();
+
+            STRtree large = new STRtree();
+            for (IndexedRoute route : routes.values()) {
+                Envelope envelope = route.geometry().getGeometry().getEnvelopeInternal();
+                all.insert(envelope, route);
+                for (String productType : route.productTypes()) {
+                    byProductType.computeIfAbsent(productType, k -> new STRtree()).insert(envelope, route);
+                }
+                if (grid != null && !grid.fits(route)) {
+                    large.insert(envelope, route);
+                }
+            }
+
+            // Build eagerly - a built STRtree is read-only and safe for concurrent queries
+            all.build();
+            byProductType.values().forEach(STRtree::build);
+            this.ungridded = large.isEmpty() ? null : large;
+            if (ungridded != null) {
+                ungridded.build();
+            }
+        }
+    }
+}
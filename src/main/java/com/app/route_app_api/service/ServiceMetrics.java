@@ -0,0 +1,152 @@
+package com.app.route_app_api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Micrometer meters of the service hot paths (scraped from /actuator/prometheus)
+ * - gis.check_point: point-in-polygon lookups by product type filter and source (index / mongo),
+ *   plus a histogram of the number of matching routes
+ * - gis.overlap.validation: overlap validation on route / operating area writes, with the number of
+ *   candidates examined exactly and rejected (bounding box matched but no real overlap)
+ * - geocoder.upstream: ViettelPost Location API calls by outcome, and address lookups by source
+ * Mongo timings come from Spring Boot: spring.data.repository.invocations (per repository method) and
+ * mongodb.driver.commands (per command and collection, including MongoTemplate queries).
+ *
+ * Meters are cached per tag combination instead of being looked up in the registry on every call.
+ */
+@Component
+@RequiredArgsConstructor
+public class ServiceMetrics {
+
+    static final String PRODUCT_TYPE_ALL = "all";
+    static final String PRODUCT_TYPE_OTHER = "other";
+
+    private final MeterRegistry meterRegistry;
+
+    // Product type tag values - anything else is tagged "other" to keep the tag cardinality bounded
+    @Value("${app.metrics.product-types:HH,KH,TH}")
+    private String[] productTypes;
+
+    private Set<String> knownProductTypes;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        knownProductTypes = Arrays.stream(productTypes)
+                .map(value -> value.trim().toUpperCase())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Record one point-in-polygon lookup
+     * @param productType product type filter of the request (null for none)
+     * @param indexed true if served from the in-memory route index, false for the MongoDB query
+     */
+    public void recordCheckPoint(String productType, boolean indexed, int matches, long durationNanos) {
+        String productTypeTag = productTypeTag(productType);
+        String source = source(indexed);
+
+        timers.computeIfAbsent("check_point:" + productTypeTag + ":" + source, key -> Timer.builder("gis.check_point")
+                        .description("Point-in-polygon lookups")
+                        .tags("productType", productTypeTag, "source", source)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+
+        summaries.computeIfAbsent("check_point:" + productTypeTag, key -> DistributionSummary.builder("gis.check_point.matches")
+                        .description("Routes matching a point")
+                        .tags("productType", productTypeTag)
+                        // le=0.5 bucket = points without any matching route
+                        .serviceLevelObjectives(0.5, 1, 2, 3, 5, 10)
+                        .register(meterRegistry))
+                .record(matches);
+    }
+
+    /**
+     * Record one overlap validation
+     * @param entity "route" or "operating_area"
+     * @param examined candidates checked exactly (after the bounding box / $geoIntersects prefilter)
+     * @param overlap true if the validation failed with an overlap (the last examined candidate)
+     */
+    public void recordOverlapValidation(String entity, boolean indexed, int examined, boolean overlap, long durationNanos) {
+        String source = source(indexed);
+        String outcome = overlap ? "overlap" : "ok";
+
+        timers.computeIfAbsent("overlap:" + entity + ":" + source + ":" + outcome, key -> Timer.builder("gis.overlap.validation")
+                        .description("Overlap validations on writes")
+                        .tags("entity", entity, "source", source, "outcome", outcome)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+
+        counter("gis.overlap.candidates.examined", "Overlap candidates checked exactly", "entity", entity, "source", source)
+                .increment(examined);
+        counter("gis.overlap.candidates.rejected", "Overlap candidates without real overlap", "entity", entity, "source", source)
+                .increment(overlap ? examined - 1 : examined);
+    }
+
+    /**
+     * Record one ViettelPost Location API call
+     * @param outcome "success", "unavailable" (circuit open, bulkhead full, timeout) or "error"
+     */
+    public void recordGeocoderCall(int addresses, String outcome, long durationNanos) {
+        timers.computeIfAbsent("geocoder:" + outcome, key -> Timer.builder("geocoder.upstream.requests")
+                        .description("ViettelPost Location API calls")
+                        .tags("outcome", outcome)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+
+        summaries.computeIfAbsent("geocoder:batch", key -> DistributionSummary.builder("geocoder.upstream.batch.size")
+                        .description("Addresses per ViettelPost Location API call")
+                        .serviceLevelObjectives(1, 2, 5, 10, 20, 50)
+                        .register(meterRegistry))
+                .record(addresses);
+    }
+
+    /**
+     * Record how an address was geocoded
+     * @param source "cache", "upstream" or "stale" (expired cache entry used while the API is unavailable)
+     */
+    public void recordGeocodeLookup(String source) {
+        counter("geocoder.lookups", "Address geocoding lookups", "source", source).increment();
+    }
+
+    /**
+     * Bounded product type tag value: the normalized filter if it is a known product type
+     */
+    String productTypeTag(String productType) {
+        if (productType == null || productType.isBlank()) {
+            return PRODUCT_TYPE_ALL;
+        }
+        String normalized = productType.trim().toUpperCase();
+        return knownProductTypes.contains(normalized) ? normalized : PRODUCT_TYPE_OTHER;
+    }
+
+    private Counter counter(String name, String description, String... tags) {
+        return counters.computeIfAbsent(name + ":" + String.join(":", tags), key -> Counter.builder(name)
+                .description(description)
+                .tags(tags)
+                .register(meterRegistry));
+    }
+
+    private static String source(boolean indexed) {
+        return indexed ? "index" : "mongo";
+    }
+}
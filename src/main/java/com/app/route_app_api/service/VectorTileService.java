@@ -0,0 +1,358 @@
+package com.app.route_app_api.service;
+
+import com.app.route_app_api.entity.OperatingArea;
+import com.app.route_app_api.entity.Route;
+import com.app.route_app_api.exception.BusinessRuleException;
+import com.app.route_app_api.exception.ResourceNotFoundException;
+import com.app.route_app_api.util.GeoJsonHelper;
+import com.app.route_app_api.util.PackedGeometryCodec;
+import com.app.route_app_api.util.VectorTileEncoder;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.CoordinateSequenceFilter;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.operation.overlayng.OverlayNG;
+import org.locationtech.jts.operation.overlayng.OverlayNGRobust;
+import org.locationtech.jts.simplify.TopologyPreservingSimplifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mapbox Vector Tiles of route and operating area polygons (GET /api/v1/tiles/{layer}/{z}/{x}/{y}.mvt)
+ * Polygons intersecting a tile are projected to Web Mercator tile coordinates, clipped to the tile plus a
+ * buffer, simplified by a tolerance in tile units (so the detail follows the zoom level) and quantized by
+ * VectorTileEncoder. Polygons are read from the in-memory spatial indexes, or from MongoDB when unavailable.
+ * Encoded tiles are kept in an LRU cache; RouteService and OperatingAreaService evict the tiles
+ * intersecting the envelope of every changed polygon.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VectorTileService {
+
+    // Points per edge of the tile box sent to $geoIntersects (MongoDB edges are geodesics, tile edges are not)
+    private static final int BOX_EDGE_POINTS = 8;
+    private static final double MAX_LATITUDE = 85.0511287798;
+
+    private final MongoTemplate mongoTemplate;
+    private final RouteSpatialIndex routeSpatialIndex;
+    private final OperatingAreaSpatialIndex operatingAreaSpatialIndex;
+
+    // Tile coordinate range (4096 = MVT default)
+    @Value("${app.tiles.extent:4096}")
+    private int extent;
+
+    // Polygons are clipped this many tile units outside the tile so that their outline does not show at tile edges
+    @Value("${app.tiles.buffer:64}")
+    private int buffer;
+
+    // Simplification tolerance in tile units - the same on-screen detail at every zoom level
+    @Value("${app.tiles.simplify-tolerance:1.0}")
+    private double simplifyTolerance;
+
+    @Value("${app.tiles.max-zoom:22}")
+    private int maxZoom;
+
+    @Value("${app.tiles.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    // Expiry so that writes made by other instances become visible (0 = evicted by size and local writes only)
+    @Value("${app.tiles.cache.expire-seconds:60}")
+    private long cacheExpireSeconds;
+
+    private Cache<TileKey, byte[]> cache;
+
+    // Incremented on every eviction - a tile built while polygons were changing is not kept
+    private final AtomicLong generation = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().maximumSize(cacheMaxSize);
+        if (cacheExpireSeconds > 0) {
+            builder.expireAfterWrite(Duration.ofSeconds(cacheExpireSeconds));
+        }
+        cache = builder.build();
+    }
+
+    /**
+     * Encoded tile of a layer in the XYZ tiling scheme
+     * @return MVT bytes, empty if no polygon intersects the tile
+     */
+    public byte[] getTile(String layerName, int z, int x, int y) {
+        Layer layer = Layer.fromValue(layerName);
+        if (z < 0 || z > maxZoom || x < 0 || y < 0 || x >= (1 << z) || y >= (1 << z)) {
+            throw new BusinessRuleException("Invalid tile " + z + "/" + x + "/" + y + " (zoom 0-" + maxZoom + ")");
+        }
+
+        TileKey key = new TileKey(layer, z, x, y);
+        byte[] cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long start = System.currentTimeMillis();
+        long builtAt = generation.get();
+        byte[] tile = build(key);
+        cache.put(key, tile);
+        // Evicted while it was built from the previous polygons - the eviction may have run before the put
+        if (generation.get() != builtAt) {
+            cache.invalidate(key);
+        }
+
+        log.debug("Built tile {}/{}/{}/{} ({} bytes) in {} ms", layer.value, z, x, y, tile.length, System.currentTimeMillis() - start);
+        return tile;
+    }
+
+    /**
+     * Evict the cached tiles of a layer that intersect any of the polygons (old and new version of a write)
+     * Call after the spatial index has been patched.
+     */
+    public void invalidate(Layer layer, GeoJsonPolygon... areas) {
+        List<Envelope> envelopes = new ArrayList<>(areas.length);
+        try {
+            for (GeoJsonPolygon area : areas) {
+                if (area != null) {
+                    envelopes.add(GeoJsonHelper.toJtsPolygon(area).getEnvelopeInternal());
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Could not compute the changed envelope, evicting all {} tiles: {}", layer.value, e.getMessage());
+            envelopes = List.of(new Envelope(-180, 180, -90, 90));
+        }
+
+        generation.incrementAndGet();
+        List<Envelope> changed = envelopes;
+        cache.asMap().keySet().removeIf(key -> key.layer() == layer
+                && changed.stream().anyMatch(bounds(key.z(), key.x(), key.y())::intersects));
+    }
+
+    /**
+     * Evict all cached tiles (bulk changes that bypass RouteService and OperatingAreaService)
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private byte[] build(TileKey key) {
+        Envelope bounds = bounds(key.z(), key.x(), key.y());
+        Envelope clip = new Envelope(-buffer, extent + buffer, -buffer, extent + buffer);
+
+        VectorTileEncoder encoder = new VectorTileEncoder(extent);
+        for (TileFeature feature : findFeatures(key, bounds)) {
+            Geometry geometry = toTileGeometry(feature, key, clip);
+            if (geometry != null) {
+                encoder.addFeature(key.layer().value, feature.attributes(), geometry);
+            }
+        }
+        return encoder.encode();
+    }
+
+    /**
+     * Project a polygon to tile coordinates, clip it to the buffered tile and simplify it
+     * @return null if nothing of the polygon is left in the tile
+     */
+    private Geometry toTileGeometry(TileFeature feature, TileKey key, Envelope clip) {
+        try {
+            Geometry projected = feature.polygon().copy();
+            projected.apply(new TileProjection(key.z(), key.x(), key.y(), extent));
+
+            Envelope envelope = projected.getEnvelopeInternal();
+            if (!clip.intersects(envelope)) {
+                return null;
+            }
+            if (!clip.contains(envelope)) {
+                projected = OverlayNGRobust.overlay(projected, GeoJsonHelper.GEOMETRY_FACTORY.toGeometry(clip), OverlayNG.INTERSECTION);
+                if (projected.isEmpty()) {
+                    return null;
+                }
+            }
+            return TopologyPreservingSimplifier.simplify(projected, simplifyTolerance);
+        } catch (Exception e) {
+            log.warn("Skipping {} {} in tile {}/{}/{} - invalid polygon: {}",
+                    key.layer().value, feature.attributes().get("id"), key.z(), key.x(), key.y(), e.getMessage());
+            return null;
+        }
+    }
+
+    private List<TileFeature> findFeatures(TileKey key, Envelope bounds) {
+        List<TileFeature> features = new ArrayList<>();
+        if (key.layer() == Layer.ROUTES) {
+            if (routeSpatialIndex.isAvailable()) {
+                for (RouteSpatialIndex.IndexedRoute route : routeSpatialIndex.findCandidates(bounds)) {
+                    features.add(new TileFeature((Polygon) route.geometry().getGeometry(), attributes(
+                            "id", route.id(), "code", route.code(), "name", route.name(),
+                            "type", route.type() != null ? route.type().name() : null,
+                            "productType", route.productType(), "color", route.color())));
+                }
+            } else {
+                for (Route route : findInDatabase(Route.class, key.z(), bounds)) {
+                    features.add(new TileFeature(PackedGeometryCodec.toJtsPolygon(route.getPackedArea(), route.getArea()), attributes(
+                            "id", route.getId(), "code", route.getCode(), "name", route.getName(),
+                            "type", route.getType() != null ? route.getType().name() : null,
+                            "productType", route.getProductType(), "color", route.getColor())));
+                }
+            }
+        } else {
+            if (operatingAreaSpatialIndex.isAvailable()) {
+                for (OperatingAreaSpatialIndex.IndexedOperatingArea area : operatingAreaSpatialIndex.findCandidates(bounds)) {
+                    features.add(new TileFeature((Polygon) area.geometry().getGeometry(), attributes(
+                            "id", area.id(), "name", area.name(),
+                            "postOfficeId", area.postOfficeId(), "productType", area.productType())));
+                }
+            } else {
+                for (OperatingArea area : findInDatabase(OperatingArea.class, key.z(), bounds)) {
+                    features.add(new TileFeature(PackedGeometryCodec.toJtsPolygon(area.getPackedArea(), area.getArea()), attributes(
+                            "id", area.getId(), "name", area.getName(),
+                            "postOfficeId", area.getPostOfficeId(), "productType", area.getProductType())));
+                }
+            }
+        }
+        return features;
+    }
+
+    /**
+     * Documents whose polygon intersects the buffered tile (all documents for zoom 0-1, whose tiles
+     * span a hemisphere or more and cannot be expressed as a $geoIntersects polygon)
+     */
+    private <T> List<T> findInDatabase(Class<T> entityClass, int zoom, Envelope bounds) {
+        Query query = zoom < 2
+                ? new Query()
+                : new Query(Criteria.where("area").intersects(box(bounds)));
+        query.fields().exclude("area", "coveringCells", "interiorCells", "simplifiedAreas");
+        return mongoTemplate.find(query, entityClass);
+    }
+
+    private static GeoJsonPolygon box(Envelope bounds) {
+        double minX = Math.max(-180, bounds.getMinX());
+        double maxX = Math.min(180, bounds.getMaxX());
+        double minY = Math.max(-90, bounds.getMinY());
+        double maxY = Math.min(90, bounds.getMaxY());
+
+        List<Point> points = new ArrayList<>(4 * BOX_EDGE_POINTS + 1);
+        for (int i = 0; i < BOX_EDGE_POINTS; i++) {
+            points.add(new Point(minX + (maxX - minX) * i / BOX_EDGE_POINTS, minY));
+        }
+        for (int i = 0; i < BOX_EDGE_POINTS; i++) {
+            points.add(new Point(maxX, minY + (maxY - minY) * i / BOX_EDGE_POINTS));
+        }
+        for (int i = 0; i < BOX_EDGE_POINTS; i++) {
+            points.add(new Point(maxX - (maxX - minX) * i / BOX_EDGE_POINTS, maxY));
+        }
+        for (int i = 0; i < BOX_EDGE_POINTS; i++) {
+            points.add(new Point(minX, maxY - (maxY - minY) * i / BOX_EDGE_POINTS));
+        }
+        points.add(points.getFirst());
+        return new GeoJsonPolygon(points);
+    }
+
+    /**
+     * Longitude/latitude bounds of a tile grown by the buffer
+     */
+    private Envelope bounds(int z, int x, int y) {
+        double worldSize = (double) extent * (1L << z);
+        double minX = ((double) x * extent - buffer) / worldSize;
+        double maxX = ((double) (x + 1) * extent + buffer) / worldSize;
+        double minY = ((double) y * extent - buffer) / worldSize;
+        double maxY = ((double) (y + 1) * extent + buffer) / worldSize;
+        return new Envelope(minX * 360 - 180, maxX * 360 - 180, latitude(maxY), latitude(minY));
+    }
+
+    // Latitude of a Web Mercator y coordinate in 0..1 (0 = north)
+    private static double latitude(double mercatorY) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * mercatorY))));
+    }
+
+    private static Map<String, String> attributes(String... keysAndValues) {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            attributes.put(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return attributes;
+    }
+
+    /**
+     * Tile layers: /api/v1/tiles/routes/... and /api/v1/tiles/operating-areas/...
+     */
+    public enum Layer {
+        ROUTES("routes"),
+        OPERATING_AREAS("operating-areas");
+
+        private final String value;
+
+        Layer(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public static Layer fromValue(String value) {
+            for (Layer layer : values()) {
+                if (layer.value.equals(value)) {
+                    return layer;
+                }
+            }
+            throw new ResourceNotFoundException("Unknown tile layer: " + value + " (expected routes or operating-areas)");
+        }
+    }
+
+    private record TileKey(Layer layer, int z, int x, int y) {
+    }
+
+    private record TileFeature(Polygon polygon, Map<String, String> attributes) {
+    }
+
+    /**
+     * Longitude/latitude to tile coordinates (Web Mercator, y pointing down) of one tile
+     */
+    private static final class TileProjection implements CoordinateSequenceFilter {
+        private final double worldSize;
+        private final double offsetX;
+        private final double offsetY;
+
+        private TileProjection(int z, int x, int y, int extent) {
+            this.worldSize = (double) extent * (1L << z);
+            this.offsetX = (double) x * extent;
+            this.offsetY = (double) y * extent;
+        }
+
+        @Override
+        public void filter(CoordinateSequence sequence, int i) {
+            double longitude = sequence.getX(i);
+            double latitude = Math.toRadians(Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, sequence.getY(i))));
+            double mercatorY = (1 - Math.log(Math.tan(latitude) + 1 / Math.cos(latitude)) / Math.PI) / 2;
+            sequence.setOrdinate(i, 0, (longitude + 180) / 360 * worldSize - offsetX);
+            sequence.setOrdinate(i, 1, mercatorY * worldSize - offsetY);
+        }
+
+        @Override
+        public boolean isDone() {
+            return false;
+        }
+
+        @Override
+        public boolean isGeometryChanged() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.app.route_app_api.service;
+
+import com.app.route_app_api.dto.ParseLocationResponse;
+import com.app.route_app_api.exception.GeocoderUnavailableException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Client for the ViettelPost Location API (address geocoding)
+ * The API takes a JSON array of addresses and returns one result per address, in request order.
+ * A batch answered with a different number of results cannot be matched to its addresses by position,
+ * so each of its addresses is then geocoded with its own call.
+ * Calls go through GeocoderResilience (circuit breaker, bulkhead, hedging, timeout).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ViettelPostLocationClient {
+
+    private final RestTemplate restTemplate;
+    private final GeocoderResilience geocoderResilience;
+    private final ServiceMetrics serviceMetrics;
+
+    @Value("${viettelpost.location.api.url:https://dev-io.viettelpost.vn/location/v2.0/addresses}")
+    private String viettelPostApiUrl;
+
+    /**
+     * Geocode a batch of addresses with a single API call
+     * @return results aligned with the addresses (null where the API returned no result)
+     * @throws GeocoderUnavailableException if the API is unavailable (callers may fall back to cached results)
+     */
+    public List<ParseLocationResponse> geocode(List<String> addresses) {
+        List<ParseLocationResponse> results = align(addresses, call(addresses));
+        if (results != null) {
+            return results;
+        }
+
+        results = new ArrayList<>(addresses.size());
+        for (String address : addresses) {
+            results.add(geocode(List.of(address)).getFirst());
+        }
+        return results;
+    }
+
+    private List<ParseLocationResponse> call(List<String> addresses) {
+        long start = System.nanoTime();
+        try {
+            List<ParseLocationResponse> results = geocoderResilience.call(() -> request(addresses));
+            serviceMetrics.recordGeocoderCall(addresses.size(), "success", System.nanoTime() - start);
+            return results;
+        } catch (GeocoderUnavailableException e) {
+            serviceMetrics.recordGeocoderCall(addresses.size(), "unavailable", System.nanoTime() - start);
+            log.error("ViettelPost API unavailable for {} address(es): {}", addresses.size(), e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            serviceMetrics.recordGeocoderCall(addresses.size(), "error", System.nanoTime() - start);
+            log.error("Error calling ViettelPost API for {} address(es): {}", addresses.size(), addresses, e);
+            throw new RuntimeException("Failed to geocode address: " + e.getMessage(), e);
+        }
+    }
+
+    private List<ParseLocationResponse> request(List<String> addresses) {
+        // Build request headers
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("Cookie", "SERVERID=2");
+
+        HttpEntity<List<String>> requestEntity = new HttpEntity<>(addresses, headers);
+
+        // Build URL with query parameters
+        String url = viettelPostApiUrl + "?shortForm=true&system=VTP";
+
+        log.info("Calling ViettelPost API: {} with {} address(es)", url, addresses.size());
+
+        // Make API call
+        ResponseEntity<List<ParseLocationResponse>> response = restTemplate.exchange(
+                url,
+                HttpMethod.POST,
+                requestEntity,
+                new ParameterizedTypeReference<List<ParseLocationResponse>>() {}
+        );
+
+        return response.getBody() != null ? response.getBody() : Collections.emptyList();
+    }
+
+    /**
+     * Results aligned with the requested addresses (null where the API returned no result)
+     * A single address gets the first result, if any. A batch is aligned only if the API returned exactly
+     * one result per address - pairing by position would otherwise give addresses the wrong coordinates.
+     * @return aligned results, or null if the batch must be geocoded address by address
+     */
+    static List<ParseLocationResponse> align(List<String> addresses, List<ParseLocationResponse> results) {
+        if (addresses.size() == 1) {
+            return Collections.singletonList(results.isEmpty() ? null : results.getFirst());
+        }
+        if (results.size() != addresses.size()) {
+            log.warn("ViettelPost API returned {} result(s) for {} address(es), geocoding them one by one",
+                    results.size(), addresses.size());
+            return null;
+        }
+        return results;
+    }
+}
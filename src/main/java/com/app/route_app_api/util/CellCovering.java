@@ -0,0 +1,217 @@
+package com.app.route_app_api.util;
+
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Hierarchical cell covering of polygons (S2-style, on a lng/lat quadtree), stored on routes and operating
+ * areas so that point lookups become an exact match on an indexed multikey field instead of $geoIntersects.
+ *
+ * The world (-180..180, -90..90) is split into 4 cells per level down to MAX_LEVEL (~2 m). A cell id is the
+ * Morton code of the cell prefixed by a sentinel bit, so the parent of a cell is id >> 2 and the level
+ * follows from the position of the sentinel. A covering is at most MAX_CELLS cells at mixed levels whose
+ * union contains the polygon; cells fully inside the polygon are also listed as interior cells.
+ *
+ * A point is in the polygon only if one of its ancestor cells (pointCells) is in the covering, and
+ * always is if one of them is an interior cell - otherwise an exact point-in-polygon check decides.
+ */
+public class CellCovering {
+
+    public static final int MAX_LEVEL = 24;
+    public static final int MAX_CELLS = 32;
+
+    // Cell rectangles are enlarged for the geometry tests so that rounding never drops a cell or wrongly marks one interior
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * Covering of a polygon: all cells (indexed) and the subset fully inside the polygon
+     */
+    public record Covering(List<Long> cells, List<Long> interiorCells) {
+    }
+
+    /**
+     * Cover a GeoJSON polygon (all rings)
+     * @return covering, or null if the polygon is null
+     */
+    public static Covering cover(GeoJsonPolygon polygon) {
+        return polygon == null ? null : cover(GeoJsonHelper.toJtsPolygon(polygon));
+    }
+
+    /**
+     * Cover a JTS polygon with at most MAX_CELLS cells, subdividing the coarsest cells first
+     */
+    public static Covering cover(Polygon polygon) {
+        Envelope envelope = polygon.getEnvelopeInternal();
+        PreparedGeometry prepared = PreparedGeometryFactory.prepare(polygon);
+
+        List<Long> cells = new ArrayList<>();
+        List<Long> interiorCells = new ArrayList<>();
+        Deque<Long> candidates = new ArrayDeque<>();
+
+        try {
+            for (long cell : startCells(envelope)) {
+                if (prepared.intersects(GeoJsonHelper.GEOMETRY_FACTORY.toGeometry(bounds(cell, EPSILON)))) {
+                    candidates.add(cell);
+                }
+            }
+            while (!candidates.isEmpty()) {
+                long cell = candidates.poll();
+                if (prepared.covers(GeoJsonHelper.GEOMETRY_FACTORY.toGeometry(bounds(cell, EPSILON)))) {
+                    cells.add(cell);
+                    interiorCells.add(cell);
+                    continue;
+                }
+
+                List<Long> children = level(cell) == MAX_LEVEL ? List.of() : intersectingChildren(cell, prepared);
+                if (children.isEmpty() || cells.size() + candidates.size() + children.size() > MAX_CELLS) {
+                    cells.add(cell);
+                } else {
+                    candidates.addAll(children);
+                }
+            }
+        } catch (RuntimeException e) {
+            // Invalid polygon (self-intersection): the cells of its bounding box are still a valid covering
+            return new Covering(new ArrayList<>(startCells(envelope)), new ArrayList<>());
+        }
+        return new Covering(cells, interiorCells);
+    }
+
+    /**
+     * The cells containing a point at every level, from MAX_LEVEL up to the root
+     * A polygon can only contain the point if its covering holds one of these cells.
+     */
+    public static List<Long> pointCells(double longitude, double latitude) {
+        List<Long> cells = new ArrayList<>(MAX_LEVEL + 1);
+        for (long cell = cellId(longitude, latitude, MAX_LEVEL); cell != 0; cell >>= 2) {
+            cells.add(cell);
+        }
+        return cells;
+    }
+
+    /**
+     * True if one of the point's ancestor cells is in the given cells (e.g. interior cells of a covering)
+     */
+    public static boolean containsAny(Collection<Long> cells, double longitude, double latitude) {
+        if (cells == null || cells.isEmpty()) {
+            return false;
+        }
+        for (long cell = cellId(longitude, latitude, MAX_LEVEL); cell != 0; cell >>= 2) {
+            if (cells.contains(cell)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Id of the cell containing the point at the given level
+     */
+    public static long cellId(double longitude, double latitude, int level) {
+        return (1L << (2 * level)) | interleave(column(longitude, level), row(latitude, level));
+    }
+
+    public static int level(long cell) {
+        return (63 - Long.numberOfLeadingZeros(cell)) / 2;
+    }
+
+    public static long parent(long cell) {
+        return cell >> 2;
+    }
+
+    /**
+     * Bounding box of a cell in degrees
+     */
+    public static Envelope bounds(long cell) {
+        return bounds(cell, 0);
+    }
+
+    private static Envelope bounds(long cell, double margin) {
+        int level = level(cell);
+        long morton = cell ^ (1L << (2 * level));
+        double width = 360.0 / (1L << level);
+        double height = 180.0 / (1L << level);
+        double minX = -180 + deinterleave(morton) * width;
+        double minY = -90 + deinterleave(morton >>> 1) * height;
+        return new Envelope(minX - margin, minX + width + margin, minY - margin, minY + height + margin);
+    }
+
+    /**
+     * Cells at the finest level where the envelope spans at most 2 x 2 cells
+     */
+    private static List<Long> startCells(Envelope envelope) {
+        int level = 0;
+        while (level < MAX_LEVEL
+                && 360.0 / (1L << (level + 1)) >= envelope.getWidth()
+                && 180.0 / (1L << (level + 1)) >= envelope.getHeight()) {
+            level++;
+        }
+
+        List<Long> cells = new ArrayList<>(4);
+        long minColumn = column(envelope.getMinX() - EPSILON, level);
+        long maxColumn = column(envelope.getMaxX() + EPSILON, level);
+        long minRow = row(envelope.getMinY() - EPSILON, level);
+        long maxRow = row(envelope.getMaxY() + EPSILON, level);
+        for (long r = minRow; r <= maxRow; r++) {
+            for (long c = minColumn; c <= maxColumn; c++) {
+                cells.add((1L << (2 * level)) | interleave(c, r));
+            }
+        }
+        return cells;
+    }
+
+    private static List<Long> intersectingChildren(long cell, PreparedGeometry prepared) {
+        List<Long> children = new ArrayList<>(4);
+        for (long child = cell << 2; child < (cell << 2) + 4; child++) {
+            if (prepared.intersects(GeoJsonHelper.GEOMETRY_FACTORY.toGeometry(bounds(child, EPSILON)))) {
+                children.add(child);
+            }
+        }
+        return children;
+    }
+
+    private static long column(double longitude, int level) {
+        return clamp(Math.floor((longitude + 180) / 360 * (1L << level)), level);
+    }
+
+    private static long row(double latitude, int level) {
+        return clamp(Math.floor((latitude + 90) / 180 * (1L << level)), level);
+    }
+
+    private static long clamp(double index, int level) {
+        return (long) Math.max(0, Math.min((1L << level) - 1, index));
+    }
+
+    // Morton code: bits of x at even positions, bits of y at odd positions
+    private static long interleave(long x, long y) {
+        return spread(x) | (spread(y) << 1);
+    }
+
+    private static long spread(long value) {
+        value &= 0xFFFFFFFFL;
+        value = (value | (value << 16)) & 0x0000FFFF0000FFFFL;
+        value = (value | (value << 8)) & 0x00FF00FF00FF00FFL;
+        value = (value | (value << 4)) & 0x0F0F0F0F0F0F0F0FL;
+        value = (value | (value << 2)) & 0x3333333333333333L;
+        value = (value | (value << 1)) & 0x5555555555555555L;
+        return value;
+    }
+
+    private static long deinterleave(long value) {
+        value &= 0x5555555555555555L;
+        value = (value | (value >>> 1)) & 0x3333333333333333L;
+        value = (value | (value >>> 2)) & 0x0F0F0F0F0F0F0F0FL;
+        value = (value | (value >>> 4)) & 0x00FF00FF00FF00FFL;
+        value = (value | (value >>> 8)) & 0x0000FFFF0000FFFFL;
+        value = (value | (value >>> 16)) & 0x00000000FFFFFFFFL;
+        return value;
+    }
+}
@@ -0,0 +1,66 @@
+package com.app.route_app_api.util;
+
+import com.app.route_app_api.entity.DataMigration;
+import com.app.route_app_api.repository.DataMigrationRepository;
+import com.app.route_app_api.service.DataMigrationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+/**
+ * Runs pending data migrations on application startup
+ * A completed migration is recorded in the data_migrations collection and skipped on later startups.
+ * Migrations are idempotent; disable with app.migration.enabled=false and run them manually via
+ * POST /api/v1/admin/migrate/product-types, POST /api/v1/admin/migrate/packed-areas,
+ * POST /api/v1/admin/migrate/cell-coverings and POST /api/v1/admin/migrate/simplified-areas
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DataMigrationRunner implements CommandLineRunner {
+
+    private final DataMigrationService dataMigrationService;
+    private final DataMigrationRepository dataMigrationRepository;
+
+    @Value("${app.migration.enabled:true}")
+    private boolean migrationEnabled;
+
+    @Override
+    public void run(String... args) {
+        if (!migrationEnabled) {
+            log.info("Startup data migration is disabled (app.migration.enabled=false).");
+            return;
+        }
+
+        log.info("Running startup data migrations...");
+        // Migrations are independent - a failure is logged and the next one still runs
+        migrate("productTypes", dataMigrationService::migrateProductTypes);
+        migrate("packedAreas", dataMigrationService::migratePackedAreas);
+        migrate("cellCoverings", dataMigrationService::migrateCellCoverings);
+        migrate("simplifiedAreas", dataMigrationService::migrateSimplifiedAreas);
+    }
+
+    private void migrate(String name, Supplier<String> migration) {
+        try {
+            if (dataMigrationRepository.existsById(name)) {
+                log.debug("Data migration {} already completed - skipped", name);
+                return;
+            }
+
+            String result = migration.get();
+            dataMigrationRepository.save(DataMigration.builder()
+                    .id(name)
+                    .result(result)
+                    .completedAt(LocalDateTime.now())
+                    .build());
+            log.info("Data migration completed: {}", result);
+        } catch (Exception e) {
+            log.error("Error during data migration {}", name, e);
+        }
+    }
+}
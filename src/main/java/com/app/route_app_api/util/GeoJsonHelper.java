@@ -1,6 +1,14 @@
 package com.app.route_app_api.util;
 
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
 import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.geo.GeoJsonLineString;
 import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
 
@@ -12,6 +20,18 @@ import java.util.List;
  */
 public class GeoJsonHelper {
 
+    /**
+     * WGS84 longitude/latitude coordinates
+     */
+    public static final int SRID = 4326;
+
+    /**
+     * GeometryFactory is immutable and thread-safe, so one instance is shared by all conversions
+     * Floating precision: coordinates are kept exactly as stored (no snapping to a grid)
+     */
+    public static final GeometryFactory GEOMETRY_FACTORY =
+            new GeometryFactory(new PrecisionModel(PrecisionModel.FLOATING), SRID);
+
     /**
      * Create a GeoJsonPolygon from a list of coordinates
      * @param coordinates List of [longitude, latitude] pairs
@@ -79,6 +99,55 @@ public class GeoJsonHelper {
         return coordinates;
     }
 
+    /**
+     * Convert GeoJsonPolygon to JTS Polygon (exterior ring and holes)
+     * Each ring is copied into one packed double[] sequence - no Coordinate object per point
+     * @param polygon GeoJsonPolygon object
+     * @return JTS Polygon built with the shared geometry factory
+     */
+    public static Polygon toJtsPolygon(GeoJsonPolygon polygon) {
+        List<GeoJsonLineString> rings = polygon.getCoordinates();
+
+        LinearRing shell = toLinearRing(rings.get(0).getCoordinates());
+        LinearRing[] holes = new LinearRing[rings.size() - 1];
+        for (int i = 0; i < holes.length; i++) {
+            holes[i] = toLinearRing(rings.get(i + 1).getCoordinates());
+        }
+        return GEOMETRY_FACTORY.createPolygon(shell, holes);
+    }
+
+    /**
+     * Convert JTS Polygon to GeoJsonPolygon (exterior ring and holes)
+     * @param polygon JTS Polygon object
+     * @return GeoJsonPolygon object
+     */
+    public static GeoJsonPolygon toGeoJsonPolygon(Polygon polygon) {
+        GeoJsonPolygon result = new GeoJsonPolygon(toPoints(polygon.getExteriorRing()));
+        for (int i = 0; i < polygon.getNumInteriorRing(); i++) {
+            result = result.withInnerRing(toPoints(polygon.getInteriorRingN(i)));
+        }
+        return result;
+    }
+
+    private static List<Point> toPoints(LineString ring) {
+        CoordinateSequence sequence = ring.getCoordinateSequence();
+        List<Point> points = new ArrayList<>(sequence.size());
+        for (int i = 0; i < sequence.size(); i++) {
+            points.add(new Point(sequence.getX(i), sequence.getY(i))); // longitude, latitude
+        }
+        return points;
+    }
+
+    private static LinearRing toLinearRing(List<Point> points) {
+        double[] coordinates = new double[points.size() * 2];
+        int i = 0;
+        for (Point point : points) {
+            coordinates[i++] = point.getX(); // longitude
+            coordinates[i++] = point.getY(); // latitude
+        }
+        return GEOMETRY_FACTORY.createLinearRing(new PackedCoordinateSequence.Double(coordinates, 2, 0));
+    }
+
     /**
      * Validate if a polygon is properly formed
      * @param polygon GeoJsonPolygon to validate
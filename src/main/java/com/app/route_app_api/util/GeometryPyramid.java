@@ -0,0 +1,99 @@
+package com.app.route_app_api.util;
+
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.simplify.TopologyPreservingSimplifier;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Simplification pyramid of polygons: topology-preserving simplified copies of a polygon at a few fixed
+ * zoom levels, computed on write and stored packed (PackedGeometryCodec) next to the full polygon, so that
+ * overview maps are served a fraction of the vertices without simplifying on every read.
+ *
+ * The tolerance of a zoom level is the width of one pixel of a 256 px Web Mercator tile at the equator
+ * (360 / 256 / 2^zoom degrees): the simplified outline is within a pixel of the full one at that zoom.
+ * A request is served the coarsest level whose tolerance does not exceed the requested tolerance,
+ * or the full polygon when the request is finer than every level.
+ */
+public class GeometryPyramid {
+
+    /**
+     * Stored zoom levels, coarsest first
+     */
+    public static final int[] ZOOM_LEVELS = {6, 9, 12, 15};
+
+    /**
+     * Highest zoom accepted from requests (beyond the finest level the full polygon is served)
+     */
+    public static final int MAX_ZOOM = 24;
+
+    private static final int TILE_SIZE = 256;
+
+    /**
+     * Simplified copies of a polygon at every level, keyed by level key (see key)
+     * @return packed polygons, or null if the polygon is null
+     */
+    public static Map<String, byte[]> build(GeoJsonPolygon area) {
+        if (area == null) {
+            return null;
+        }
+
+        Polygon polygon = GeoJsonHelper.toJtsPolygon(area);
+        Map<String, byte[]> levels = new LinkedHashMap<>();
+        for (int zoom : ZOOM_LEVELS) {
+            levels.put(key(zoom), PackedGeometryCodec.encode(GeoJsonHelper.toGeoJsonPolygon(simplify(polygon, tolerance(zoom)))));
+        }
+        return levels;
+    }
+
+    /**
+     * Tolerance of a zoom level in degrees (one tile pixel at the equator)
+     */
+    public static double tolerance(int zoom) {
+        return 360.0 / TILE_SIZE / (1L << zoom);
+    }
+
+    /**
+     * Level to serve for a requested tolerance in degrees
+     * @return zoom of the coarsest level whose tolerance does not exceed the requested one,
+     * or null if the full polygon must be served
+     */
+    public static Integer levelFor(double tolerance) {
+        for (int zoom : ZOOM_LEVELS) {
+            if (tolerance(zoom) <= tolerance) {
+                return zoom;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Key of a level in the stored map ("z" + zoom)
+     */
+    public static String key(int zoom) {
+        return "z" + zoom;
+    }
+
+    /**
+     * Decode a stored level back to a GeoJSON polygon
+     */
+    public static GeoJsonPolygon decode(byte[] packed) {
+        return GeoJsonHelper.toGeoJsonPolygon(PackedGeometryCodec.decode(packed));
+    }
+
+    private static Polygon simplify(Polygon polygon, double tolerance) {
+        try {
+            // Rings are never collapsed below a triangle and holes never cross the shell
+            Geometry simplified = TopologyPreservingSimplifier.simplify(polygon, tolerance);
+            if (simplified instanceof Polygon result && !result.isEmpty()) {
+                return result;
+            }
+        } catch (RuntimeException e) {
+            // Invalid polygon (self-intersection): the level keeps the full polygon
+        }
+        return polygon;
+    }
+}
@@ -0,0 +1,149 @@
+package com.app.route_app_api.util;
+
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.geo.GeoJsonLineString;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+/**
+ * Compact binary encoding of polygons, stored next to the GeoJSON polygon (which MongoDB needs for
+ * its 2dsphere index) so that internal hot paths can rebuild JTS geometries cheaply.
+ *
+ * Format: version byte, ring count, then per ring (exterior ring first, then holes) the point count
+ * followed by the coordinates as fixed-point values (1e-9 degree, ~0.1 mm) delta-encoded against the
+ * previous point, written as zig-zag varints. A typical vertex takes 4-6 bytes instead of a BSON
+ * array of two doubles, and decoding fills one double[] per ring without creating a Point or
+ * Coordinate object per vertex.
+ */
+public class PackedGeometryCodec {
+
+    private static final byte VERSION = 1;
+    private static final double SCALE = 1e9;
+
+    /**
+     * Encode a GeoJSON polygon (all rings)
+     * @return packed polygon, or null if the polygon is null
+     */
+    public static byte[] encode(GeoJsonPolygon polygon) {
+        if (polygon == null) {
+            return null;
+        }
+
+        List<GeoJsonLineString> rings = polygon.getCoordinates();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + rings.size() * 64);
+        out.write(VERSION);
+        writeVarint(out, rings.size());
+
+        for (GeoJsonLineString ring : rings) {
+            List<Point> points = ring.getCoordinates();
+            writeVarint(out, points.size());
+
+            long previousX = 0;
+            long previousY = 0;
+            for (Point point : points) {
+                long x = Math.round(point.getX() * SCALE);
+                long y = Math.round(point.getY() * SCALE);
+                writeVarint(out, zigZag(x - previousX));
+                writeVarint(out, zigZag(y - previousY));
+                previousX = x;
+                previousY = y;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decode a packed polygon into a JTS polygon backed by packed coordinate sequences
+     * @throws IllegalArgumentException if the data is not a packed polygon
+     */
+    public static Polygon decode(byte[] packed) {
+        Reader reader = new Reader(packed);
+        if (reader.readByte() != VERSION) {
+            throw new IllegalArgumentException("Unsupported packed geometry version");
+        }
+
+        int ringCount = (int) reader.readVarint();
+        if (ringCount < 1) {
+            throw new IllegalArgumentException("Packed polygon has no rings");
+        }
+
+        LinearRing shell = readRing(reader);
+        LinearRing[] holes = new LinearRing[ringCount - 1];
+        for (int i = 0; i < holes.length; i++) {
+            holes[i] = readRing(reader);
+        }
+        return GeoJsonHelper.GEOMETRY_FACTORY.createPolygon(shell, holes);
+    }
+
+    /**
+     * JTS polygon of a stored document: decoded from the packed field when present,
+     * otherwise converted from GeoJSON (documents written before the packed field existed)
+     */
+    public static Polygon toJtsPolygon(byte[] packed, GeoJsonPolygon area) {
+        return packed != null ? decode(packed) : GeoJsonHelper.toJtsPolygon(area);
+    }
+
+    private static LinearRing readRing(Reader reader) {
+        int pointCount = (int) reader.readVarint();
+        double[] coordinates = new double[pointCount * 2];
+
+        long x = 0;
+        long y = 0;
+        for (int i = 0; i < coordinates.length; i += 2) {
+            x += unZigZag(reader.readVarint());
+            y += unZigZag(reader.readVarint());
+            coordinates[i] = x / SCALE;
+            coordinates[i + 1] = y / SCALE;
+        }
+        return GeoJsonHelper.GEOMETRY_FACTORY.createLinearRing(new PackedCoordinateSequence.Double(coordinates, 2, 0));
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private int position;
+
+        private Reader(byte[] data) {
+            this.data = data;
+        }
+
+        private byte readByte() {
+            if (position >= data.length) {
+                throw new IllegalArgumentException("Truncated packed geometry");
+            }
+            return data[position++];
+        }
+
+        private long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in packed geometry");
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.app.route_app_api.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+
+/**
+ * Utility class for polygon overlap checks shared by route and operating area validation
+ */
+@Slf4j
+public class PolygonOverlapHelper {
+
+    /**
+     * Threshold for negligible overlap area (floating point precision errors)
+     */
+    public static final double OVERLAP_AREA_THRESHOLD = 1e-6;
+
+    /**
+     * Check if two polygons have actual area overlap using JTS
+     * Returns true only if polygons have intersecting area (not just touching edges or vertices)
+     * @param newArea prepared polygon being validated (prepared once, tested against many candidates)
+     * @param existing existing polygon (candidate whose envelope intersects the new area)
+     */
+    public static boolean hasAreaOverlap(PreparedGeometry newArea, Geometry existing) {
+        try {
+            // Cheap prepared predicate rejects candidates that only share a bounding box
+            if (!newArea.intersects(existing)) {
+                return false;
+            }
+
+            Geometry polygon = newArea.getGeometry();
+
+            // If polygons only touch at boundary (shared edge or vertex), not overlap
+            if (polygon.touches(existing)) {
+                log.debug("Polygons only touch at boundary (shared edge or vertex) - no overlap");
+                return false;
+            }
+
+            // Calculate intersection area
+            double overlapArea = polygon.intersection(existing).getArea();
+
+            log.debug("Overlap area: {}", overlapArea);
+
+            if (overlapArea > OVERLAP_AREA_THRESHOLD) {
+                log.debug("Polygons overlap with significant area");
+                return true;
+            }
+
+            // Check if one polygon contains another
+            if (newArea.contains(existing) || existing.contains(polygon)) {
+                log.debug("One polygon contains another");
+                return true;
+            }
+
+            return false;
+
+        } catch (Exception e) {
+            log.error("Error checking polygon overlap with JTS", e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.app.route_app_api.util;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Utility class for product type values
+ * Product types are entered as a semicolon-separated string (e.g. "HH;KH") and persisted
+ * alongside it as a normalized array (productTypes) so that MongoDB can filter with $in
+ * on a multikey index.
+ */
+public class ProductTypeHelper {
+
+    public static final String SEPARATOR = ";";
+
+    /**
+     * Parse product types from semicolon-separated string
+     * Example: " hh; KH;" -> Set["HH", "KH"] (trimmed, upper-cased, empty values dropped, input order kept)
+     * @param productTypeString semicolon-separated product types, may be null
+     * @return normalized product types (never null)
+     */
+    public static Set<String> parse(String productTypeString) {
+        if (productTypeString == null || productTypeString.isBlank()) {
+            return new LinkedHashSet<>();
+        }
+
+        Set<String> productTypes = new LinkedHashSet<>();
+        for (String value : productTypeString.split(SEPARATOR)) {
+            String normalized = value.trim().toUpperCase();
+            if (!normalized.isEmpty()) {
+                productTypes.add(normalized);
+            }
+        }
+        return productTypes;
+    }
+
+    /**
+     * Normalized product types of a document: the persisted array if present,
+     * otherwise parsed from the legacy semicolon-separated string (documents not yet migrated)
+     */
+    public static Set<String> normalized(Set<String> productTypes, String productTypeString) {
+        if (productTypes != null) {
+            return Collections.unmodifiableSet(productTypes);
+        }
+        return Collections.unmodifiableSet(parse(productTypeString));
+    }
+}
@@ -0,0 +1,261 @@
+package com.app.route_app_api.util;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.Polygon;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encoder of polygon layers in the Mapbox Vector Tile format (version 2.1, protobuf)
+ *
+ * Geometries are given in tile coordinates (0..extent, y pointing down) and quantized to integers
+ * here: rings that collapse to fewer than 3 distinct points or to zero area are dropped, exterior rings
+ * are written with positive area and holes with negative area (as required by the specification).
+ * Attribute keys and string values are written once per layer and referenced by index from each feature.
+ */
+public class VectorTileEncoder {
+
+    public static final String CONTENT_TYPE = "application/vnd.mapbox-vector-tile";
+
+    // Tile, Layer, Feature and Value field numbers (vector_tile.proto)
+    private static final int TILE_LAYERS = 3;
+    private static final int LAYER_NAME = 1;
+    private static final int LAYER_FEATURES = 2;
+    private static final int LAYER_KEYS = 3;
+    private static final int LAYER_VALUES = 4;
+    private static final int LAYER_EXTENT = 5;
+    private static final int LAYER_VERSION = 15;
+    private static final int FEATURE_ID = 1;
+    private static final int FEATURE_TAGS = 2;
+    private static final int FEATURE_TYPE = 3;
+    private static final int FEATURE_GEOMETRY = 4;
+    private static final int VALUE_STRING = 1;
+
+    private static final int WIRE_VARINT = 0;
+    private static final int WIRE_LENGTH_DELIMITED = 2;
+
+    private static final int GEOMETRY_TYPE_POLYGON = 3;
+    private static final int MOVE_TO = 1;
+    private static final int LINE_TO = 2;
+    private static final int CLOSE_PATH = 7;
+
+    private final int extent;
+    private final Map<String, Layer> layers = new LinkedHashMap<>();
+
+    public VectorTileEncoder(int extent) {
+        this.extent = extent;
+    }
+
+    /**
+     * Add a polygon feature to a layer
+     * @param geometry polygon or multi-polygon in tile coordinates (other components are ignored)
+     * @param attributes string attributes (null values are omitted)
+     * @return false if nothing was added because the geometry vanished once quantized
+     */
+    public boolean addFeature(String layerName, Map<String, String> attributes, Geometry geometry) {
+        List<Integer> commands = new ArrayList<>();
+        // Cursor position: parameters are deltas from the previous point of the feature, across polygons
+        int[] cursor = new int[2];
+        for (int i = 0; i < geometry.getNumGeometries(); i++) {
+            if (geometry.getGeometryN(i) instanceof Polygon polygon) {
+                encodePolygon(polygon, commands, cursor);
+            }
+        }
+        if (commands.isEmpty()) {
+            return false;
+        }
+
+        Layer layer = layers.computeIfAbsent(layerName, Layer::new);
+        ByteArrayOutputStream feature = new ByteArrayOutputStream();
+        writeTag(feature, FEATURE_ID, WIRE_VARINT);
+        writeVarint(feature, layer.features.size() + 1);
+
+        List<Integer> tags = new ArrayList<>(attributes.size() * 2);
+        attributes.forEach((key, value) -> {
+            if (value != null) {
+                tags.add(layer.keys.computeIfAbsent(key, k -> layer.keys.size()));
+                tags.add(layer.values.computeIfAbsent(value, v -> layer.values.size()));
+            }
+        });
+        writePacked(feature, FEATURE_TAGS, tags);
+
+        writeTag(feature, FEATURE_TYPE, WIRE_VARINT);
+        writeVarint(feature, GEOMETRY_TYPE_POLYGON);
+        writePacked(feature, FEATURE_GEOMETRY, commands);
+
+        layer.features.add(feature.toByteArray());
+        return true;
+    }
+
+    public boolean isEmpty() {
+        return layers.isEmpty();
+    }
+
+    /**
+     * Encode the tile (empty array when no feature was added)
+     */
+    public byte[] encode() {
+        ByteArrayOutputStream tile = new ByteArrayOutputStream();
+        for (Layer layer : layers.values()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            writeTag(out, LAYER_VERSION, WIRE_VARINT);
+            writeVarint(out, 2);
+            writeString(out, LAYER_NAME, layer.name);
+            for (byte[] feature : layer.features) {
+                writeBytes(out, LAYER_FEATURES, feature);
+            }
+            for (String key : layer.keys.keySet()) {
+                writeString(out, LAYER_KEYS, key);
+            }
+            for (String value : layer.values.keySet()) {
+                ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+                writeString(encoded, VALUE_STRING, value);
+                writeBytes(out, LAYER_VALUES, encoded.toByteArray());
+            }
+            writeTag(out, LAYER_EXTENT, WIRE_VARINT);
+            writeVarint(out, extent);
+
+            writeBytes(tile, TILE_LAYERS, out.toByteArray());
+        }
+        return tile.toByteArray();
+    }
+
+    private static void encodePolygon(Polygon polygon, List<Integer> commands, int[] cursor) {
+        List<int[]> shell = quantize(polygon.getExteriorRing(), true);
+        if (shell == null) {
+            return; // Holes of a vanished shell are dropped with it
+        }
+
+        List<List<int[]>> rings = new ArrayList<>();
+        rings.add(shell);
+        for (int i = 0; i < polygon.getNumInteriorRing(); i++) {
+            List<int[]> hole = quantize(polygon.getInteriorRingN(i), false);
+            if (hole != null) {
+                rings.add(hole);
+            }
+        }
+
+        for (List<int[]> ring : rings) {
+            commands.add(command(MOVE_TO, 1));
+            moveCursor(ring.getFirst(), commands, cursor);
+
+            commands.add(command(LINE_TO, ring.size() - 1));
+            for (int i = 1; i < ring.size(); i++) {
+                moveCursor(ring.get(i), commands, cursor);
+            }
+            commands.add(command(CLOSE_PATH, 1));
+        }
+    }
+
+    /**
+     * Integer points of a ring without the closing point and repeated points, oriented for its role,
+     * or null if the ring has collapsed
+     */
+    private static List<int[]> quantize(LineString ring, boolean exterior) {
+        Coordinate[] coordinates = ring.getCoordinates();
+        List<int[]> points = new ArrayList<>(coordinates.length);
+        for (int i = 0; i < coordinates.length - 1; i++) {
+            int[] point = {(int) Math.round(coordinates[i].x), (int) Math.round(coordinates[i].y)};
+            int[] previous = points.isEmpty() ? null : points.getLast();
+            if (previous == null || previous[0] != point[0] || previous[1] != point[1]) {
+                points.add(point);
+            }
+        }
+        while (points.size() > 1 && equal(points.getFirst(), points.getLast())) {
+            points.removeLast();
+        }
+        if (points.size() < 3) {
+            return null;
+        }
+
+        long area = signedArea(points);
+        if (area == 0) {
+            return null;
+        }
+        if ((area > 0) != exterior) {
+            points = points.reversed();
+        }
+        return points;
+    }
+
+    // Twice the area by the surveyor's formula in tile coordinates (positive = exterior ring)
+    private static long signedArea(List<int[]> points) {
+        long sum = 0;
+        for (int i = 0; i < points.size(); i++) {
+            int[] a = points.get(i);
+            int[] b = points.get((i + 1) % points.size());
+            sum += (long) a[0] * b[1] - (long) b[0] * a[1];
+        }
+        return sum;
+    }
+
+    private static void moveCursor(int[] point, List<Integer> commands, int[] cursor) {
+        commands.add(zigZag(point[0] - cursor[0]));
+        commands.add(zigZag(point[1] - cursor[1]));
+        cursor[0] = point[0];
+        cursor[1] = point[1];
+    }
+
+    private static boolean equal(int[] a, int[] b) {
+        return a[0] == b[0] && a[1] == b[1];
+    }
+
+    private static int command(int id, int count) {
+        return (id & 0x7) | (count << 3);
+    }
+
+    private static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static void writeTag(ByteArrayOutputStream out, int field, int wireType) {
+        writeVarint(out, ((long) field << 3) | wireType);
+    }
+
+    private static void writeString(ByteArrayOutputStream out, int field, String value) {
+        writeBytes(out, field, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeBytes(ByteArrayOutputStream out, int field, byte[] bytes) {
+        writeTag(out, field, WIRE_LENGTH_DELIMITED);
+        writeVarint(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    private static void writePacked(ByteArrayOutputStream out, int field, List<Integer> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        ByteArrayOutputStream packed = new ByteArrayOutputStream(values.size() * 2);
+        for (int value : values) {
+            writeVarint(packed, Integer.toUnsignedLong(value));
+        }
+        writeBytes(out, field, packed.toByteArray());
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static final class Layer {
+        private final String name;
+        private final List<byte[]> features = new ArrayList<>();
+        private final Map<String, Integer> keys = new LinkedHashMap<>();
+        private final Map<String, Integer> values = new LinkedHashMap<>();
+
+        private Layer(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.app.route_app_api.benchmark;
+
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Polygons for benchmarks, shaped like the DataSeedService route cells (~0.001 degree squares
+ * around a post office) but densified to a given number of vertices
+ */
+public final class BenchmarkPolygons {
+
+    // Bưu cục Hoàn Kiếm (DataSeedService)
+    public static final double BASE_LNG = 105.8542;
+    public static final double BASE_LAT = 21.0285;
+    public static final double CELL_SIZE = 0.001;
+
+    private BenchmarkPolygons() {
+    }
+
+    /**
+     * Rectangular cell with its perimeter split into (vertices - 1) equal segments, closed ring
+     * @param vertices number of ring points including the closing point (at least 5)
+     */
+    public static GeoJsonPolygon cell(double startLng, double startLat, double width, double height, int vertices) {
+        int segments = Math.max(4, vertices - 1);
+        double perimeter = 2 * (width + height);
+        double step = perimeter / segments;
+
+        List<Point> points = new ArrayList<>(segments + 1);
+        for (int i = 0; i < segments; i++) {
+            points.add(pointOnPerimeter(startLng, startLat, width, height, i * step));
+        }
+        points.add(points.getFirst());
+        return new GeoJsonPolygon(points);
+    }
+
+    /**
+     * Cell at grid position (row, col) of the seeded route grid around the base post office
+     */
+    public static GeoJsonPolygon gridCell(int row, int col, int vertices) {
+        return cell(BASE_LNG + (col - 10) * CELL_SIZE, BASE_LAT + (row - 5) * CELL_SIZE, CELL_SIZE, CELL_SIZE, vertices);
+    }
+
+    private static Point pointOnPerimeter(double lng, double lat, double width, double height, double distance) {
+        if (distance < width) {
+            return new Point(lng + distance, lat);
+        }
+        distance -= width;
+        if (distance < height) {
+            return new Point(lng + width, lat + distance);
+        }
+        distance -= height;
+        if (distance < width) {
+            return new Point(lng + width - distance, lat + height);
+        }
+        distance -= width;
+        return new Point(lng, lat + height - distance);
+    }
+}
@@ -0,0 +1,79 @@
+package com.app.route_app_api.benchmark;
+
+import com.app.route_app_api.util.GeoJsonHelper;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Polygon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GeoJsonHelper polygon helpers: createPolygon / extractCoordinates (request and response mapping) and
+ * GeoJsonPolygon to JTS conversion (packed sequence, shared factory) against the previous per-call implementation
+ *
+ * Run with: mvn test -Pbenchmarks -Djmh.args="GeoJsonHelperBenchmark -prof gc"
+ * (-prof gc reports the allocation rate per operation)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GeoJsonHelperBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int vertices;
+
+    private GeoJsonPolygon polygon;
+    private List<List<Double>> coordinates;
+
+    @Setup
+    public void setUp() {
+        polygon = BenchmarkPolygons.gridCell(0, 0, vertices);
+        coordinates = GeoJsonHelper.extractCoordinates(polygon);
+    }
+
+    @Benchmark
+    public GeoJsonPolygon createPolygon() {
+        return GeoJsonHelper.createPolygon(coordinates);
+    }
+
+    @Benchmark
+    public List<List<Double>> extractCoordinates() {
+        return GeoJsonHelper.extractCoordinates(polygon);
+    }
+
+    @Benchmark
+    public Polygon packedConversion() {
+        return GeoJsonHelper.toJtsPolygon(polygon);
+    }
+
+    @Benchmark
+    public Polygon previousConversion() {
+        return previousToJtsPolygon(polygon);
+    }
+
+    /**
+     * Previous RouteService.convertToJTSPolygon: new factory, one Coordinate per point, holes dropped
+     */
+    private static Polygon previousToJtsPolygon(GeoJsonPolygon geoJsonPolygon) {
+        GeometryFactory geometryFactory = new GeometryFactory();
+        List<Point> points = geoJsonPolygon.getPoints();
+
+        Coordinate[] coordinates = new Coordinate[points.size()];
+        for (int i = 0; i < points.size(); i++) {
+            Point point = points.get(i);
+            coordinates[i] = new Coordinate(point.getX(), point.getY());
+        }
+        return geometryFactory.createPolygon(coordinates);
+    }
+}
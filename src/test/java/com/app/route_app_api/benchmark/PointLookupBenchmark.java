@@ -0,0 +1,99 @@
+package com.app.route_app_api.benchmark;
+
+import com.app.route_app_api.entity.Route;
+import com.app.route_app_api.service.RouteSpatialIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Point-to-route lookup (RouteSpatialIndex.findContaining) on a dense 100 x 100 grid of seeded route cells:
+ * grid lookup table at different cell sizes vs the STRtree (gridCellSize = 0)
+ *
+ * Run with: mvn test -Pbenchmarks -Djmh.args="PointLookupBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PointLookupBenchmark {
+
+    private static final int GRID = 100;
+    private static final int POINTS = 4096;
+
+    @Param({"0", "0.0002", "0.0001"})
+    private double gridCellSize;
+
+    @Param({"10", "100", "1000"})
+    private int vertices;
+
+    private RouteSpatialIndex index;
+    private final double[] longitudes = new double[POINTS];
+    private final double[] latitudes = new double[POINTS];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        BenchmarkLogging.quiet();
+
+        List<Route> routes = new ArrayList<>(GRID * GRID);
+        for (int row = 0; row < GRID; row++) {
+            for (int col = 0; col < GRID; col++) {
+                routes.add(Route.builder()
+                        .id("r" + row + "-" + col)
+                        .code("HK-" + row + "-" + col)
+                        .name("Tuyến " + row + "-" + col)
+                        .type(Route.RouteType.DELIVERY)
+                        .productType("HH")
+                        .area(BenchmarkPolygons.gridCell(row, col, vertices))
+                        .build());
+            }
+        }
+
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        doReturn(routes).doReturn(List.of()).when(mongoTemplate).find(any(Query.class), eq(Route.class));
+        index = new RouteSpatialIndex(mongoTemplate);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "refreshSeconds", 0L);
+        ReflectionTestUtils.setField(index, "gridCellSize", gridCellSize);
+        ReflectionTestUtils.setField(index, "gridMaxCellsPerRoute", 4096);
+        index.isAvailable();
+
+        Random random = new Random(42);
+        double minLng = BenchmarkPolygons.BASE_LNG - 10 * BenchmarkPolygons.CELL_SIZE;
+        double minLat = BenchmarkPolygons.BASE_LAT - 5 * BenchmarkPolygons.CELL_SIZE;
+        for (int i = 0; i < POINTS; i++) {
+            longitudes[i] = minLng + random.nextDouble() * GRID * BenchmarkPolygons.CELL_SIZE;
+            latitudes[i] = minLat + random.nextDouble() * GRID * BenchmarkPolygons.CELL_SIZE;
+        }
+    }
+
+    @Benchmark
+    public List<RouteSpatialIndex.IndexedRoute> findContaining() {
+        int i = next++ & (POINTS - 1);
+        return index.findContaining(longitudes[i], latitudes[i], null);
+    }
+
+    @Benchmark
+    public List<RouteSpatialIndex.IndexedRoute> findContainingByProductType() {
+        int i = next++ & (POINTS - 1);
+        return index.findContaining(longitudes[i], latitudes[i], "HH");
+    }
+}
@@ -0,0 +1,55 @@
+package com.app.route_app_api.benchmark;
+
+import com.app.route_app_api.util.GeoJsonHelper;
+import com.app.route_app_api.util.PolygonOverlapHelper;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Route / operating area overlap check (PolygonOverlapHelper.hasAreaOverlap) between seeded grid cells:
+ * an adjacent cell (shared edge - the common case on write) and a cell overlapping by half its width
+ *
+ * Run with: mvn test -Pbenchmarks -Djmh.args="PolygonOverlapBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PolygonOverlapBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int vertices;
+
+    private PreparedGeometry newArea;
+    private Polygon adjacent;
+    private Polygon overlapping;
+
+    @Setup
+    public void setUp() {
+        newArea = PreparedGeometryFactory.prepare(GeoJsonHelper.toJtsPolygon(BenchmarkPolygons.gridCell(5, 10, vertices)));
+        adjacent = GeoJsonHelper.toJtsPolygon(BenchmarkPolygons.gridCell(5, 11, vertices));
+        overlapping = GeoJsonHelper.toJtsPolygon(BenchmarkPolygons.cell(
+                BenchmarkPolygons.BASE_LNG + BenchmarkPolygons.CELL_SIZE / 2, BenchmarkPolygons.BASE_LAT,
+                BenchmarkPolygons.CELL_SIZE, BenchmarkPolygons.CELL_SIZE, vertices));
+    }
+
+    @Benchmark
+    public boolean adjacentCells() {
+        return PolygonOverlapHelper.hasAreaOverlap(newArea, adjacent);
+    }
+
+    @Benchmark
+    public boolean overlappingCells() {
+        return PolygonOverlapHelper.hasAreaOverlap(newArea, overlapping);
+    }
+}
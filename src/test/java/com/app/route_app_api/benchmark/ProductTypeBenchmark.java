@@ -0,0 +1,41 @@
+package com.app.route_app_api.benchmark;
+
+import com.app.route_app_api.util.ProductTypeHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Product type parsing and normalization (every route/operating area write, index load and filter)
+ *
+ * Run with: mvn test -Pbenchmarks -Djmh.args="ProductTypeBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProductTypeBenchmark {
+
+    private String productType = " hh; KH;TH ;";
+    private Set<String> productTypes = ProductTypeHelper.parse(productType);
+
+    @Benchmark
+    public Set<String> parse() {
+        return ProductTypeHelper.parse(productType);
+    }
+
+    @Benchmark
+    public Set<String> normalizedFromArray() {
+        return ProductTypeHelper.normalized(productTypes, productType);
+    }
+
+    @Benchmark
+    public Set<String> normalizedFromLegacyString() {
+        return ProductTypeHelper.normalized(null, productType);
+    }
+}
@@ -0,0 +1,113 @@
+package com.app.route_app_api.benchmark;
+
+import com.app.route_app_api.dto.ResponseView;
+import com.app.route_app_api.dto.RouteResponse;
+import com.app.route_app_api.entity.OperatingArea;
+import com.app.route_app_api.entity.PostOffice;
+import com.app.route_app_api.entity.Route;
+import com.app.route_app_api.repository.OperatingAreaRepository;
+import com.app.route_app_api.repository.PostOfficeRepository;
+import com.app.route_app_api.repository.RouteRepository;
+import com.app.route_app_api.service.OperatingAreaGeometryCache;
+import com.app.route_app_api.service.RouteService;
+import com.app.route_app_api.service.RouteSpatialIndex;
+import com.app.route_app_api.service.ServiceMetrics;
+import com.app.route_app_api.service.VectorTileService;
+import com.app.route_app_api.util.ProductTypeHelper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Route list mapping (entity -> RouteResponse, with post office / operating area names) and JSON
+ * serialization of the result, for the seeded grid of 200 routes per post office
+ *
+ * Run with: mvn test -Pbenchmarks -Djmh.args="RouteMappingBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RouteMappingBenchmark {
+
+    // 1 and 10 post offices with 200 routes each
+    @Param({"200", "2000"})
+    private int routes;
+
+    private RouteService routeService;
+    private ObjectMapper objectMapper;
+    private List<RouteResponse> responses;
+
+    @Setup
+    public void setUp() {
+        BenchmarkLogging.quiet();
+
+        List<Route> entities = new ArrayList<>(routes);
+        for (int i = 0; i < routes; i++) {
+            int postOffice = i / 200;
+            int cell = i % 200;
+            entities.add(Route.builder()
+                    .id("r" + i)
+                    .code("HK" + postOffice + "-R" + String.format("%03d", cell + 1))
+                    .name("Tuyến " + postOffice + " - " + (cell + 1))
+                    .postOfficeId("po" + postOffice)
+                    .operatingAreaId("oa" + postOffice)
+                    .type(Route.RouteType.DELIVERY)
+                    .productType("HH;KH")
+                    .productTypes(ProductTypeHelper.parse("HH;KH"))
+                    .staffMain("Nguyễn Văn A")
+                    .color("#FF5733")
+                    .area(BenchmarkPolygons.gridCell(cell / 20, cell % 20, 7))
+                    .createdAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .build());
+        }
+
+        List<PostOffice> postOffices = new ArrayList<>();
+        List<OperatingArea> operatingAreas = new ArrayList<>();
+        for (int i = 0; i <= routes / 200; i++) {
+            postOffices.add(PostOffice.builder().id("po" + i).name("Bưu cục " + i).build());
+            operatingAreas.add(OperatingArea.builder().id("oa" + i).name("Vùng " + i).build());
+        }
+
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.find(any(Query.class), eq(Route.class))).thenReturn(entities);
+        when(mongoTemplate.find(any(Query.class), eq(PostOffice.class))).thenReturn(postOffices);
+        when(mongoTemplate.find(any(Query.class), eq(OperatingArea.class))).thenReturn(operatingAreas);
+
+        objectMapper = Jackson2ObjectMapperBuilder.json().filters(ResponseView.FULL.filters()).build();
+        routeService = new RouteService(mock(RouteRepository.class), mock(PostOfficeRepository.class),
+                mock(OperatingAreaRepository.class), mongoTemplate, mock(RouteSpatialIndex.class),
+                new OperatingAreaGeometryCache(), objectMapper, mock(ServiceMetrics.class), mock(VectorTileService.class));
+        responses = routeService.getAllRoutes();
+    }
+
+    @Benchmark
+    public List<RouteResponse> mapToResponses() {
+        return routeService.getAllRoutes();
+    }
+
+    @Benchmark
+    public byte[] serializeResponses() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+}
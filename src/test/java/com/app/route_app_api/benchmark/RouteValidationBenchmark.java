@@ -0,0 +1,145 @@
+package com.app.route_app_api.benchmark;
+
+import com.app.route_app_api.dto.RouteRequest;
+import com.app.route_app_api.dto.RouteResponse;
+import com.app.route_app_api.entity.OperatingArea;
+import com.app.route_app_api.entity.PostOffice;
+import com.app.route_app_api.entity.Route;
+import com.app.route_app_api.repository.OperatingAreaRepository;
+import com.app.route_app_api.repository.PostOfficeRepository;
+import com.app.route_app_api.repository.RouteRepository;
+import com.app.route_app_api.service.OperatingAreaGeometryCache;
+import com.app.route_app_api.service.RouteService;
+import com.app.route_app_api.service.RouteSpatialIndex;
+import com.app.route_app_api.service.ServiceMetrics;
+import com.app.route_app_api.service.VectorTileService;
+import com.app.route_app_api.util.PackedGeometryCodec;
+import com.app.route_app_api.util.ProductTypeHelper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Route write validation (RouteService.createRoute): product types, containment in the operating area
+ * (validateRouteWithinOperatingArea) and overlap with the 8 surrounding seeded routes.
+ * Repositories and the $geoIntersects candidate query are in-memory stubs, so only the validation work is measured.
+ *
+ * Run with: mvn test -Pbenchmarks -Djmh.args="RouteValidationBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RouteValidationBenchmark {
+
+    private static final int ROW = 5;
+    private static final int COL = 10;
+
+    // Vertices of the new route and of each neighbouring route
+    @Param({"10", "100", "1000", "10000"})
+    private int vertices;
+
+    private RouteService routeService;
+    private RouteRequest request;
+
+    @Setup
+    public void setUp() {
+        BenchmarkLogging.quiet();
+
+        // Operating area covering the whole 10x20 seeded grid
+        OperatingArea operatingArea = OperatingArea.builder()
+                .id("oa1")
+                .name("Vùng Hoàn Kiếm")
+                .productType("HH;KH;TH")
+                .productTypes(ProductTypeHelper.parse("HH;KH;TH"))
+                .area(BenchmarkPolygons.cell(
+                        BenchmarkPolygons.BASE_LNG - 10 * BenchmarkPolygons.CELL_SIZE,
+                        BenchmarkPolygons.BASE_LAT - 5 * BenchmarkPolygons.CELL_SIZE,
+                        20 * BenchmarkPolygons.CELL_SIZE, 10 * BenchmarkPolygons.CELL_SIZE, vertices))
+                .updatedAt(LocalDateTime.now())
+                .build();
+
+        List<Route> neighbours = new ArrayList<>();
+        for (int row = ROW - 1; row <= ROW + 1; row++) {
+            for (int col = COL - 1; col <= COL + 1; col++) {
+                if (row != ROW || col != COL) {
+                    neighbours.add(neighbour(row + "-" + col, BenchmarkPolygons.gridCell(row, col, vertices)));
+                }
+            }
+        }
+
+        RouteRepository routeRepository = mock(RouteRepository.class);
+        when(routeRepository.existsByCode(anyString())).thenReturn(false);
+        when(routeRepository.save(any(Route.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        PostOfficeRepository postOfficeRepository = mock(PostOfficeRepository.class);
+        when(postOfficeRepository.findById("po1")).thenReturn(Optional.of(PostOffice.builder().id("po1").build()));
+
+        OperatingAreaRepository operatingAreaRepository = mock(OperatingAreaRepository.class);
+        when(operatingAreaRepository.findById("oa1")).thenReturn(Optional.of(operatingArea));
+
+        // $geoIntersects candidates of the overlap validation
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.find(any(Query.class), any())).thenReturn(List.of());
+        when(mongoTemplate.find(any(Query.class), eq(Route.class))).thenReturn(neighbours);
+
+        OperatingAreaGeometryCache operatingAreaGeometryCache = new OperatingAreaGeometryCache();
+        ReflectionTestUtils.setField(operatingAreaGeometryCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(operatingAreaGeometryCache, "tolerance", 1e-7);
+        operatingAreaGeometryCache.init();
+
+        // Real meters: overlap validation is recorded on every create
+        ServiceMetrics serviceMetrics = new ServiceMetrics(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(serviceMetrics, "productTypes", new String[]{"HH", "KH", "TH"});
+        serviceMetrics.init();
+
+        routeService = new RouteService(routeRepository, postOfficeRepository, operatingAreaRepository,
+                mongoTemplate, mock(RouteSpatialIndex.class), operatingAreaGeometryCache, new ObjectMapper(), serviceMetrics,
+                mock(VectorTileService.class));
+
+        request = new RouteRequest();
+        request.setCode("HK-R999");
+        request.setName("Tuyến benchmark");
+        request.setPostOfficeId("po1");
+        request.setOperatingAreaId("oa1");
+        request.setType(Route.RouteType.DELIVERY);
+        request.setProductType("HH;KH");
+        request.setArea(BenchmarkPolygons.gridCell(ROW, COL, vertices));
+    }
+
+    @Benchmark
+    public RouteResponse createRoute() {
+        return routeService.createRoute(request);
+    }
+
+    private static Route neighbour(String id, GeoJsonPolygon area) {
+        return Route.builder()
+                .id(id)
+                .code("HK-" + id)
+                .name("Tuyến " + id)
+                .packedArea(PackedGeometryCodec.encode(area))
+                .build();
+    }
+}
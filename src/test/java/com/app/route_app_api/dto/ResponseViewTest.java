@@ -0,0 +1,83 @@
+package com.app.route_app_api.dto;
+
+import com.app.route_app_api.exception.BusinessRuleException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for ResponseView and GeometryResolution parsing and MongoDB projection
+ */
+class ResponseViewTest {
+
+    @Test
+    void testFromValue() {
+        assertEquals(ResponseView.FULL, ResponseView.fromValue(null));
+        assertEquals(ResponseView.FULL, ResponseView.fromValue(" "));
+        assertEquals(ResponseView.SUMMARY, ResponseView.fromValue("Summary"));
+        assertEquals(ResponseView.GEOMETRY_ONLY, ResponseView.fromValue("geometry-only"));
+        assertThrows(BusinessRuleException.class, () -> ResponseView.fromValue("polygons"));
+    }
+
+    @Test
+    void testProjection() {
+        assertEquals(new Document("area", 0).append("packedArea", 0).append("coveringCells", 0).append("interiorCells", 0)
+                        .append("simplifiedAreas", 0),
+                ResponseView.SUMMARY.applyTo(new Query()).getFieldsObject());
+        assertEquals(new Document("area", 1), ResponseView.GEOMETRY_ONLY.applyTo(new Query()).getFieldsObject());
+        assertEquals(new Document("packedArea", 0).append("coveringCells", 0).append("interiorCells", 0)
+                        .append("simplifiedAreas", 0),
+                ResponseView.FULL.applyTo(new Query()).getFieldsObject());
+    }
+
+    @Test
+    void testSimplifiedProjection() {
+        GeometryResolution resolution = GeometryResolution.fromRequest(null, 9);
+
+        // Chỉ đọc mức zoom được chọn thay cho đa giác đầy đủ
+        assertEquals(new Document("simplifiedAreas.z9", 1),
+                ResponseView.GEOMETRY_ONLY.applyTo(new Query(), resolution).getFieldsObject());
+        assertEquals(new Document("packedArea", 0).append("coveringCells", 0).append("interiorCells", 0)
+                        .append("area", 0).append("simplifiedAreas.z6", 0).append("simplifiedAreas.z12", 0)
+                        .append("simplifiedAreas.z15", 0),
+                ResponseView.FULL.applyTo(new Query(), resolution).getFieldsObject());
+        assertEquals(ResponseView.SUMMARY.applyTo(new Query()).getFieldsObject(),
+                ResponseView.SUMMARY.applyTo(new Query(), resolution).getFieldsObject());
+    }
+
+    @Test
+    void testFilters() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        RouteResponse route = RouteResponse.builder().id("r1").code("T01").build();
+
+        // FULL giữ nguyên mọi trường kể cả null, các view chiếu bỏ trường null
+        assertEquals("{\"id\":\"r1\",\"code\":\"T01\",\"name\":null,\"type\":null,\"productType\":null,"
+                        + "\"postOfficeId\":null,\"postOfficeName\":null,\"operatingAreaId\":null,\"operatingAreaName\":null,"
+                        + "\"staffMain\":null,\"staffSub\":null,\"area\":null,\"color\":null,\"createdAt\":null,\"updatedAt\":null}",
+                mapper.writer(ResponseView.FULL.filters()).writeValueAsString(route));
+        assertEquals("{\"id\":\"r1\",\"code\":\"T01\"}",
+                mapper.writer(ResponseView.SUMMARY.filters()).writeValueAsString(route));
+        assertEquals("{\"id\":\"oa1\"}", mapper.writer(ResponseView.GEOMETRY_ONLY.filters())
+                .writeValueAsString(OperatingAreaResponse.builder().id("oa1").build()));
+    }
+
+    @Test
+    void testGeometryResolutionFromRequest() {
+        assertTrue(GeometryResolution.fromRequest(null, null).isFull());
+        assertEquals(9, GeometryResolution.fromRequest(null, 9).getLevel());
+        // Zoom thấp hơn mức thô nhất dùng mức thô nhất, cao hơn mức mịn nhất dùng đa giác đầy đủ
+        assertEquals(6, GeometryResolution.fromRequest(null, 0).getLevel());
+        assertEquals(12, GeometryResolution.fromRequest(null, 10).getLevel());
+        assertTrue(GeometryResolution.fromRequest(null, 18).isFull());
+        assertEquals(12, GeometryResolution.fromRequest(0.0005, null).getLevel());
+        assertTrue(GeometryResolution.fromRequest(0.0, null).isFull());
+
+        assertThrows(BusinessRuleException.class, () -> GeometryResolution.fromRequest(0.001, 9));
+        assertThrows(BusinessRuleException.class, () -> GeometryResolution.fromRequest(null, 25));
+        assertThrows(BusinessRuleException.class, () -> GeometryResolution.fromRequest(-1.0, null));
+        assertThrows(BusinessRuleException.class, () -> GeometryResolution.fromRequest(Double.NaN, null));
+    }
+}
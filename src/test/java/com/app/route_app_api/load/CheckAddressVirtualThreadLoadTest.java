@@ -0,0 +1,161 @@
+package com.app.route_app_api.load;
+
+import com.app.route_app_api.service.RouteSpatialIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Load test for check-address in virtual-thread mode
+ * The geocoder is a stub endpoint of the application answering after GEOCODER_LATENCY_MS. Tomcat is
+ * limited to 20 platform threads, so the platform-thread mode could serve at most 20 requests per latency
+ * period; with virtual threads all concurrent requests wait on the geocoder together, and no platform
+ * threads are added.
+ *
+ * Run with: mvn test -Pload-test
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT, properties = {
+        "spring.threads.virtual.enabled=true",
+        "server.tomcat.threads.max=" + CheckAddressVirtualThreadLoadTest.PLATFORM_THREADS,
+        // Accept backlog large enough for all concurrent connections (no SYN retries)
+        "server.tomcat.accept-count=" + CheckAddressVirtualThreadLoadTest.CONCURRENT_REQUESTS,
+        // No MongoDB needed: route lookups use the (mocked) in-memory index
+        "spring.data.mongodb.uri=mongodb://localhost:1/load_test?serverSelectionTimeoutMS=200&connectTimeoutMS=200",
+        "app.migration.enabled=false",
+        // Per-request INFO logging to the console would dominate the measurement
+        "logging.level.com.app.route_app_api=WARN",
+        "logging.level.org.springframework.data.mongodb.core=WARN",
+        "logging.level.com.app.route_app_api.load=INFO",
+        // Every request goes to the geocoder
+        "app.geocode.cache.enabled=false",
+        "app.geocode.batch.enabled=false",
+        // Measure raw concurrency: no bulkhead limit, no hedged duplicate calls
+        "app.geocode.resilience.bulkhead.max-concurrent=2000",
+        "app.geocode.resilience.hedge.max-attempts=1",
+        "app.http-client.max-connections=2000",
+        "app.http-client.max-connections-per-route=2000"
+})
+@Import(CheckAddressVirtualThreadLoadTest.StubGeocoderController.class)
+class CheckAddressVirtualThreadLoadTest {
+
+    static final int PLATFORM_THREADS = 20;
+    private static final int GEOCODER_LATENCY_MS = 1000;
+    static final int CONCURRENT_REQUESTS = 400;
+
+    @LocalServerPort
+    private int port;
+
+    @MockBean
+    private RouteSpatialIndex routeSpatialIndex;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    @DynamicPropertySource
+    static void geocoderProperties(DynamicPropertyRegistry registry) throws IOException {
+        int serverPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            serverPort = socket.getLocalPort();
+        }
+        registry.add("server.port", () -> serverPort);
+        // The stub geocoder is served by the application itself (see StubGeocoderController)
+        registry.add("viettelpost.location.api.url", () -> "http://localhost:" + serverPort + "/stub/addresses");
+    }
+
+    /**
+     * Stub of the ViettelPost Location API answering after GEOCODER_LATENCY_MS
+     */
+    @RestController
+    static class StubGeocoderController {
+
+        @PostMapping("/stub/addresses")
+        public List<Map<String, Object>> geocode(@RequestBody List<String> addresses) throws InterruptedException {
+            Thread.sleep(GEOCODER_LATENCY_MS);
+            return addresses.stream()
+                    .map(address -> Map.<String, Object>of(
+                            "formattedAddress", address,
+                            "geometry", Map.of("location", Map.of("lat", 21.0278, "lng", 105.8342))))
+                    .toList();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(routeSpatialIndex.isAvailable()).thenReturn(true);
+    }
+
+    @Test
+    void testConcurrentCheckAddressThroughput() {
+        // Warm-up (JIT, connection pools)
+        runConcurrently(CONCURRENT_REQUESTS / 4);
+        runConcurrently(CONCURRENT_REQUESTS / 4);
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        int platformThreadsBefore = threads.getThreadCount();
+        threads.resetPeakThreadCount();
+
+        long start = System.nanoTime();
+        runConcurrently(CONCURRENT_REQUESTS);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        int platformThreadGrowth = threads.getPeakThreadCount() - platformThreadsBefore;
+        // Lower bound for the same load on PLATFORM_THREADS blocking platform threads
+        long platformModeMinMs = (long) CONCURRENT_REQUESTS * GEOCODER_LATENCY_MS / PLATFORM_THREADS;
+
+        log.info("{} concurrent check-address requests in {} ms ({} req/s); platform-thread mode needs >= {} ms; platform threads +{}",
+                CONCURRENT_REQUESTS, elapsedMs, CONCURRENT_REQUESTS * 1000L / Math.max(elapsedMs, 1),
+                platformModeMinMs, platformThreadGrowth);
+
+        assertTrue(elapsedMs < platformModeMinMs / 2,
+                "Expected at least 2x the platform-thread throughput, took " + elapsedMs + " ms");
+        assertTrue(platformThreadGrowth < PLATFORM_THREADS,
+                "Platform threads grew by " + platformThreadGrowth);
+    }
+
+    private void runConcurrently(int requests) {
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            String address = URLEncoder.encode("Số " + i + " Tràng Tiền, Hà Nội", StandardCharsets.UTF_8);
+            HttpRequest request = HttpRequest.newBuilder(
+                    URI.create("http://localhost:" + port + "/api/v1/gis/check-address?address=" + address)).build();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            HttpResponse<String> result = response.join();
+            assertEquals(200, result.statusCode(), result.body());
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package com.app.route_app_api.load;
+
+import com.app.route_app_api.entity.Route;
+import com.app.route_app_api.service.RouteSpatialIndex;
+import com.app.route_app_api.util.GeoJsonHelper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * End-to-end load harness: the application runs against an in-process MongoDB stand-in (mongo-java-server,
+ * no mongod or Docker needed) and a stub geocoder, seeded with a LoadDataset scaled up from DataSeedService.
+ * Closed-loop workers replay a fixed traffic mix and the run reports throughput and p50 / p99 latency per endpoint:
+ * <pre>
+ *   check-point          45%   random point inside a seeded grid, with or without a product type filter
+ *   check-address        10%   addresses drawn from a pool (repeats hit the geocode cache), stub geocoder
+ *   list routes          15%   one page (limit 50, summary view) of a post office's routes
+ *   get route            15%   random seeded route by id
+ *   create/update/delete 15%   one route in the worker's reserved cell, written then removed
+ * </pre>
+ * The traffic is reproducible (seeded per worker). Absolute numbers depend on the stand-in, which is slower than
+ * a real MongoDB for queries; compare runs on the same machine when validating a change.
+ *
+ * Run with: mvn test -Pload-test -Dtest=EndpointLoadTest [-Dload.post-offices=50 -Dload.routes-per-post-office=200
+ *           -Dload.concurrency=16 -Dload.warmup-seconds=10 -Dload.duration-seconds=30 -Dload.geocoder-latency-ms=20]
+ */
+@Slf4j
+@Tag("load")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+// Metrics are recorded and exported like in production (Spring Boot tests disable them by default)
+@AutoConfigureObservability
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.migration.enabled=false",
+        // Per-request INFO logging to the console would dominate the measurement
+        "logging.level.com.app.route_app_api=WARN",
+        "logging.level.org.springframework.data.mongodb.core=WARN",
+        "logging.level.com.app.route_app_api.load=INFO",
+        // The dataset is static apart from this harness's own writes - no periodic index reloads during the run
+        "app.gis.route-index.refresh-seconds=0",
+        "app.gis.operating-area-index.refresh-seconds=0"
+})
+class EndpointLoadTest {
+
+    private static final int POST_OFFICES = Integer.getInteger("load.post-offices", 50);
+    private static final int ROUTES_PER_POST_OFFICE = Integer.getInteger("load.routes-per-post-office", 200);
+    private static final int VERTICES = Integer.getInteger("load.vertices", 5);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 16);
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmup-seconds", 10);
+    private static final int DURATION_SECONDS = Integer.getInteger("load.duration-seconds", 30);
+    private static final int GEOCODER_LATENCY_MS = Integer.getInteger("load.geocoder-latency-ms", 20);
+    private static final int ADDRESS_POOL_SIZE = 2000;
+    private static final String[] PRODUCT_TYPE_FILTERS = {null, null, "HH", "KH", "TH"};
+
+    private static MongoServer mongoServer;
+    private static HttpServer geocoder;
+
+    @LocalServerPort
+    private int port;
+
+    @SpyBean
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private RouteSpatialIndex routeSpatialIndex;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private LoadDataset dataset;
+
+    @DynamicPropertySource
+    static void standInProperties(DynamicPropertyRegistry registry) throws IOException {
+        mongoServer = new MongoServer(new MemoryBackend());
+        String mongoUri = mongoServer.bindAndGetConnectionString() + "/route_app_load";
+
+        geocoder = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        geocoder.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        geocoder.createContext("/addresses", EndpointLoadTest::geocode);
+        geocoder.start();
+
+        registry.add("spring.data.mongodb.uri", () -> mongoUri);
+        registry.add("viettelpost.location.api.url",
+                () -> "http://localhost:" + geocoder.getAddress().getPort() + "/addresses");
+    }
+
+    /**
+     * Stub of the ViettelPost Location API: answers after GEOCODER_LATENCY_MS, placing each address
+     * at the "lat lng" written at its end
+     */
+    private static void geocode(HttpExchange exchange) throws IOException {
+        try {
+            Thread.sleep(GEOCODER_LATENCY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        ObjectMapper mapper = new ObjectMapper();
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (JsonNode address : mapper.readTree(exchange.getRequestBody())) {
+            String[] parts = address.asText().split(" ");
+            results.add(Map.of(
+                    "formattedAddress", address.asText(),
+                    "geometry", Map.of("location", Map.of(
+                            "lat", Double.parseDouble(parts[parts.length - 2]),
+                            "lng", Double.parseDouble(parts[parts.length - 1])))));
+        }
+
+        byte[] body = mapper.writeValueAsBytes(results);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @BeforeAll
+    void seed() {
+        long start = System.currentTimeMillis();
+        dataset = LoadDataset.seed(mongoTemplate, POST_OFFICES, ROUTES_PER_POST_OFFICE, VERTICES);
+        routeSpatialIndex.invalidate();
+        assertTrue(routeSpatialIndex.isAvailable());
+        // The stand-in has no $geoIntersects (route overlap candidates): answered from the route index, which is
+        // current here since every write of this single instance goes through RouteService
+        doAnswer(invocation -> intersectingRoutes(invocation.getArgument(0)))
+                .when(mongoTemplate).find(argThat(EndpointLoadTest::isGeoIntersects), eq(Route.class));
+        log.info("Seeded {} post offices / {} routes in {} ms", dataset.sites().size(), dataset.routeIds().size(),
+                System.currentTimeMillis() - start);
+    }
+
+    private static boolean isGeoIntersects(Query query) {
+        return query != null && query.getQueryObject().get("area") instanceof Document area
+                && area.containsKey("$geoIntersects");
+    }
+
+    /**
+     * Routes whose bounding box intersects the polygon of a $geoIntersects query (a superset of its result,
+     * the caller checks the exact geometry), with the same id criterion and projection
+     */
+    private List<Route> intersectingRoutes(Query query) {
+        Document criteria = query.getQueryObject();
+        Object geometry = ((Document) criteria.get("area")).get("$geoIntersects");
+        if (geometry instanceof Document document) {
+            geometry = document.get("$geometry");
+        }
+        List<String> ids = routeSpatialIndex.findCandidates(
+                        GeoJsonHelper.toJtsPolygon((GeoJsonPolygon) geometry).getEnvelopeInternal()).stream()
+                .map(RouteSpatialIndex.IndexedRoute::id)
+                .filter(id -> !(criteria.get("_id") instanceof Document excluded) || !id.equals(excluded.get("$ne")))
+                .toList();
+
+        Query candidates = new Query(Criteria.where("_id").in(ids));
+        query.getFieldsObject().keySet().forEach(field -> candidates.fields().include(field));
+        return mongoTemplate.find(candidates, Route.class);
+    }
+
+    @AfterAll
+    static void stopStandIns() {
+        if (geocoder != null) {
+            geocoder.stop(0);
+        }
+        if (mongoServer != null) {
+            mongoServer.shutdownNow();
+        }
+    }
+
+    @Test
+    void testMixedTraffic() throws Exception {
+        assertTrue(CONCURRENCY <= dataset.sites().size() * LoadDataset.ROUTE_COLUMNS,
+                "Not enough reserved cells for " + CONCURRENCY + " writers");
+
+        run(new LatencyRecorder(), WARMUP_SECONDS, 1);
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        long elapsed = run(recorder, DURATION_SECONDS, 2);
+        log.info("{} post offices, {} routes, {} workers, {} s:{}", dataset.sites().size(), dataset.routeIds().size(),
+                CONCURRENCY, DURATION_SECONDS, recorder.report(elapsed));
+
+        assertEquals(Map.of(), recorder.errors(), "Failed requests per endpoint");
+    }
+
+    /**
+     * Run CONCURRENCY closed-loop workers for the given duration
+     * @return elapsed time in nanoseconds
+     */
+    private long run(LatencyRecorder recorder, int seconds, int phase) throws Exception {
+        long start = System.nanoTime();
+        long deadline = start + seconds * 1_000_000_000L;
+
+        ExecutorService workers = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            List<Future<?>> futures = new ArrayList<>(CONCURRENCY);
+            for (int worker = 0; worker < CONCURRENCY; worker++) {
+                int id = worker;
+                Random random = new Random(phase * 1_000_003L + worker);
+                futures.add(workers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        nextOperation(id, random, recorder);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void nextOperation(int worker, Random random, LatencyRecorder recorder) throws Exception {
+        int pick = random.nextInt(100);
+        if (pick < 45) {
+            double[] point = dataset.randomPoint(random);
+            String productType = PRODUCT_TYPE_FILTERS[random.nextInt(PRODUCT_TYPE_FILTERS.length)];
+            send(recorder, "GET /api/v1/gis/check-point", get("/api/v1/gis/check-point?latitude=" + point[1]
+                    + "&longitude=" + point[0] + (productType != null ? "&productType=" + productType : "")));
+        } else if (pick < 55) {
+            // Same pool index -> same address and point, so repeated addresses are served from the geocode cache
+            int index = random.nextInt(ADDRESS_POOL_SIZE);
+            double[] point = dataset.randomPoint(new Random(index));
+            String address = String.format(Locale.ROOT, "Số %d Tràng Tiền, Hà Nội %.6f %.6f", index, point[1], point[0]);
+            send(recorder, "GET /api/v1/gis/check-address",
+                    get("/api/v1/gis/check-address?address=" + URLEncoder.encode(address, StandardCharsets.UTF_8)));
+        } else if (pick < 70) {
+            LoadDataset.Site site = dataset.sites().get(random.nextInt(dataset.sites().size()));
+            send(recorder, "GET /api/v1/routes", get("/api/v1/routes?postOfficeId=" + site.postOfficeId()
+                    + "&limit=50&view=summary"));
+        } else if (pick < 85) {
+            String id = dataset.routeIds().get(random.nextInt(dataset.routeIds().size()));
+            send(recorder, "GET /api/v1/routes/{id}", get("/api/v1/routes/" + id));
+        } else {
+            writeRoute(worker, recorder);
+        }
+    }
+
+    /**
+     * Create a route in the worker's reserved cell, update it and delete it again
+     */
+    private void writeRoute(int worker, LatencyRecorder recorder) throws Exception {
+        LoadDataset.Site site = dataset.writerSite(worker);
+        Map<String, Object> route = new LinkedHashMap<>();
+        route.put("code", "LOAD-W" + worker + "-" + System.nanoTime());
+        route.put("name", "Tuyến tải " + worker);
+        route.put("postOfficeId", site.postOfficeId());
+        route.put("operatingAreaId", site.operatingAreaId());
+        route.put("type", "DELIVERY");
+        route.put("productType", "HH;KH");
+        route.put("staffMain", "NV" + worker);
+        route.put("area", Map.of("type", "Polygon",
+                "coordinates", List.of(GeoJsonHelper.extractCoordinates(dataset.writerCell(worker)))));
+
+        HttpResponse<String> created = send(recorder, "POST /api/v1/routes", json("POST", "/api/v1/routes", route));
+        if (created.statusCode() != 201 && created.statusCode() != 200) {
+            return;
+        }
+        String id = objectMapper.readTree(created.body()).path("data").path("id").asText();
+
+        route.put("name", "Tuyến tải " + worker + " (cập nhật)");
+        send(recorder, "PUT /api/v1/routes/{id}", json("PUT", "/api/v1/routes/" + id, route));
+        send(recorder, "DELETE /api/v1/routes/{id}",
+                HttpRequest.newBuilder(uri("/api/v1/routes/" + id)).DELETE().build());
+    }
+
+    private HttpResponse<String> send(LatencyRecorder recorder, String endpoint, HttpRequest request) throws Exception {
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        boolean success = response.statusCode() / 100 == 2;
+        recorder.record(endpoint, System.nanoTime() - start, success);
+        if (!success) {
+            log.warn("{} -> {} {}", endpoint, response.statusCode(), response.body());
+        }
+        return response;
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private HttpRequest json(String method, String path, Object body) throws IOException {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
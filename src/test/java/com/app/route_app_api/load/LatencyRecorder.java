@@ -0,0 +1,87 @@
+package com.app.route_app_api.load;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-endpoint latency samples of a load run, reported as throughput and p50 / p99 / max latency
+ */
+final class LatencyRecorder {
+
+    private final Map<String, Samples> samples = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long latencyNanos, boolean success) {
+        samples.computeIfAbsent(endpoint, key -> new Samples()).add(latencyNanos, success);
+    }
+
+    /**
+     * Endpoints with at least one failed request, with their error counts
+     */
+    Map<String, Long> errors() {
+        Map<String, Long> errors = new TreeMap<>();
+        samples.forEach((endpoint, endpointSamples) -> {
+            long count = endpointSamples.errors();
+            if (count > 0) {
+                errors.put(endpoint, count);
+            }
+        });
+        return errors;
+    }
+
+    /**
+     * Report table, one line per endpoint plus the total
+     * @param elapsedNanos measured duration, used for the throughput
+     */
+    String report(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        StringBuilder report = new StringBuilder(String.format("%n%-36s %9s %7s %10s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms"));
+
+        long total = 0;
+        for (Map.Entry<String, Samples> entry : new TreeMap<>(samples).entrySet()) {
+            long[] latencies = entry.getValue().sorted();
+            total += latencies.length;
+            report.append(String.format("%-36s %9d %7d %10.1f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), latencies.length, entry.getValue().errors(), latencies.length / seconds,
+                    percentile(latencies, 50), percentile(latencies, 99), percentile(latencies, 100)));
+        }
+        report.append(String.format("%-36s %9d %7s %10.1f%n", "total", total, "", total / seconds));
+        return report.toString();
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+
+    private static final class Samples {
+        private long[] latencies = new long[1024];
+        private int size;
+        private long errors;
+
+        synchronized void add(long latencyNanos, boolean success) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latencyNanos;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized long errors() {
+            return errors;
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(latencies, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
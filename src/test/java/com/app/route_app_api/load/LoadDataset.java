@@ -0,0 +1,183 @@
+package com.app.route_app_api.load;
+
+import com.app.route_app_api.benchmark.BenchmarkPolygons;
+import com.app.route_app_api.entity.OperatingArea;
+import com.app.route_app_api.entity.PostOffice;
+import com.app.route_app_api.entity.Route;
+import com.app.route_app_api.util.PackedGeometryCodec;
+import com.app.route_app_api.util.ProductTypeHelper;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Load test dataset laid out like DataSeedService: post offices 0.1 degree apart in rows of 8 around
+ * Hà Nội, each with a grid of 0.001 degree route cells 20 columns wide (200 routes = 10 rows, the seeded size).
+ * The number of post offices and routes per post office is configurable to scale the dataset up.
+ *
+ * Each post office also gets an operating area covering its grid plus one spare row above it, whose
+ * cells are reserved for the route create / update / delete traffic (one cell per writer).
+ */
+final class LoadDataset {
+
+    private static final String[] PRODUCT_TYPES = {"HH", "KH", "TH", "HH;KH", "HH;TH", "KH;TH"};
+    static final int ROUTE_COLUMNS = 20;
+
+    private static final double BASE_LATITUDE = 21.028511;
+    private static final double BASE_LONGITUDE = 105.804817;
+    private static final double SPACING = 0.1;
+    private static final int POST_OFFICE_COLUMNS = 8;
+    private static final double CELL = BenchmarkPolygons.CELL_SIZE;
+    private static final Route.RouteType[] ROUTE_TYPES = {Route.RouteType.DELIVERY, Route.RouteType.PICKUP, Route.RouteType.ALL};
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    /**
+     * A seeded post office with its operating area and the lower-left corner of its route grid
+     */
+    record Site(String postOfficeId, String operatingAreaId, double gridLng, double gridLat) {
+    }
+
+    private final List<Site> sites;
+    private final List<String> routeIds;
+    private final int routeRows;
+    private final int vertices;
+
+    private LoadDataset(List<Site> sites, List<String> routeIds, int routeRows, int vertices) {
+        this.sites = sites;
+        this.routeIds = routeIds;
+        this.routeRows = routeRows;
+        this.vertices = vertices;
+    }
+
+    /**
+     * Insert the dataset in bulk (bypassing the services, like DataSeedService does for routes)
+     * @param routesPerPostOffice rounded up to a multiple of ROUTE_COLUMNS
+     * @param vertices ring points per route polygon (5 = plain rectangle)
+     */
+    static LoadDataset seed(MongoTemplate mongoTemplate, int postOffices, int routesPerPostOffice, int vertices) {
+        Random random = new Random(42);
+        int routeRows = Math.max(1, (routesPerPostOffice + ROUTE_COLUMNS - 1) / ROUTE_COLUMNS);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Site> sites = new ArrayList<>(postOffices);
+        List<String> routeIds = new ArrayList<>(postOffices * routeRows * ROUTE_COLUMNS);
+        List<Route> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+
+        for (int i = 0; i < postOffices; i++) {
+            double lng = BASE_LONGITUDE + (i % POST_OFFICE_COLUMNS - POST_OFFICE_COLUMNS / 2.0) * SPACING;
+            double lat = BASE_LATITUDE + (i / POST_OFFICE_COLUMNS - 3.5) * SPACING;
+            String code = String.format("LT-%03d", i + 1);
+
+            PostOffice postOffice = mongoTemplate.insert(PostOffice.builder()
+                    .code(code)
+                    .name("Bưu cục " + (i + 1))
+                    .address("Địa chỉ bưu cục " + (i + 1))
+                    .location(new GeoJsonPoint(lng, lat))
+                    .status("ACTIVE")
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+
+            double gridLng = lng - 10 * CELL;
+            double gridLat = lat - 5 * CELL;
+            // Seeded rows plus the spare row for write traffic, with a margin so cells never touch the boundary
+            GeoJsonPolygon area = rectangle(gridLng - CELL, gridLat - CELL,
+                    gridLng + (ROUTE_COLUMNS + 1) * CELL, gridLat + (routeRows + 2) * CELL);
+            OperatingArea operatingArea = mongoTemplate.insert(OperatingArea.builder()
+                    .name("Vùng " + code)
+                    .postOfficeId(postOffice.getId())
+                    .productType("HH;KH;TH")
+                    .productTypes(ProductTypeHelper.parse("HH;KH;TH"))
+                    .area(area)
+                    .packedArea(PackedGeometryCodec.encode(area))
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+
+            Site site = new Site(postOffice.getId(), operatingArea.getId(), gridLng, gridLat);
+            sites.add(site);
+
+            int routeIndex = 0;
+            for (int row = 0; row < routeRows; row++) {
+                for (int col = 0; col < ROUTE_COLUMNS; col++) {
+                    routeIndex++;
+                    String productType = PRODUCT_TYPES[random.nextInt(PRODUCT_TYPES.length)];
+                    GeoJsonPolygon polygon = cell(site, row, col, vertices);
+                    batch.add(Route.builder()
+                            .code(code + "-R" + String.format("%04d", routeIndex))
+                            .name("Tuyến " + (i + 1) + " - " + routeIndex)
+                            .postOfficeId(postOffice.getId())
+                            .operatingAreaId(operatingArea.getId())
+                            .type(ROUTE_TYPES[random.nextInt(ROUTE_TYPES.length)])
+                            .productType(productType)
+                            .productTypes(ProductTypeHelper.parse(productType))
+                            .staffMain("NV" + random.nextInt(500))
+                            .area(polygon)
+                            .packedArea(PackedGeometryCodec.encode(polygon))
+                            .createdAt(now)
+                            .updatedAt(now)
+                            .build());
+                    if (batch.size() == INSERT_BATCH_SIZE) {
+                        insertRoutes(mongoTemplate, batch, routeIds);
+                    }
+                }
+            }
+        }
+        insertRoutes(mongoTemplate, batch, routeIds);
+
+        return new LoadDataset(List.copyOf(sites), List.copyOf(routeIds), routeRows, vertices);
+    }
+
+    List<Site> sites() {
+        return sites;
+    }
+
+    List<String> routeIds() {
+        return routeIds;
+    }
+
+    /**
+     * Random point inside the seeded route grid of a random post office (always matches a route)
+     * @return {longitude, latitude}
+     */
+    double[] randomPoint(Random random) {
+        Site site = sites.get(random.nextInt(sites.size()));
+        return new double[]{
+                site.gridLng() + random.nextDouble() * ROUTE_COLUMNS * CELL,
+                site.gridLat() + random.nextDouble() * routeRows * CELL};
+    }
+
+    /**
+     * Spare cell reserved for one writer: the row above the seeded grid, one column per writer
+     * @param writer 0 .. sites().size() * ROUTE_COLUMNS - 1
+     */
+    Site writerSite(int writer) {
+        return sites.get(writer % sites.size());
+    }
+
+    GeoJsonPolygon writerCell(int writer) {
+        return cell(writerSite(writer), routeRows, writer / sites.size(), vertices);
+    }
+
+    private static GeoJsonPolygon cell(Site site, int row, int col, int vertices) {
+        return BenchmarkPolygons.cell(site.gridLng() + col * CELL, site.gridLat() + row * CELL, CELL, CELL, vertices);
+    }
+
+    private static GeoJsonPolygon rectangle(double minLng, double minLat, double maxLng, double maxLat) {
+        return new GeoJsonPolygon(new Point(minLng, minLat), new Point(maxLng, minLat),
+                new Point(maxLng, maxLat), new Point(minLng, maxLat), new Point(minLng, minLat));
+    }
+
+    private static void insertRoutes(MongoTemplate mongoTemplate, List<Route> batch, List<String> routeIds) {
+        if (!batch.isEmpty()) {
+            mongoTemplate.insert(batch, Route.class).forEach(route -> routeIds.add(route.getId()));
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.app.route_app_api.service;
+
+import com.app.route_app_api.dto.ParseLocationResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test for GeocodeBatcher request coalescing
+ */
+class GeocodeBatcherTest {
+
+    private ViettelPostLocationClient client;
+    private GeocodeBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        client = mock(ViettelPostLocationClient.class);
+        // Trả về một kết quả cho mỗi địa chỉ, formattedAddress = địa chỉ gửi lên
+        when(client.geocode(anyList())).thenAnswer(invocation -> {
+            List<String> addresses = invocation.getArgument(0);
+            return addresses.stream().map(GeocodeBatcherTest::location).collect(Collectors.toList());
+        });
+
+        batcher = new GeocodeBatcher(client);
+        ReflectionTestUtils.setField(batcher, "enabled", true);
+        ReflectionTestUtils.setField(batcher, "windowMs", 50L);
+        ReflectionTestUtils.setField(batcher, "maxBatchSize", 3);
+        ReflectionTestUtils.setField(batcher, "maxConcurrent", 2);
+        ReflectionTestUtils.setField(batcher, "timeoutMs", 5000L);
+        batcher.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.shutdown();
+    }
+
+    @Test
+    void testRequestsWithinWindowShareOneCall() {
+        CompletableFuture<ParseLocationResponse> a = batcher.submit("A");
+        CompletableFuture<ParseLocationResponse> b = batcher.submit("B");
+        // Cùng địa chỉ chỉ được gửi một lần
+        CompletableFuture<ParseLocationResponse> a2 = batcher.submit("A");
+
+        assertEquals("A", batcher.await(a, "A").getFormattedAddress());
+        assertEquals("B", batcher.await(b, "B").getFormattedAddress());
+        assertEquals("A", batcher.await(a2, "A").getFormattedAddress());
+
+        verify(client, times(1)).geocode(List.of("A", "B"));
+    }
+
+    @Test
+    void testFullBatchIsSentWithoutWaiting() {
+        ReflectionTestUtils.setField(batcher, "windowMs", 60_000L);
+
+        List<CompletableFuture<ParseLocationResponse>> results = List.of(
+                batcher.submit("A"), batcher.submit("B"), batcher.submit("C"));
+
+        for (CompletableFuture<ParseLocationResponse> result : results) {
+            assertNotNull(batcher.await(result, "?"));
+        }
+        verify(client, times(1)).geocode(List.of("A", "B", "C"));
+    }
+
+    @Test
+    void testFailureIsPropagatedToAllCallers() {
+        reset(client);
+        when(client.geocode(anyList())).thenThrow(new RuntimeException("Failed to geocode address: 503"));
+
+        CompletableFuture<ParseLocationResponse> a = batcher.submit("A");
+        CompletableFuture<ParseLocationResponse> b = batcher.submit("B");
+
+        assertThrows(RuntimeException.class, () -> batcher.await(a, "A"));
+        assertThrows(RuntimeException.class, () -> batcher.await(b, "B"));
+    }
+
+    private static ParseLocationResponse location(String address) {
+        ParseLocationResponse response = new ParseLocationResponse();
+        response.setFormattedAddress(address);
+        return response;
+    }
+}
@@ -0,0 +1,101 @@
+package com.app.route_app_api.service;
+
+import com.app.route_app_api.dto.GeocodeCacheStatsResponse;
+import com.app.route_app_api.dto.ParseLocationResponse;
+import com.app.route_app_api.entity.GeocodeCacheEntry;
+import com.app.route_app_api.repository.GeocodeCacheRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test for GeocodeCache key normalization, hit/miss accounting and MongoDB persistence
+ */
+class GeocodeCacheTest {
+
+    private GeocodeCacheRepository repository;
+    private GeocodeCache cache;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(GeocodeCacheRepository.class);
+        when(repository.findById(any())).thenReturn(Optional.empty());
+
+        cache = new GeocodeCache(repository);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxSize", 100L);
+        ReflectionTestUtils.setField(cache, "ttlMinutes", 60L);
+        ReflectionTestUtils.setField(cache, "staleTtlMinutes", 120L);
+        ReflectionTestUtils.setField(cache, "persistent", false);
+        cache.init();
+    }
+
+    @Test
+    void testNormalize() {
+        assertEquals("số 1, tràng tiền, hà nội", GeocodeCache.normalize("  Số 1,Tràng  Tiền ,  Hà Nội "));
+
+        // Chữ "ố" dạng tổ hợp (o + dấu mũ + dấu sắc) trùng khóa với dạng dựng sẵn
+        assertEquals(GeocodeCache.normalize("S\u1ed1 1"), GeocodeCache.normalize("So\u0302\u0301 1"));
+    }
+
+    @Test
+    void testExpiredResultIsStillAvailableAsStale() {
+        ReflectionTestUtils.setField(cache, "ttlMinutes", 0L);
+        cache.init();
+        ParseLocationResponse location = new ParseLocationResponse();
+
+        cache.put("Số 1 Tràng Tiền", location);
+
+        assertNull(cache.get("Số 1 Tràng Tiền"));
+        assertSame(location, cache.getStale("số 1 tràng tiền"));
+        assertNull(cache.getStale("Số 2 Tràng Tiền"));
+    }
+
+    @Test
+    void testHitAndMiss() {
+        ParseLocationResponse location = new ParseLocationResponse();
+
+        assertNull(cache.get("Số 1 Tràng Tiền"));
+        cache.put("Số 1 Tràng Tiền", location);
+        assertSame(location, cache.get("  số 1  tràng tiền"));
+
+        GeocodeCacheStatsResponse stats = cache.getStats();
+        assertEquals(1, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(0.5, stats.getHitRate());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testPersistentHit() {
+        ReflectionTestUtils.setField(cache, "persistent", true);
+        ParseLocationResponse location = new ParseLocationResponse();
+        when(repository.findById("hà nội")).thenReturn(Optional.of(GeocodeCacheEntry.builder()
+                .id("hà nội").location(location).cachedAt(LocalDateTime.now().minusMinutes(5)).build()));
+
+        assertSame(location, cache.get("Hà Nội"));
+        // Lần thứ hai được phục vụ từ bộ nhớ
+        assertSame(location, cache.get("Hà Nội"));
+        verify(repository, times(1)).findById("hà nội");
+
+        GeocodeCacheStatsResponse stats = cache.getStats();
+        assertEquals(1, stats.getPersistentHitCount());
+        assertEquals(0, stats.getMissCount());
+    }
+
+    @Test
+    void testPersistentEntryExpired() {
+        ReflectionTestUtils.setField(cache, "persistent", true);
+        when(repository.findById("hà nội")).thenReturn(Optional.of(GeocodeCacheEntry.builder()
+                .id("hà nội").location(new ParseLocationResponse()).cachedAt(LocalDateTime.now().minusHours(2)).build()));
+
+        assertNull(cache.get("Hà Nội"));
+    }
+}
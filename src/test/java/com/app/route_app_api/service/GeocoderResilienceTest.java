@@ -0,0 +1,291 @@
+package com.app.route_app_api.service;
+
+import com.app.route_app_api.dto.ParseLocationResponse;
+import com.app.route_app_api.exception.GeocoderUnavailableException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Test for GeocoderResilience against a local stub of the ViettelPost Location API
+ * (RestTemplate and WebClient clients)
+ */
+class GeocoderResilienceTest {
+
+    private static final String RESULT = "[{\"formattedAddress\":\"Hà Nội\",\"geometry\":{\"location\":{\"lat\":21.0,\"lng\":105.8}}}]";
+
+    private HttpServer stub;
+    private final AtomicInteger requests = new AtomicInteger();
+    // Behaviour of the stub per request number (1-based): delay in ms, negative = HTTP 503
+    private volatile StubBehaviour behaviour = request -> 0;
+
+    private GeocoderResilience resilience;
+    private ViettelPostLocationClient client;
+    private ReactiveViettelPostLocationClient reactiveClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stub.setExecutor(Executors.newCachedThreadPool());
+        stub.createContext("/addresses", this::handle);
+        stub.start();
+
+        resilience = new GeocoderResilience();
+        ReflectionTestUtils.setField(resilience, "enabled", true);
+        ReflectionTestUtils.setField(resilience, "timeoutMs", 2000L);
+        ReflectionTestUtils.setField(resilience, "windowSize", 4);
+        ReflectionTestUtils.setField(resilience, "minimumCalls", 4);
+        ReflectionTestUtils.setField(resilience, "failureRateThreshold", 50);
+        ReflectionTestUtils.setField(resilience, "slowCallMs", 1000L);
+        ReflectionTestUtils.setField(resilience, "openMs", 300L);
+        ReflectionTestUtils.setField(resilience, "halfOpenCalls", 1);
+        ReflectionTestUtils.setField(resilience, "maxConcurrent", 10);
+        ReflectionTestUtils.setField(resilience, "maxWaitMs", 0L);
+        ReflectionTestUtils.setField(resilience, "maxAttempts", 1);
+        ReflectionTestUtils.setField(resilience, "hedgePercentile", 95.0);
+        ReflectionTestUtils.setField(resilience, "hedgeMinDelayMs", 10L);
+        ReflectionTestUtils.setField(resilience, "hedgeMaxDelayMs", 200L);
+        ReflectionTestUtils.setField(resilience, "latencyWindowSize", 100);
+        resilience.init();
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setReadTimeout(5000);
+        client = new ViettelPostLocationClient(new RestTemplate(requestFactory), resilience, mock(ServiceMetrics.class));
+        ReflectionTestUtils.setField(client, "viettelPostApiUrl",
+                "http://localhost:" + stub.getAddress().getPort() + "/addresses");
+
+        reactiveClient = new ReactiveViettelPostLocationClient(WebClient.create(), resilience, mock(ServiceMetrics.class));
+        ReflectionTestUtils.setField(reactiveClient, "viettelPostApiUrl",
+                "http://localhost:" + stub.getAddress().getPort() + "/addresses");
+    }
+
+    @AfterEach
+    void tearDown() {
+        resilience.shutdown();
+        stub.stop(0);
+    }
+
+    @Test
+    void testSuccessfulCallPassesThrough() {
+        List<ParseLocationResponse> results = client.geocode(List.of("Hà Nội"));
+
+        assertEquals("Hà Nội", results.get(0).getFormattedAddress());
+        assertEquals("CLOSED", resilience.getStatus().getCircuitState());
+    }
+
+    @Test
+    void testCircuitOpensAfterFailuresAndRejectsWithoutCallingApi() {
+        behaviour = request -> -1;
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(GeocoderUnavailableException.class, () -> client.geocode(List.of("Hà Nội")));
+        }
+        assertEquals("OPEN", resilience.getStatus().getCircuitState());
+
+        // Circuit mở: từ chối ngay, không gọi API
+        int before = requests.get();
+        assertThrows(GeocoderUnavailableException.class, () -> client.geocode(List.of("Hà Nội")));
+        assertEquals(before, requests.get());
+        assertEquals(1, resilience.getStatus().getRejectedCalls());
+    }
+
+    @Test
+    void testCircuitClosesAfterSuccessfulTrialCall() throws InterruptedException {
+        behaviour = request -> -1;
+        for (int i = 0; i < 4; i++) {
+            assertThrows(GeocoderUnavailableException.class, () -> client.geocode(List.of("Hà Nội")));
+        }
+        assertEquals("OPEN", resilience.getStatus().getCircuitState());
+
+        behaviour = request -> 0;
+        Thread.sleep(400);
+
+        assertNotNull(client.geocode(List.of("Hà Nội")).get(0));
+        assertEquals("CLOSED", resilience.getStatus().getCircuitState());
+    }
+
+    @Test
+    void testSlowCallsOpenCircuit() {
+        ReflectionTestUtils.setField(resilience, "slowCallMs", 50L);
+        behaviour = request -> 100;
+
+        for (int i = 0; i < 4; i++) {
+            client.geocode(List.of("Hà Nội"));
+        }
+
+        assertEquals("OPEN", resilience.getStatus().getCircuitState());
+    }
+
+    @Test
+    void testCallerGivesUpAfterTimeout() {
+        ReflectionTestUtils.setField(resilience, "timeoutMs", 200L);
+        behaviour = request -> 2000;
+
+        long start = System.currentTimeMillis();
+        assertThrows(GeocoderUnavailableException.class, () -> client.geocode(List.of("Hà Nội")));
+        assertTrue(System.currentTimeMillis() - start < 1500);
+    }
+
+    @Test
+    void testSlowAttemptIsHedged() {
+        ReflectionTestUtils.setField(resilience, "maxAttempts", 2);
+        // Lần gọi đầu chậm, lần gọi dự phòng trả về ngay
+        behaviour = request -> request == 1 ? 1500 : 0;
+
+        long start = System.currentTimeMillis();
+        assertNotNull(client.geocode(List.of("Hà Nội")).get(0));
+
+        // Hedge is sent after max-delay-ms (200 ms) while fewer than 20 latencies are known
+        assertTrue(System.currentTimeMillis() - start < 1000);
+        assertEquals(2, requests.get());
+        assertEquals(1, resilience.getStatus().getHedgedAttempts());
+    }
+
+    @Test
+    void testFailedAttemptIsRetried() {
+        ReflectionTestUtils.setField(resilience, "maxAttempts", 2);
+        behaviour = request -> request == 1 ? -1 : 0;
+
+        assertNotNull(client.geocode(List.of("Hà Nội")).get(0));
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void testHedgeDelayFollowsLatencyPercentile() {
+        for (int i = 0; i < 20; i++) {
+            client.geocode(List.of("Hà Nội"));
+        }
+        assertTrue(resilience.hedgeDelayMs() < 200);
+
+        behaviour = request -> 20;
+        for (int i = 0; i < 100; i++) {
+            client.geocode(List.of("Hà Nội"));
+        }
+        assertTrue(resilience.hedgeDelayMs() >= 20);
+    }
+
+    @Test
+    void testBulkheadRejectsExcessCalls() throws Exception {
+        ReflectionTestUtils.setField(resilience, "maxConcurrent", 1);
+        resilience.init();
+        CountDownLatch received = new CountDownLatch(1);
+        behaviour = request -> {
+            received.countDown();
+            return 500;
+        };
+
+        CompletableFuture<List<ParseLocationResponse>> first =
+                CompletableFuture.supplyAsync(() -> client.geocode(List.of("Hà Nội")));
+        assertTrue(received.await(2, TimeUnit.SECONDS));
+
+        assertThrows(GeocoderUnavailableException.class, () -> client.geocode(List.of("Hà Nội")));
+        assertNotNull(first.get(2, TimeUnit.SECONDS).get(0));
+    }
+
+    @Test
+    void testReactiveCallSharesCircuitBreaker() {
+        assertEquals("Hà Nội", reactiveClient.geocode(List.of("Hà Nội")).block().get(0).getFormattedAddress());
+
+        behaviour = request -> -1;
+        for (int i = 0; i < 4; i++) {
+            assertThrows(GeocoderUnavailableException.class, () -> reactiveClient.geocode(List.of("Hà Nội")).block());
+        }
+        assertEquals("OPEN", resilience.getStatus().getCircuitState());
+
+        // Circuit mở cho cả hai client
+        int before = requests.get();
+        assertThrows(GeocoderUnavailableException.class, () -> client.geocode(List.of("Hà Nội")));
+        assertThrows(GeocoderUnavailableException.class, () -> reactiveClient.geocode(List.of("Hà Nội")).block());
+        assertEquals(before, requests.get());
+    }
+
+    @Test
+    void testReactiveSlowAttemptIsHedgedAndTimesOut() throws InterruptedException {
+        ReflectionTestUtils.setField(resilience, "maxAttempts", 2);
+        behaviour = request -> request == 1 ? 1500 : 0;
+
+        long start = System.currentTimeMillis();
+        assertNotNull(reactiveClient.geocode(List.of("Hà Nội")).block().get(0));
+        assertTrue(System.currentTimeMillis() - start < 1000);
+        assertEquals(1, resilience.getStatus().getHedgedAttempts());
+        // Lần gọi đầu (chậm) vẫn giữ chỗ cho đến khi kết thúc
+        assertEquals(1, resilience.getStatus().getInFlightCalls());
+        awaitNoCallInFlight();
+
+        ReflectionTestUtils.setField(resilience, "timeoutMs", 200L);
+        behaviour = request -> 1000;
+        assertThrows(GeocoderUnavailableException.class, () -> reactiveClient.geocode(List.of("Hà Nội")).block());
+        // Chỗ trong bulkhead chỉ được trả khi các lần gọi đang chạy kết thúc
+        assertEquals(1, resilience.getStatus().getInFlightCalls());
+        awaitNoCallInFlight();
+    }
+
+    @Test
+    void testAbandonedAttemptHoldsBulkheadSlot() throws InterruptedException {
+        ReflectionTestUtils.setField(resilience, "maxConcurrent", 1);
+        ReflectionTestUtils.setField(resilience, "timeoutMs", 200L);
+        resilience.init();
+        behaviour = request -> request == 1 ? 1000 : 0;
+
+        assertThrows(GeocoderUnavailableException.class, () -> client.geocode(List.of("Hà Nội")));
+
+        // Người gọi đã bỏ cuộc nhưng lần gọi vẫn chạy: cuộc gọi mới bị từ chối, không gọi thêm API
+        GeocoderUnavailableException rejected =
+                assertThrows(GeocoderUnavailableException.class, () -> client.geocode(List.of("Hà Nội")));
+        assertTrue(rejected.getMessage().startsWith("Too many concurrent"));
+        assertEquals(1, requests.get());
+
+        awaitNoCallInFlight();
+        assertNotNull(client.geocode(List.of("Hà Nội")).get(0));
+    }
+
+    private void awaitNoCallInFlight() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (resilience.getStatus().getInFlightCalls() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, resilience.getStatus().getInFlightCalls());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            exchange.getRequestBody().readAllBytes();
+            long delay = behaviour.delayMs(requests.incrementAndGet());
+            if (delay < 0) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            Thread.sleep(delay);
+            byte[] body = RESULT.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface StubBehaviour {
+        long delayMs(int request);
+    }
+}
@@ -0,0 +1,178 @@
+package com.app.route_app_api.service;
+
+import com.app.route_app_api.dto.PointInPolygonRequest;
+import com.app.route_app_api.dto.PointInPolygonResponse;
+import com.app.route_app_api.entity.Route;
+import com.app.route_app_api.exception.BusinessRuleException;
+import com.app.route_app_api.util.CellCovering;
+import com.app.route_app_api.util.GeoJsonHelper;
+import com.app.route_app_api.util.PackedGeometryCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.algorithm.locate.IndexedPointInAreaLocator;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test for GisService batch point-in-polygon checks and the MongoDB fallback
+ */
+class GisServiceTest {
+
+    private RouteSpatialIndex routeSpatialIndex;
+    private GisService gisService;
+
+    @BeforeEach
+    void setUp() {
+        routeSpatialIndex = mock(RouteSpatialIndex.class);
+        when(routeSpatialIndex.isAvailable()).thenReturn(true);
+        when(routeSpatialIndex.findContaining(anyDouble(), anyDouble(), any())).thenReturn(List.of());
+
+        // Chỉ điểm (105.805, 21.025) nằm trong tuyến r1
+        RouteSpatialIndex.IndexedRoute r1 = new RouteSpatialIndex.IndexedRoute("r1", "R1", "Tuyến 1",
+                Route.RouteType.DELIVERY, "HH", "#ff0000", Set.of("HH"), null, mock(IndexedPointInAreaLocator.class));
+        when(routeSpatialIndex.findContaining(eq(105.805), eq(21.025), isNull())).thenReturn(List.of(r1));
+
+        gisService = new GisService(mock(MongoTemplate.class), routeSpatialIndex, new ObjectMapper(), mock(ServiceMetrics.class));
+        ReflectionTestUtils.setField(gisService, "maxBatchSize", 3);
+    }
+
+    @Test
+    void testCheckPointsInPolygon_InputOrder() {
+        List<PointInPolygonResponse> responses = gisService.checkPointsInPolygon(List.of(
+                point(21.10, 105.90),
+                point(21.025, 105.805),
+                point(21.20, 105.70)));
+
+        assertEquals(3, responses.size());
+        assertFalse(responses.get(0).isFound());
+        assertTrue(responses.get(1).isFound());
+        assertEquals("r1", responses.get(1).getMatchingRoutes().get(0).getId());
+        assertFalse(responses.get(2).isFound());
+
+        // Index availability is checked once per batch, not per point
+        verify(routeSpatialIndex, times(1)).isAvailable();
+    }
+
+    @Test
+    void testCheckPointsInPolygon_Validation() {
+        assertThrows(BusinessRuleException.class, () -> gisService.checkPointsInPolygon(List.of(
+                point(21.0, 105.0), point(21.0, 105.0), point(21.0, 105.0), point(21.0, 105.0))));
+        assertThrows(BusinessRuleException.class, () -> gisService.checkPointsInPolygon(List.of(
+                new PointInPolygonRequest(null, 105.0, null))));
+        // Phần tử null trong mảng JSON
+        assertThrows(BusinessRuleException.class, () -> gisService.checkPointsInPolygon(
+                Arrays.asList(point(21.0, 105.0), null)));
+    }
+
+    @Test
+    void testCheckPointsInPolygon_Ndjson() throws Exception {
+        String input = """
+                {"latitude": 21.10, "longitude": 105.90}
+                {"latitude": 21.025, "longitude": 105.805}
+                {"longitude": 105.70}
+                """;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long count = gisService.checkPointsInPolygon(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+
+        assertEquals(3, count);
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].contains("\"found\":false"));
+        assertTrue(lines[1].contains("\"found\":true") && lines[1].contains("\"r1\""));
+        assertTrue(lines[2].contains("\"found\":false"));
+    }
+
+    @Test
+    void testCheckPointsInPolygon_NdjsonNullLine() throws Exception {
+        String input = """
+                null
+                {"latitude": 21.025, "longitude": 105.805}
+                """;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long count = gisService.checkPointsInPolygon(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+
+        // Dòng null được trả lời như điểm thiếu tọa độ, không làm dừng luồng
+        assertEquals(2, count);
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"found\":false"));
+        assertTrue(lines[1].contains("\"found\":true") && lines[1].contains("\"r1\""));
+    }
+
+    @Test
+    void testCheckPoint_CellCoveringFallback() {
+        when(routeSpatialIndex.isAvailable()).thenReturn(false);
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        gisService = new GisService(mongoTemplate, routeSpatialIndex, new ObjectMapper(), mock(ServiceMetrics.class));
+        ReflectionTestUtils.setField(gisService, "cellCoveringEnabled", true);
+
+        // Tam giác: điểm (105.82, 21.008) thuộc ô biên của covering nhưng nằm ngoài tam giác
+        GeoJsonPolygon triangle = GeoJsonHelper.createPolygon(List.of(
+                List.of(105.80, 21.00), List.of(105.84, 21.00), List.of(105.80, 21.04), List.of(105.80, 21.00)));
+        CellCovering.Covering covering = CellCovering.cover(triangle);
+        Route route = Route.builder().id("r1").code("R1").name("Tuyến 1").type(Route.RouteType.DELIVERY)
+                .packedArea(PackedGeometryCodec.encode(triangle))
+                .interiorCells(covering.interiorCells())
+                .build();
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        when(mongoTemplate.find(query.capture(), eq(Route.class))).thenReturn(List.of(route));
+
+        assertTrue(gisService.checkPointInPolygon(21.005, 105.805, "hh").isFound());
+        assertTrue(gisService.checkPointInPolygon(21.02, 105.82).isFound());
+        assertFalse(gisService.checkPointInPolygon(21.039, 105.839).isFound());
+
+        // Truy vấn khớp chính xác các ô tổ tiên của điểm, không đọc đa giác GeoJSON
+        Document queryObject = query.getAllValues().getFirst().getQueryObject();
+        List<?> branches = queryObject.get("$or", List.class);
+        assertEquals(CellCovering.pointCells(105.805, 21.005),
+                ((Document) ((Document) branches.getFirst()).get("coveringCells")).get("$in"));
+        assertEquals("HH", queryObject.get("productTypes"));
+        assertEquals(0, query.getAllValues().getFirst().getFieldsObject().get("area"));
+
+        // Tuyến chưa migrate (không có covering) được tìm bằng $geoIntersects
+        Document unmigrated = (Document) branches.get(1);
+        assertEquals(new Document("$exists", false), unmigrated.get("coveringCells"));
+        assertTrue(((Document) unmigrated.get("area")).containsKey("$geoIntersects"));
+    }
+
+    @Test
+    void testCheckPoint_CellCoveringUnmigratedRoute() {
+        when(routeSpatialIndex.isAvailable()).thenReturn(false);
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        gisService = new GisService(mongoTemplate, routeSpatialIndex, new ObjectMapper(), mock(ServiceMetrics.class));
+        ReflectionTestUtils.setField(gisService, "cellCoveringEnabled", true);
+
+        // Tuyến chưa có packedArea và covering: đã được $geoIntersects khớp chính xác, không bị loại
+        Route route = Route.builder().id("r1").code("R1").name("Tuyến 1").type(Route.RouteType.DELIVERY).build();
+        when(mongoTemplate.find(any(Query.class), eq(Route.class))).thenReturn(List.of(route));
+
+        assertTrue(gisService.checkPointInPolygon(21.02, 105.82).isFound());
+    }
+
+    private static PointInPolygonRequest point(double latitude, double longitude) {
+        return new PointInPolygonRequest(latitude, longitude, null);
+    }
+}
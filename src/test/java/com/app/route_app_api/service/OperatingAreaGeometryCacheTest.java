@@ -0,0 +1,78 @@
+package com.app.route_app_api.service;
+
+import com.app.route_app_api.entity.OperatingArea;
+import com.app.route_app_api.util.GeoJsonHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for OperatingAreaGeometryCache reuse, invalidation and tolerance buffer
+ */
+class OperatingAreaGeometryCacheTest {
+
+    private OperatingAreaGeometryCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new OperatingAreaGeometryCache();
+        ReflectionTestUtils.setField(cache, "maxSize", 100L);
+        ReflectionTestUtils.setField(cache, "tolerance", 1e-7);
+        cache.init();
+    }
+
+    @Test
+    void testGeometryIsReusedUntilAreaChanges() {
+        OperatingArea area = operatingArea(square(105.80, 21.02, 0.1), LocalDateTime.of(2024, 1, 1, 0, 0));
+
+        OperatingAreaGeometryCache.OperatingAreaGeometry first = cache.get(area);
+        assertSame(first, cache.get(area));
+
+        // Vùng được cập nhật ở instance khác: updatedAt thay đổi
+        area.setUpdatedAt(LocalDateTime.of(2024, 1, 2, 0, 0));
+        OperatingAreaGeometryCache.OperatingAreaGeometry second = cache.get(area);
+        assertNotSame(first, second);
+
+        cache.invalidate(area.getId());
+        assertNotSame(second, cache.get(area));
+    }
+
+    @Test
+    void testToleranceBuffer() {
+        OperatingArea area = operatingArea(square(105.80, 21.02, 0.1), LocalDateTime.now());
+        OperatingAreaGeometryCache.OperatingAreaGeometry geometry = cache.get(area);
+
+        // Tuyến vẽ theo biên, lệch ra ngoài 1e-9 độ do sai số làm tròn
+        var route = GeoJsonHelper.toJtsPolygon(square(105.80 - 1e-9, 21.02, 0.05));
+        assertFalse(geometry.prepared().covers(route));
+        assertTrue(geometry.buffered().covers(route));
+        assertTrue(geometry.toleranceBandArea() < 1e-6);
+
+        // Tuyến vượt ra ngoài rõ ràng
+        assertFalse(geometry.buffered().covers(GeoJsonHelper.toJtsPolygon(square(105.75, 21.02, 0.1))));
+    }
+
+    private static OperatingArea operatingArea(GeoJsonPolygon polygon, LocalDateTime updatedAt) {
+        return OperatingArea.builder()
+                .id("oa1")
+                .name("Vùng 1")
+                .area(polygon)
+                .updatedAt(updatedAt)
+                .build();
+    }
+
+    private static GeoJsonPolygon square(double lng, double lat, double size) {
+        return new GeoJsonPolygon(
+                new Point(lng, lat),
+                new Point(lng + size, lat),
+                new Point(lng + size, lat + size),
+                new Point(lng, lat + size),
+                new Point(lng, lat));
+    }
+}
@@ -0,0 +1,93 @@
+package com.app.route_app_api.service;
+
+import com.app.route_app_api.dto.GeometryResolution;
+import com.app.route_app_api.dto.OperatingAreaRequest;
+import com.app.route_app_api.dto.ResponseView;
+import com.app.route_app_api.entity.OperatingArea;
+import com.app.route_app_api.repository.OperatingAreaRepository;
+import com.app.route_app_api.repository.PostOfficeRepository;
+import com.app.route_app_api.repository.RouteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test for OperatingAreaService list queries
+ */
+class OperatingAreaServiceTest {
+
+    private OperatingAreaRepository operatingAreaRepository;
+    private PostOfficeRepository postOfficeRepository;
+    private MongoTemplate mongoTemplate;
+    private OperatingAreaSpatialIndex operatingAreaSpatialIndex;
+    private OperatingAreaService operatingAreaService;
+
+    @BeforeEach
+    void setUp() {
+        operatingAreaRepository = mock(OperatingAreaRepository.class);
+        postOfficeRepository = mock(PostOfficeRepository.class);
+        mongoTemplate = mock(MongoTemplate.class);
+        operatingAreaSpatialIndex = mock(OperatingAreaSpatialIndex.class);
+        operatingAreaService = new OperatingAreaService(operatingAreaRepository, postOfficeRepository,
+                mock(RouteRepository.class), mongoTemplate, operatingAreaSpatialIndex,
+                mock(OperatingAreaGeometryCache.class), new ServiceMetrics(new SimpleMeterRegistry()),
+                mock(VectorTileService.class));
+    }
+
+    @Test
+    void testUnfilteredListIsProjected() {
+        operatingAreaService.getOperatingAreas(null, null, null, ResponseView.FULL, GeometryResolution.FULL);
+
+        // Danh sách mặc định không đọc các bản sao nội bộ của đa giác
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(OperatingArea.class));
+        assertEquals(new Document("packedArea", 0).append("coveringCells", 0).append("interiorCells", 0)
+                .append("simplifiedAreas", 0), query.getValue().getFieldsObject());
+        assertTrue(query.getValue().getQueryObject().isEmpty());
+        verify(operatingAreaRepository, never()).findAll();
+    }
+
+    @Test
+    void testListByProductTypeIsProjected() {
+        operatingAreaService.getOperatingAreasByProductType("HH");
+
+        // Danh sách theo loại sản phẩm cũng không đọc các bản sao nội bộ của đa giác
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(OperatingArea.class));
+        assertEquals(new Document("packedArea", 0).append("coveringCells", 0).append("interiorCells", 0)
+                .append("simplifiedAreas", 0), query.getValue().getFieldsObject());
+    }
+
+    @Test
+    void testOverlapCandidatesFilteredByProductType() {
+        when(postOfficeRepository.existsById("po-1")).thenReturn(true);
+        when(operatingAreaRepository.save(any(OperatingArea.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        GeoJsonPolygon area = new GeoJsonPolygon(List.of(
+                new Point(106.0, 10.0), new Point(106.1, 10.0), new Point(106.1, 10.1), new Point(106.0, 10.0)));
+
+        operatingAreaService.createOperatingArea(OperatingAreaRequest.builder()
+                .name("Vùng 1").postOfficeId("po-1").productType("HH;TH").area(area).build());
+
+        // Khi không có chỉ mục, ứng viên chỉ gồm các vùng giao nhau có chung loại sản phẩm, không tải lại chỉ mục
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(OperatingArea.class));
+        Document criteria = query.getValue().getQueryObject();
+        assertTrue(criteria.containsKey("area"));
+        assertEquals(List.of("HH", "TH"), List.copyOf(criteria.get("productTypes", Document.class).get("$in", Collection.class)));
+        assertFalse(query.getValue().getFieldsObject().containsKey("area"));
+        verify(operatingAreaSpatialIndex, never()).refresh();
+    }
+}
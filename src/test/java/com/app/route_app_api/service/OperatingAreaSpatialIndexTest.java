@@ -0,0 +1,143 @@
+package com.app.route_app_api.service;
+
+import com.app.route_app_api.entity.OperatingArea;
+import com.app.route_app_api.util.ProductTypeHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Envelope;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test for OperatingAreaSpatialIndex candidates, write patching and refresh
+ */
+class OperatingAreaSpatialIndexTest {
+
+    // Hình bao của vùng oa1 và oa2 (hai ô vuông cạnh nhau)
+    private static final Envelope BOTH = new Envelope(105.80, 105.82, 21.02, 21.03);
+
+    private MongoTemplate mongoTemplate;
+    private OperatingAreaSpatialIndex index;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.find(any(Query.class), eq(OperatingArea.class))).thenReturn(new ArrayList<>(List.of(
+                operatingArea("oa1", "HH;KH", 105.80, 21.02),
+                operatingArea("oa2", "TH", 105.81, 21.02)
+        )));
+
+        index = new OperatingAreaSpatialIndex(mongoTemplate);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "refreshSeconds", 0L);
+    }
+
+    @Test
+    void testFindCandidatesByProductType() {
+        assertTrue(index.isAvailable());
+
+        assertEquals(Set.of("oa1"), ids(index.findCandidates(BOTH, Set.of("KH"))));
+        // Vùng có nhiều loại hàng trùng khớp chỉ được trả về một lần
+        assertEquals(List.of("oa1"), index.findCandidates(BOTH, Set.of("HH", "KH")).stream()
+                .map(OperatingAreaSpatialIndex.IndexedOperatingArea::id).toList());
+        assertEquals(Set.of("oa1", "oa2"), ids(index.findCandidates(BOTH, Set.of("HH", "TH"))));
+        assertTrue(index.findCandidates(BOTH, Set.of("XX")).isEmpty());
+        // Hình bao không giao nhau
+        assertTrue(index.findCandidates(new Envelope(106.0, 106.1, 21.5, 21.6), Set.of("HH")).isEmpty());
+
+        assertEquals(Set.of("oa1", "oa2"), ids(index.findCandidates(BOTH)));
+    }
+
+    @Test
+    void testUpsertAndRemove() {
+        assertTrue(index.isAvailable());
+
+        // Đổi loại hàng của oa2: chuyển sang bucket mới
+        index.upsert(operatingArea("oa2", "KH", 105.81, 21.02));
+        assertEquals(Set.of("oa1", "oa2"), ids(index.findCandidates(BOTH, Set.of("KH"))));
+        assertTrue(index.findCandidates(BOTH, Set.of("TH")).isEmpty());
+
+        index.remove("oa1");
+        assertEquals(Set.of("oa2"), ids(index.findCandidates(BOTH, Set.of("KH"))));
+        assertTrue(index.findCandidates(BOTH, Set.of("HH")).isEmpty());
+
+        // Index is loaded only once (one query for packed, one for legacy documents) - writes are patched in memory
+        verify(mongoTemplate, times(2)).find(any(Query.class), eq(OperatingArea.class));
+    }
+
+    @Test
+    void testRefresh() {
+        assertTrue(index.isAvailable());
+        when(mongoTemplate.find(any(Query.class), eq(OperatingArea.class))).thenReturn(new ArrayList<>(List.of(
+                operatingArea("oa3", "HH", 105.80, 21.02)
+        )));
+
+        // Vùng do instance khác ghi chỉ xuất hiện sau khi tải lại
+        assertEquals(Set.of("oa1"), ids(index.findCandidates(BOTH, Set.of("HH"))));
+        assertTrue(index.refresh());
+        assertEquals(Set.of("oa3"), ids(index.findCandidates(BOTH, Set.of("HH"))));
+    }
+
+    @Test
+    void testStaleIndexIsRefreshedInBackground() throws InterruptedException {
+        ReflectionTestUtils.setField(index, "refreshSeconds", 1L);
+        assertTrue(index.isAvailable());
+        when(mongoTemplate.find(any(Query.class), eq(OperatingArea.class))).thenReturn(new ArrayList<>(List.of(
+                operatingArea("oa3", "HH", 105.80, 21.02)
+        )));
+        Thread.sleep(1100);
+
+        // Request không chờ tải lại: trả về ngay snapshot cũ, snapshot mới được thay sau đó
+        assertEquals(Set.of("oa1"), ids(index.findCandidates(BOTH, Set.of("HH"))));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!ids(index.findCandidates(BOTH, Set.of("HH"))).equals(Set.of("oa3"))
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(Set.of("oa3"), ids(index.findCandidates(BOTH, Set.of("HH"))));
+    }
+
+    @Test
+    void testDisabled() {
+        ReflectionTestUtils.setField(index, "enabled", false);
+        assertFalse(index.isAvailable());
+        assertFalse(index.refresh());
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    private static Set<String> ids(Collection<OperatingAreaSpatialIndex.IndexedOperatingArea> areas) {
+        return areas.stream().map(OperatingAreaSpatialIndex.IndexedOperatingArea::id).collect(Collectors.toSet());
+    }
+
+    private static OperatingArea operatingArea(String id, String productType, double lng, double lat) {
+        double size = 0.01;
+        GeoJsonPolygon area = new GeoJsonPolygon(List.of(
+                new Point(lng, lat),
+                new Point(lng + size, lat),
+                new Point(lng + size, lat + size),
+                new Point(lng, lat + size),
+                new Point(lng, lat)
+        ));
+        return OperatingArea.builder()
+                .id(id)
+                .name("Vùng " + id)
+                .productType(productType)
+                .productTypes(ProductTypeHelper.parse(productType))
+                .area(area)
+                .build();
+    }
+}
@@ -0,0 +1,99 @@
+package com.app.route_app_api.service;
+
+import com.app.route_app_api.dto.PointInPolygonRequest;
+import com.app.route_app_api.dto.PointInPolygonResponse;
+import com.app.route_app_api.entity.Route;
+import com.app.route_app_api.exception.BusinessRuleException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.algorithm.locate.IndexedPointInAreaLocator;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test for ReactiveGisService point-in-polygon checks (route index and ReactiveMongoTemplate fallback)
+ */
+class ReactiveGisServiceTest {
+
+    private RouteSpatialIndex routeSpatialIndex;
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+    private ReactiveGisService reactiveGisService;
+
+    @BeforeEach
+    void setUp() {
+        routeSpatialIndex = mock(RouteSpatialIndex.class);
+        when(routeSpatialIndex.isLoaded()).thenReturn(true);
+        when(routeSpatialIndex.findContaining(anyDouble(), anyDouble(), any())).thenReturn(List.of());
+
+        // Chỉ điểm (105.805, 21.025) nằm trong tuyến r1
+        RouteSpatialIndex.IndexedRoute r1 = new RouteSpatialIndex.IndexedRoute("r1", "R1", "Tuyến 1",
+                Route.RouteType.DELIVERY, "HH", "#ff0000", Set.of("HH"), null, mock(IndexedPointInAreaLocator.class));
+        when(routeSpatialIndex.findContaining(eq(105.805), eq(21.025), isNull())).thenReturn(List.of(r1));
+
+        reactiveMongoTemplate = mock(ReactiveMongoTemplate.class);
+        GisService gisService = new GisService(mock(MongoTemplate.class), routeSpatialIndex, new ObjectMapper(), mock(ServiceMetrics.class));
+        ReflectionTestUtils.setField(gisService, "maxBatchSize", 3);
+        reactiveGisService = new ReactiveGisService(reactiveMongoTemplate, routeSpatialIndex, gisService, mock(ServiceMetrics.class));
+    }
+
+    @Test
+    void testCheckPointsInPolygon_Index() {
+        List<PointInPolygonResponse> responses = reactiveGisService.checkPointsInPolygon(List.of(
+                point(21.10, 105.90),
+                point(21.025, 105.805),
+                point(21.20, 105.70))).block();
+
+        assertEquals(3, responses.size());
+        assertFalse(responses.get(0).isFound());
+        assertEquals("r1", responses.get(1).getMatchingRoutes().get(0).getId());
+        assertFalse(responses.get(2).isFound());
+        verifyNoInteractions(reactiveMongoTemplate);
+
+        assertThrows(BusinessRuleException.class, () -> reactiveGisService.checkPointsInPolygon(List.of(
+                new PointInPolygonRequest(null, 105.0, null))).block());
+    }
+
+    @Test
+    void testCheckPoint_MongoFallback() {
+        when(routeSpatialIndex.isLoaded()).thenReturn(false);
+        when(routeSpatialIndex.isAvailable()).thenReturn(false);
+        Route route = Route.builder().id("r2").code("R2").name("Tuyến 2").type(Route.RouteType.PICKUP).build();
+        when(reactiveMongoTemplate.find(any(Query.class), eq(Route.class))).thenReturn(Flux.just(route));
+
+        PointInPolygonResponse response = reactiveGisService.checkPointInPolygon(21.0, 105.0, "hh").block();
+
+        assertTrue(response.isFound());
+        assertEquals("PICKUP", response.getMatchingRoutes().get(0).getType());
+        verify(routeSpatialIndex, never()).findContaining(anyDouble(), anyDouble(), any());
+    }
+
+    @Test
+    void testCheckPointsInPolygon_Stream() {
+        List<PointInPolygonResponse> responses = reactiveGisService.checkPointsInPolygon(Flux.just(
+                point(21.025, 105.805),
+                new PointInPolygonRequest(null, 105.70, null))).collectList().block();
+
+        assertEquals(2, responses.size());
+        assertTrue(responses.get(0).isFound());
+        assertFalse(responses.get(1).isFound());
+        assertNull(responses.get(1).getLatitude());
+    }
+
+    private static PointInPolygonRequest point(double latitude, double longitude) {
+        return new PointInPolygonRequest(latitude, longitude, null);
+    }
+}
@@ -0,0 +1,122 @@
+package com.app.route_app_api.service;
+
+import com.app.route_app_api.dto.GeometryResolution;
+import com.app.route_app_api.dto.ResponseView;
+import com.app.route_app_api.dto.RouteResponse;
+import com.app.route_app_api.entity.PostOffice;
+import com.app.route_app_api.entity.Route;
+import com.app.route_app_api.repository.OperatingAreaRepository;
+import com.app.route_app_api.repository.PostOfficeRepository;
+import com.app.route_app_api.repository.RouteRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test for RouteService list queries
+ */
+class RouteServiceTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private RouteRepository routeRepository;
+    private MongoTemplate mongoTemplate;
+    private RouteService routeService;
+
+    @BeforeEach
+    void setUp() {
+        routeRepository = mock(RouteRepository.class);
+        mongoTemplate = mock(MongoTemplate.class);
+        routeService = new RouteService(routeRepository, mock(PostOfficeRepository.class),
+                mock(OperatingAreaRepository.class), mongoTemplate, mock(RouteSpatialIndex.class),
+                mock(OperatingAreaGeometryCache.class), objectMapper,
+                new ServiceMetrics(new SimpleMeterRegistry()), mock(VectorTileService.class));
+    }
+
+    @Test
+    void testUnfilteredListIsProjected() {
+        routeService.getRoutes(null, null, null, null, null, ResponseView.FULL, GeometryResolution.FULL);
+
+        // Danh sách mặc định không đọc các bản sao nội bộ của đa giác
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Route.class));
+        assertEquals(new Document("packedArea", 0).append("coveringCells", 0).append("interiorCells", 0)
+                .append("simplifiedAreas", 0), query.getValue().getFieldsObject());
+        assertTrue(query.getValue().getQueryObject().isEmpty());
+        verify(routeRepository, never()).findAll();
+    }
+
+    @Test
+    void testListByTypeIsProjected() {
+        routeService.getRoutesByType(Route.RouteType.DELIVERY);
+
+        // Danh sách theo loại tuyến cũng không đọc các bản sao nội bộ của đa giác
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Route.class));
+        assertEquals(new Document("packedArea", 0).append("coveringCells", 0).append("interiorCells", 0)
+                .append("simplifiedAreas", 0), query.getValue().getFieldsObject());
+        assertEquals(Route.RouteType.DELIVERY, query.getValue().getQueryObject().get("type"));
+        verify(routeRepository, never()).findByType(any());
+    }
+
+    @Test
+    void testListWithoutReferencedIds() {
+        // View geometry-only không đọc postOfficeId / operatingAreaId
+        when(mongoTemplate.find(any(Query.class), eq(Route.class)))
+                .thenReturn(List.of(Route.builder().id("r1").build()));
+
+        List<RouteResponse> routes = routeService.getRoutes(null, null, null, null, null,
+                ResponseView.GEOMETRY_ONLY, GeometryResolution.FULL);
+
+        assertEquals(1, routes.size());
+        assertEquals("r1", routes.getFirst().getId());
+        assertNull(routes.getFirst().getPostOfficeName());
+    }
+
+    @Test
+    void testStreamRoutesAcrossChunks() throws Exception {
+        // 450 tuyến: 3 khối (200 + 200 + 50), mỗi tuyến một dòng NDJSON
+        List<Route> routes = IntStream.range(0, 450)
+                .mapToObj(i -> Route.builder().id("r" + i).code("T" + i).postOfficeId("po1").build())
+                .toList();
+        when(mongoTemplate.stream(any(Query.class), eq(Route.class))).thenReturn(routes.stream());
+        when(mongoTemplate.find(any(Query.class), eq(PostOffice.class)))
+                .thenReturn(List.of(PostOffice.builder().id("po1").name("Bưu cục 1").build()));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        routeService.streamRoutes(null, null, null, null, null, null, ResponseView.SUMMARY, GeometryResolution.FULL, output);
+
+        String body = output.toString(StandardCharsets.UTF_8);
+        assertTrue(body.endsWith("\n"));
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        assertEquals(450, lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            assertEquals("r" + i, lines.get(i).path("id").asText());
+            assertEquals("Bưu cục 1", lines.get(i).path("postOfficeName").asText());
+            // View summary: trường null không được ghi
+            assertFalse(lines.get(i).has("color"));
+        }
+        // Tên bưu cục được tra một lần cho mỗi khối
+        verify(mongoTemplate, times(3)).find(any(Query.class), eq(PostOffice.class));
+    }
+}
@@ -0,0 +1,170 @@
+package com.app.route_app_api.service;
+
+import com.app.route_app_api.entity.Route;
+import com.app.route_app_api.util.PackedGeometryCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test for RouteSpatialIndex point lookups and write patching
+ */
+class RouteSpatialIndexTest {
+
+    private MongoTemplate mongoTemplate;
+    private RouteSpatialIndex index;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.find(any(Query.class), eq(Route.class))).thenReturn(new ArrayList<>(List.of(
+                route("r1", "HH;KH", 105.80, 21.02),
+                route("r2", "TH", 105.81, 21.02)
+        )));
+
+        index = new RouteSpatialIndex(mongoTemplate);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "refreshSeconds", 0L);
+        ReflectionTestUtils.setField(index, "gridCellSize", 0.002);
+        ReflectionTestUtils.setField(index, "gridMaxCellsPerRoute", 100);
+    }
+
+    @Test
+    void testFindContaining() {
+        assertTrue(index.isAvailable());
+
+        // Tâm ô vuông của r1
+        List<RouteSpatialIndex.IndexedRoute> result = index.findContaining(105.805, 21.025, null);
+        assertEquals(1, result.size());
+        assertEquals("r1", result.get(0).id());
+
+        // Điểm nằm ngoài tất cả các tuyến
+        assertTrue(index.findContaining(105.90, 21.10, null).isEmpty());
+    }
+
+    @Test
+    void testFindContaining_BoundaryIncluded() {
+        // Cạnh chung giữa r1 và r2 thuộc về cả hai tuyến (giống $geoIntersects)
+        assertEquals(2, index.findContaining(105.81, 21.025, null).size());
+    }
+
+    @Test
+    void testFindContaining_ProductTypeFilter() {
+        assertEquals(1, index.findContaining(105.805, 21.025, "kh").size());
+        assertTrue(index.findContaining(105.805, 21.025, "TH").isEmpty());
+        assertTrue(index.findContaining(105.805, 21.025, "XX").isEmpty());
+    }
+
+    @Test
+    void testUpsertAndRemove() {
+        assertTrue(index.isAvailable());
+
+        index.upsert(route("r3", "HH", 105.90, 21.10));
+        assertEquals("r3", index.findContaining(105.905, 21.105, "HH").get(0).id());
+
+        index.remove("r3");
+        assertTrue(index.findContaining(105.905, 21.105, null).isEmpty());
+
+        // Index is loaded only once (one query for packed, one for legacy documents) - writes are patched in memory
+        verify(mongoTemplate, times(2)).find(any(Query.class), eq(Route.class));
+    }
+
+    @Test
+    void testPackedAreaIsUsedWithoutGeoJson() {
+        Route packed = route("r4", "HH", 106.00, 21.20);
+        packed.setPackedArea(PackedGeometryCodec.encode(packed.getArea()));
+        packed.setArea(null); // Đọc không kèm trường area
+        when(mongoTemplate.find(any(Query.class), eq(Route.class))).thenReturn(new ArrayList<>(List.of(packed)));
+
+        assertEquals("r4", index.findContaining(106.005, 21.205, "HH").get(0).id());
+    }
+
+    @Test
+    void testGridMatchesExactLookup() {
+        // Đa giác lõm (hình chữ L) và tuyến lớn hơn max-cells-per-route (tra cứu qua STRtree)
+        Route concave = route("r5", "HH", 105.70, 21.00);
+        concave.setArea(new GeoJsonPolygon(List.of(
+                new Point(105.70, 21.00), new Point(105.7137, 21.00), new Point(105.7137, 21.0051),
+                new Point(105.7053, 21.0051), new Point(105.7053, 21.0173), new Point(105.70, 21.0173),
+                new Point(105.70, 21.00))));
+        Route large = route("r6", "KH", 105.69, 20.99);
+        large.setArea(new GeoJsonPolygon(List.of(
+                new Point(105.69, 20.99), new Point(105.75, 20.99), new Point(105.75, 21.05),
+                new Point(105.69, 20.99))));
+        when(mongoTemplate.find(any(Query.class), eq(Route.class))).thenReturn(new ArrayList<>(List.of(concave, large)));
+
+        RouteSpatialIndex exact = new RouteSpatialIndex(mongoTemplate);
+        ReflectionTestUtils.setField(exact, "enabled", true);
+        ReflectionTestUtils.setField(exact, "refreshSeconds", 0L);
+        ReflectionTestUtils.setField(exact, "gridCellSize", 0.0);
+
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            // Một phần điểm nằm đúng trên đỉnh/cạnh lưới
+            double lng = i % 10 == 0 ? 105.70 + random.nextInt(30) * 0.002 : 105.69 + random.nextDouble() * 0.07;
+            double lat = i % 10 == 0 ? 20.99 + random.nextInt(30) * 0.002 : 20.99 + random.nextDouble() * 0.07;
+            assertEquals(ids(exact.findContaining(lng, lat, null)), ids(index.findContaining(lng, lat, null)),
+                    "point " + lng + ", " + lat);
+            assertEquals(ids(exact.findContaining(lng, lat, "KH")), ids(index.findContaining(lng, lat, "kh")));
+        }
+    }
+
+    @Test
+    void testGridIsPatchedOnWrite() {
+        assertTrue(index.isAvailable());
+
+        // Di chuyển r1 sang vị trí mới: ô cũ không còn trả về r1
+        index.upsert(route("r1", "HH", 106.00, 21.50));
+        assertTrue(index.findContaining(105.805, 21.025, null).isEmpty());
+        assertEquals("r1", index.findContaining(106.005, 21.505, null).get(0).id());
+
+        index.remove("r1");
+        assertTrue(index.findContaining(106.005, 21.505, null).isEmpty());
+        assertEquals("r2", index.findContaining(105.815, 21.025, null).get(0).id());
+    }
+
+    @Test
+    void testDisabled() {
+        ReflectionTestUtils.setField(index, "enabled", false);
+        assertFalse(index.isAvailable());
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    private static Set<String> ids(List<RouteSpatialIndex.IndexedRoute> routes) {
+        return routes.stream().map(RouteSpatialIndex.IndexedRoute::id).collect(Collectors.toSet());
+    }
+
+    private static Route route(String id, String productType, double lng, double lat) {
+        double size = 0.01;
+        GeoJsonPolygon area = new GeoJsonPolygon(List.of(
+                new Point(lng, lat),
+                new Point(lng + size, lat),
+                new Point(lng + size, lat + size),
+                new Point(lng, lat + size),
+                new Point(lng, lat)
+        ));
+        return Route.builder()
+                .id(id)
+                .code(id.toUpperCase())
+                .name("Tuyến " + id)
+                .type(Route.RouteType.DELIVERY)
+                .productType(productType)
+                .area(area)
+                .build();
+    }
+}
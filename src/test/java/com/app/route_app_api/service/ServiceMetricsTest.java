@@ -0,0 +1,75 @@
+package com.app.route_app_api.service;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for ServiceMetrics meter names, tags and product type tag cardinality
+ */
+class ServiceMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private ServiceMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new ServiceMetrics(registry);
+        ReflectionTestUtils.setField(metrics, "productTypes", new String[]{"HH", "KH", " th "});
+        metrics.init();
+    }
+
+    @Test
+    void testProductTypeTag() {
+        assertEquals("all", metrics.productTypeTag(null));
+        assertEquals("all", metrics.productTypeTag(" "));
+        assertEquals("HH", metrics.productTypeTag(" hh"));
+        assertEquals("TH", metrics.productTypeTag("TH"));
+        // Giá trị tùy ý từ request không tạo thêm tag mới
+        assertEquals("other", metrics.productTypeTag("XYZ-" + System.nanoTime()));
+    }
+
+    @Test
+    void testCheckPoint() {
+        metrics.recordCheckPoint("hh", true, 2, 1_000_000);
+        metrics.recordCheckPoint("HH", true, 0, 3_000_000);
+        metrics.recordCheckPoint(null, false, 1, 5_000_000);
+
+        Timer indexed = registry.get("gis.check_point").tags("productType", "HH", "source", "index").timer();
+        assertEquals(2, indexed.count());
+        assertEquals(4.0, indexed.totalTime(TimeUnit.MILLISECONDS), 1e-9);
+        assertEquals(1, registry.get("gis.check_point").tags("productType", "all", "source", "mongo").timer().count());
+
+        assertEquals(2.0, registry.get("gis.check_point.matches").tag("productType", "HH").summary().totalAmount());
+    }
+
+    @Test
+    void testOverlapValidation() {
+        metrics.recordOverlapValidation("route", true, 8, false, 1_000);
+        metrics.recordOverlapValidation("route", true, 3, true, 1_000);
+
+        assertEquals(11.0, registry.get("gis.overlap.candidates.examined").tag("entity", "route").counter().count());
+        // Ứng viên cuối cùng của lần kiểm tra bị chồng lấn không tính là bị loại
+        assertEquals(10.0, registry.get("gis.overlap.candidates.rejected").tag("entity", "route").counter().count());
+        assertEquals(1, registry.get("gis.overlap.validation").tag("outcome", "overlap").timer().count());
+    }
+
+    @Test
+    void testGeocoder() {
+        metrics.recordGeocoderCall(5, "success", 2_000_000);
+        metrics.recordGeocoderCall(1, "unavailable", 1_000);
+        metrics.recordGeocodeLookup("cache");
+        metrics.recordGeocodeLookup("cache");
+
+        assertEquals(1, registry.get("geocoder.upstream.requests").tag("outcome", "success").timer().count());
+        assertEquals(6.0, registry.get("geocoder.upstream.batch.size").summary().totalAmount());
+        assertEquals(2.0, registry.get("geocoder.lookups").tag("source", "cache").counter().count());
+    }
+}
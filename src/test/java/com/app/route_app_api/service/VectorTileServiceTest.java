@@ -0,0 +1,102 @@
+package com.app.route_app_api.service;
+
+import com.app.route_app_api.entity.Route;
+import com.app.route_app_api.exception.BusinessRuleException;
+import com.app.route_app_api.exception.ResourceNotFoundException;
+import com.app.route_app_api.util.GeoJsonHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.algorithm.locate.IndexedPointInAreaLocator;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test for VectorTileService tile building and cache eviction
+ */
+class VectorTileServiceTest {
+
+    // Tile z=12 chứa khu vực Hoàn Kiếm (105.85, 21.03)
+    private static final int Z = 12;
+    private static final int X = 3252;
+    private static final int Y = 1803;
+
+    private RouteSpatialIndex routeSpatialIndex;
+    private VectorTileService vectorTileService;
+    private GeoJsonPolygon area;
+
+    @BeforeEach
+    void setUp() {
+        area = GeoJsonHelper.createPolygon(List.of(
+                List.of(105.845, 21.025),
+                List.of(105.855, 21.025),
+                List.of(105.855, 21.035),
+                List.of(105.845, 21.035),
+                List.of(105.845, 21.025)));
+        Polygon polygon = GeoJsonHelper.toJtsPolygon(area);
+        RouteSpatialIndex.IndexedRoute route = new RouteSpatialIndex.IndexedRoute("r1", "R1", "Tuyến 1",
+                Route.RouteType.DELIVERY, "HH", "#ff0000", Set.of("HH"),
+                PreparedGeometryFactory.prepare(polygon), new IndexedPointInAreaLocator(polygon));
+
+        routeSpatialIndex = mock(RouteSpatialIndex.class);
+        when(routeSpatialIndex.isAvailable()).thenReturn(true);
+        when(routeSpatialIndex.findCandidates(any(Envelope.class))).thenAnswer(invocation ->
+                invocation.<Envelope>getArgument(0).intersects(polygon.getEnvelopeInternal()) ? List.of(route) : List.of());
+
+        vectorTileService = new VectorTileService(mock(MongoTemplate.class), routeSpatialIndex, mock(OperatingAreaSpatialIndex.class));
+        ReflectionTestUtils.setField(vectorTileService, "extent", 4096);
+        ReflectionTestUtils.setField(vectorTileService, "buffer", 64);
+        ReflectionTestUtils.setField(vectorTileService, "simplifyTolerance", 1.0);
+        ReflectionTestUtils.setField(vectorTileService, "maxZoom", 22);
+        ReflectionTestUtils.setField(vectorTileService, "cacheMaxSize", 100L);
+        ReflectionTestUtils.setField(vectorTileService, "cacheExpireSeconds", 0L);
+        vectorTileService.init();
+    }
+
+    @Test
+    void testGetTile() {
+        byte[] tile = vectorTileService.getTile("routes", Z, X, Y);
+
+        assertTrue(tile.length > 0);
+        assertTrue(new String(tile).contains("R1"));
+        // Tile lân cận không giao với tuyến
+        assertEquals(0, vectorTileService.getTile("routes", Z, X + 2, Y).length);
+        // Tile z=18 nằm trọn trong tuyến: đa giác bị cắt theo tile
+        int x = (int) Math.floor((105.85 + 180) / 360 * (1 << 18));
+        double latitude = Math.toRadians(21.03);
+        int y = (int) Math.floor((1 - Math.log(Math.tan(latitude) + 1 / Math.cos(latitude)) / Math.PI) / 2 * (1 << 18));
+        assertTrue(new String(vectorTileService.getTile("routes", 18, x, y)).contains("R1"));
+
+        assertThrows(ResourceNotFoundException.class, () -> vectorTileService.getTile("post-offices", Z, X, Y));
+        assertThrows(BusinessRuleException.class, () -> vectorTileService.getTile("routes", 2, 4, 0));
+        assertThrows(BusinessRuleException.class, () -> vectorTileService.getTile("routes", 23, 0, 0));
+    }
+
+    @Test
+    void testCacheEvictedByEnvelope() {
+        byte[] tile = vectorTileService.getTile("routes", Z, X, Y);
+        assertSame(tile, vectorTileService.getTile("routes", Z, X, Y));
+        verify(routeSpatialIndex, times(1)).findCandidates(any(Envelope.class));
+
+        // Ghi ở nơi khác hoặc ở layer khác không làm mất tile
+        GeoJsonPolygon elsewhere = GeoJsonHelper.createPolygon(List.of(
+                List.of(106.0, 10.0), List.of(106.1, 10.0), List.of(106.1, 10.1), List.of(106.0, 10.0)));
+        vectorTileService.invalidate(VectorTileService.Layer.ROUTES, elsewhere);
+        vectorTileService.invalidate(VectorTileService.Layer.OPERATING_AREAS, area);
+        assertSame(tile, vectorTileService.getTile("routes", Z, X, Y));
+
+        vectorTileService.invalidate(VectorTileService.Layer.ROUTES, null, area);
+        assertNotSame(tile, vectorTileService.getTile("routes", Z, X, Y));
+        verify(routeSpatialIndex, times(2)).findCandidates(any(Envelope.class));
+    }
+}
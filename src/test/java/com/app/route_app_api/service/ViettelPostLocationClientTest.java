@@ -0,0 +1,94 @@
+package com.app.route_app_api.service;
+
+import com.app.route_app_api.dto.ParseLocationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test for ViettelPostLocationClient result alignment
+ */
+class ViettelPostLocationClientTest {
+
+    private RestTemplate restTemplate;
+    private ViettelPostLocationClient client;
+
+    @BeforeEach
+    void setUp() {
+        restTemplate = mock(RestTemplate.class);
+        GeocoderResilience geocoderResilience = mock(GeocoderResilience.class);
+        when(geocoderResilience.call(any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+
+        client = new ViettelPostLocationClient(restTemplate, geocoderResilience, new ServiceMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(client, "viettelPostApiUrl", "http://localhost/addresses");
+    }
+
+    @Test
+    void testBatchWithMatchingResultsIsAlignedByPosition() {
+        respond(List.of("A", "B"), location("A"), location("B"));
+
+        List<ParseLocationResponse> results = client.geocode(List.of("A", "B"));
+
+        assertEquals(List.of("A", "B"), results.stream().map(ParseLocationResponse::getFormattedAddress).toList());
+        verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.POST), any(),
+                anyResultsType());
+    }
+
+    @Test
+    void testBatchWithFewerResultsIsGeocodedAddressByAddress() {
+        // Thiếu một kết quả: không được ghép theo vị trí (B sẽ nhận tọa độ của C)
+        respond(List.of("A", "B", "C"), location("A"), location("C"));
+        respond(List.of("A"), location("A"));
+        respond(List.of("B"));
+        respond(List.of("C"), location("C"));
+
+        List<ParseLocationResponse> results = client.geocode(List.of("A", "B", "C"));
+
+        assertEquals(3, results.size());
+        assertEquals("A", results.get(0).getFormattedAddress());
+        assertNull(results.get(1));
+        assertEquals("C", results.get(2).getFormattedAddress());
+        verify(restTemplate, times(4)).exchange(anyString(), eq(HttpMethod.POST), any(),
+                anyResultsType());
+    }
+
+    @Test
+    void testAlign() {
+        assertNull(ViettelPostLocationClient.align(List.of("A", "B"), List.of(location("A"))));
+        assertNull(ViettelPostLocationClient.align(List.of("A", "B"), List.of()));
+        // Một địa chỉ: kết quả đầu tiên, hoặc null nếu không có
+        assertEquals("A", ViettelPostLocationClient.align(List.of("A"), List.of(location("A"), location("X")))
+                .getFirst().getFormattedAddress());
+        assertNull(ViettelPostLocationClient.align(List.of("A"), List.of()).getFirst());
+    }
+
+    private void respond(List<String> addresses, ParseLocationResponse... results) {
+        doReturn(ResponseEntity.ok(Arrays.asList(results))).when(restTemplate).exchange(anyString(), eq(HttpMethod.POST),
+                argThat((HttpEntity<?> entity) -> addresses.equals(entity.getBody())),
+                anyResultsType());
+    }
+
+    private static ParameterizedTypeReference<List<ParseLocationResponse>> anyResultsType() {
+        return any();
+    }
+
+    private static ParseLocationResponse location(String address) {
+        ParseLocationResponse response = new ParseLocationResponse();
+        response.setFormattedAddress(address);
+        return response;
+    }
+}
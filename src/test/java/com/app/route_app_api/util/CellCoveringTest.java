@@ -0,0 +1,94 @@
+package com.app.route_app_api.util;
+
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.algorithm.locate.SimplePointInAreaLocator;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Location;
+import org.locationtech.jts.geom.Polygon;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for CellCovering cell ids and polygon coverings
+ */
+class CellCoveringTest {
+
+    @Test
+    void testCellHierarchy() {
+        long cell = CellCovering.cellId(105.8342, 21.0278, CellCovering.MAX_LEVEL);
+
+        assertEquals(CellCovering.MAX_LEVEL, CellCovering.level(cell));
+        assertEquals(CellCovering.cellId(105.8342, 21.0278, 10), cell >> 2 * (CellCovering.MAX_LEVEL - 10));
+        assertTrue(CellCovering.bounds(cell).contains(105.8342, 21.0278));
+        assertTrue(CellCovering.bounds(CellCovering.parent(cell)).contains(CellCovering.bounds(cell)));
+
+        // Từ ô lá đến ô gốc (level 0, id 1)
+        List<Long> pointCells = CellCovering.pointCells(105.8342, 21.0278);
+        assertEquals(CellCovering.MAX_LEVEL + 1, pointCells.size());
+        assertEquals(cell, pointCells.getFirst());
+        assertEquals(1L, pointCells.getLast());
+    }
+
+    @Test
+    void testCoveringContainsPolygon() {
+        // Đa giác lõm hình chữ L
+        GeoJsonPolygon area = GeoJsonHelper.createPolygon(List.of(
+                List.of(105.80, 21.00),
+                List.of(105.84, 21.00),
+                List.of(105.84, 21.01),
+                List.of(105.81, 21.01),
+                List.of(105.81, 21.04),
+                List.of(105.80, 21.04),
+                List.of(105.80, 21.00)));
+        Polygon polygon = GeoJsonHelper.toJtsPolygon(area);
+
+        CellCovering.Covering covering = CellCovering.cover(area);
+
+        assertTrue(covering.cells().size() <= CellCovering.MAX_CELLS);
+        assertFalse(covering.interiorCells().isEmpty());
+        assertTrue(covering.cells().containsAll(covering.interiorCells()));
+
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            double longitude = 105.79 + random.nextDouble() * 0.06;
+            double latitude = 20.99 + random.nextDouble() * 0.06;
+            boolean inside = SimplePointInAreaLocator.locate(new Coordinate(longitude, latitude), polygon) != Location.EXTERIOR;
+
+            // Mọi điểm trong đa giác có ô tổ tiên thuộc covering; điểm thuộc ô interior chắc chắn nằm trong đa giác
+            if (inside) {
+                assertTrue(CellCovering.containsAny(covering.cells(), longitude, latitude));
+            }
+            if (CellCovering.containsAny(covering.interiorCells(), longitude, latitude)) {
+                assertTrue(inside);
+            }
+        }
+
+        // Đỉnh và cạnh của đa giác cũng được phủ (như $geoIntersects)
+        assertTrue(CellCovering.containsAny(covering.cells(), 105.84, 21.01));
+        assertTrue(CellCovering.containsAny(covering.cells(), 105.80, 21.02));
+    }
+
+    @Test
+    void testCoveringIsTight() {
+        GeoJsonPolygon area = GeoJsonHelper.createPolygon(List.of(
+                List.of(105.80, 21.00),
+                List.of(105.81, 21.00),
+                List.of(105.81, 21.01),
+                List.of(105.80, 21.01),
+                List.of(105.80, 21.00)));
+
+        CellCovering.Covering covering = CellCovering.cover(area);
+
+        Envelope union = new Envelope();
+        covering.cells().forEach(cell -> union.expandToInclude(CellCovering.bounds(cell)));
+        assertTrue(union.contains(new Envelope(105.80, 105.81, 21.00, 21.01)));
+        // Không vượt quá vài ô so với hình bao của đa giác
+        assertTrue(union.getArea() < 4 * 0.01 * 0.01);
+        assertNull(CellCovering.cover((GeoJsonPolygon) null));
+    }
+}
@@ -0,0 +1,67 @@
+package com.app.route_app_api.util;
+
+import com.app.route_app_api.entity.DataMigration;
+import com.app.route_app_api.repository.DataMigrationRepository;
+import com.app.route_app_api.service.DataMigrationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test for DataMigrationRunner
+ */
+class DataMigrationRunnerTest {
+
+    private DataMigrationService dataMigrationService;
+    private DataMigrationRepository dataMigrationRepository;
+    private DataMigrationRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        dataMigrationService = mock(DataMigrationService.class);
+        dataMigrationRepository = mock(DataMigrationRepository.class);
+        runner = new DataMigrationRunner(dataMigrationService, dataMigrationRepository);
+        ReflectionTestUtils.setField(runner, "migrationEnabled", true);
+    }
+
+    @Test
+    void testFailedMigrationDoesNotStopTheOthers() {
+        when(dataMigrationService.migratePackedAreas()).thenThrow(new IllegalStateException("packedArea"));
+
+        runner.run();
+
+        // Lỗi của một migration không chặn các migration sau
+        verify(dataMigrationService).migrateProductTypes();
+        verify(dataMigrationService).migratePackedAreas();
+        verify(dataMigrationService).migrateCellCoverings();
+        verify(dataMigrationService).migrateSimplifiedAreas();
+
+        // Migration lỗi không được ghi nhận, nên sẽ chạy lại ở lần khởi động sau
+        ArgumentCaptor<DataMigration> recorded = ArgumentCaptor.forClass(DataMigration.class);
+        verify(dataMigrationRepository, times(3)).save(recorded.capture());
+        assertEquals(List.of("productTypes", "cellCoverings", "simplifiedAreas"),
+                recorded.getAllValues().stream().map(DataMigration::getId).toList());
+    }
+
+    @Test
+    void testCompletedMigrationIsSkipped() {
+        when(dataMigrationRepository.existsById("productTypes")).thenReturn(true);
+        when(dataMigrationRepository.existsById("packedAreas")).thenReturn(true);
+
+        runner.run();
+
+        // Migration đã hoàn tất ở lần khởi động trước thì bỏ qua
+        verify(dataMigrationService, never()).migrateProductTypes();
+        verify(dataMigrationService, never()).migratePackedAreas();
+        verify(dataMigrationService).migrateCellCoverings();
+        verify(dataMigrationService).migrateSimplifiedAreas();
+        verify(dataMigrationRepository, times(2)).save(any(DataMigration.class));
+    }
+}
@@ -1,6 +1,8 @@
 package com.app.route_app_api.util;
 
 import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Polygon;
 import org.springframework.data.geo.Point;
 import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
@@ -64,6 +66,23 @@ class GeoJsonHelperTest {
         assertEquals(21.0278, extracted.get(0).get(1));  // latitude của điểm đầu
     }
 
+    @Test
+    void testToJtsPolygonWithHole() {
+        GeoJsonPolygon polygon = new GeoJsonPolygon(List.of(
+                new Point(0, 0), new Point(10, 0), new Point(10, 10), new Point(0, 10), new Point(0, 0)))
+                .withInnerRing(List.of(
+                        new Point(2, 2), new Point(4, 2), new Point(4, 4), new Point(2, 4), new Point(2, 2)));
+
+        Polygon jtsPolygon = GeoJsonHelper.toJtsPolygon(polygon);
+
+        // Vùng trống bên trong (hole) được giữ lại
+        assertEquals(1, jtsPolygon.getNumInteriorRing());
+        assertEquals(96.0, jtsPolygon.getArea(), 1e-9);
+        assertEquals(GeoJsonHelper.SRID, jtsPolygon.getSRID());
+        assertFalse(jtsPolygon.contains(GeoJsonHelper.GEOMETRY_FACTORY.createPoint(new Coordinate(3, 3))));
+        assertTrue(jtsPolygon.contains(GeoJsonHelper.GEOMETRY_FACTORY.createPoint(new Coordinate(6, 6))));
+    }
+
     @Test
     void testInvalidPolygon_NotClosed() {
         // Polygon không đóng vòng (điểm đầu khác điểm cuối)
@@ -0,0 +1,66 @@
+package com.app.route_app_api.util;
+
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Polygon;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for GeometryPyramid levels and level selection
+ */
+class GeometryPyramidTest {
+
+    @Test
+    void testBuildLevels() {
+        // Đường tròn bán kính ~1 km với 720 đỉnh và một lỗ
+        List<List<Double>> coordinates = new ArrayList<>();
+        for (int i = 0; i < 720; i++) {
+            double angle = 2 * Math.PI * i / 720;
+            coordinates.add(List.of(105.83 + 0.01 * Math.cos(angle), 21.02 + 0.01 * Math.sin(angle)));
+        }
+        coordinates.add(coordinates.getFirst());
+        GeoJsonPolygon area = GeoJsonHelper.createPolygon(coordinates).withInnerRing(List.of(
+                new Point(105.829, 21.019),
+                new Point(105.831, 21.019),
+                new Point(105.831, 21.021),
+                new Point(105.829, 21.021),
+                new Point(105.829, 21.019)));
+        Polygon full = GeoJsonHelper.toJtsPolygon(area);
+
+        Map<String, byte[]> levels = GeometryPyramid.build(area);
+
+        assertEquals(GeometryPyramid.ZOOM_LEVELS.length, levels.size());
+        int previousPoints = 0;
+        for (int zoom : GeometryPyramid.ZOOM_LEVELS) {
+            Polygon level = GeoJsonHelper.toJtsPolygon(GeometryPyramid.decode(levels.get(GeometryPyramid.key(zoom))));
+
+            // Hợp lệ, giữ lỗ, và lệch khỏi đa giác gốc không quá sai số của mức
+            assertTrue(level.isValid());
+            assertEquals(1, level.getNumInteriorRing());
+            assertTrue(level.getNumPoints() < full.getNumPoints());
+            assertTrue(level.getNumPoints() >= previousPoints);
+            assertTrue(level.symDifference(full).getArea()
+                    < 2 * Math.PI * 0.01 * GeometryPyramid.tolerance(zoom) + 1e-12);
+            previousPoints = level.getNumPoints();
+        }
+        assertNull(GeometryPyramid.build(null));
+    }
+
+    @Test
+    void testLevelFor() {
+        // Mức thô nhất có sai số không vượt quá sai số yêu cầu
+        assertEquals(6, GeometryPyramid.levelFor(1.0));
+        assertEquals(6, GeometryPyramid.levelFor(GeometryPyramid.tolerance(6)));
+        assertEquals(12, GeometryPyramid.levelFor(GeometryPyramid.tolerance(10)));
+        assertEquals(15, GeometryPyramid.levelFor(GeometryPyramid.tolerance(15)));
+        // Mịn hơn mọi mức: trả về đa giác đầy đủ
+        assertNull(GeometryPyramid.levelFor(GeometryPyramid.tolerance(16)));
+        assertNull(GeometryPyramid.levelFor(0));
+    }
+}
@@ -0,0 +1,62 @@
+package com.app.route_app_api.util;
+
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Polygon;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for PackedGeometryCodec round trips
+ */
+class PackedGeometryCodecTest {
+
+    @Test
+    void testRoundTrip() {
+        GeoJsonPolygon polygon = GeoJsonHelper.createPolygon(List.of(
+                List.of(105.8342123, 21.0278456),
+                List.of(105.8442, 21.0278),
+                List.of(105.8442, 21.0378),
+                List.of(-105.8342, -21.0378),
+                List.of(105.8342123, 21.0278456)));
+
+        byte[] packed = PackedGeometryCodec.encode(polygon);
+        Polygon decoded = PackedGeometryCodec.decode(packed);
+
+        // Khớp với chuyển đổi từ GeoJSON (sai số fixed-point 1e-9 độ)
+        assertTrue(decoded.equalsExact(GeoJsonHelper.toJtsPolygon(polygon), 1e-9));
+        // Nhỏ hơn nhiều so với 2 số double mỗi điểm
+        assertTrue(packed.length < 5 * 16);
+    }
+
+    @Test
+    void testRoundTripWithHole() {
+        GeoJsonPolygon polygon = new GeoJsonPolygon(List.of(
+                new Point(0, 0), new Point(10, 0), new Point(10, 10), new Point(0, 10), new Point(0, 0)))
+                .withInnerRing(List.of(
+                        new Point(2, 2), new Point(4, 2), new Point(4, 4), new Point(2, 4), new Point(2, 2)));
+
+        Polygon decoded = PackedGeometryCodec.decode(PackedGeometryCodec.encode(polygon));
+
+        assertEquals(1, decoded.getNumInteriorRing());
+        assertEquals(96.0, decoded.getArea(), 1e-9);
+    }
+
+    @Test
+    void testFallbackToGeoJson() {
+        GeoJsonPolygon polygon = new GeoJsonPolygon(
+                new Point(0, 0), new Point(1, 0), new Point(1, 1), new Point(0, 0));
+
+        assertEquals(0.5, PackedGeometryCodec.toJtsPolygon(null, polygon).getArea(), 1e-12);
+        assertNull(PackedGeometryCodec.encode(null));
+    }
+
+    @Test
+    void testRejectsInvalidData() {
+        assertThrows(IllegalArgumentException.class, () -> PackedGeometryCodec.decode(new byte[]{9}));
+        assertThrows(IllegalArgumentException.class, () -> PackedGeometryCodec.decode(new byte[]{1, 1, 5}));
+    }
+}
@@ -0,0 +1,63 @@
+package com.app.route_app_api.util;
+
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Polygon;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for VectorTileEncoder geometry and attribute encoding
+ */
+class VectorTileEncoderTest {
+
+    @Test
+    void testPolygonCommands() {
+        VectorTileEncoder encoder = new VectorTileEncoder(4096);
+        Map<String, String> attributes = new LinkedHashMap<>();
+        attributes.put("code", "R1");
+        attributes.put("color", null);
+
+        // Ví dụ đa giác trong đặc tả MVT, nhập theo chiều ngược lại - phải được đảo thành vòng ngoài (diện tích dương)
+        assertTrue(encoder.addFeature("routes", attributes, polygon(20, 34, 8, 12, 3, 6, 20, 34)));
+        byte[] tile = encoder.encode();
+
+        // geometry (field 4, packed): MoveTo(3,6) LineTo(8,12)(20,34) ClosePath
+        assertTrue(contains(tile, new byte[]{0x22, 9, 9, 6, 12, 18, 10, 12, 24, 44, 15}));
+        // tags (field 2): key 0 = "code", value 0 = "R1"; null attributes are omitted
+        assertTrue(contains(tile, new byte[]{0x12, 2, 0, 0}));
+        assertTrue(contains(tile, "routes".getBytes()));
+        assertFalse(contains(tile, "color".getBytes()));
+    }
+
+    @Test
+    void testCollapsedPolygonIsDropped() {
+        VectorTileEncoder encoder = new VectorTileEncoder(4096);
+
+        // Nhỏ hơn một đơn vị tile sau khi làm tròn
+        assertFalse(encoder.addFeature("routes", Map.of(), polygon(1.1, 1.1, 1.3, 1.1, 1.2, 1.3, 1.1, 1.1)));
+        assertTrue(encoder.isEmpty());
+        assertEquals(0, encoder.encode().length);
+    }
+
+    private static Polygon polygon(double... xy) {
+        Coordinate[] coordinates = new Coordinate[xy.length / 2];
+        for (int i = 0; i < coordinates.length; i++) {
+            coordinates[i] = new Coordinate(xy[2 * i], xy[2 * i + 1]);
+        }
+        return GeoJsonHelper.GEOMETRY_FACTORY.createPolygon(coordinates);
+    }
+
+    private static boolean contains(byte[] data, byte[] part) {
+        for (int i = 0; i + part.length <= data.length; i++) {
+            if (Arrays.equals(data, i, i + part.length, part, 0, part.length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}